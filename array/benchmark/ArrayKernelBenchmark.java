@@ -0,0 +1,133 @@
+package com.array.benchmark;
+
+import com.array.examples.ArrayReorder;
+import com.array.examples.FindMinimumNumber;
+import com.array.examples.FindOddEvenNumber;
+import com.array.examples.RemoveEvenNumber;
+import com.array.examples.ReverseArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for the com.array.examples kernels over every size / data distribution combination.
+ *
+ * Build and run with array/benchmark/pom.xml:
+ *   mvn -f array/benchmark/pom.xml -B package
+ *   java -jar array/benchmark/target/benchmarks.jar ArrayKernelBenchmark [-p size=1000,1000000] [-rf text -rff results.txt]
+ * and diff the results file against array/benchmark/baseline-results.txt.
+ * The baseline was recorded on a single CPU with -e Parallel, so it has no rows for the *Parallel
+ * benchmarks; compare those only between runs on the same multi-core machine.
+ *
+ * The all-odd / all-even distributions make the odd/even branches perfectly predictable,
+ * random makes them a coin flip, so the gap between them is the branch misprediction cost.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "--add-modules", "jdk.incubator.vector", "-Xmx3g"})
+@State(Scope.Benchmark)
+public class ArrayKernelBenchmark {
+
+    public enum Distribution {
+        SORTED,
+        RANDOM,
+        ALL_ODD,
+        ALL_EVEN;
+
+        int[] generate(int size, Random random) {
+            int[] data = new int[size];
+            for (int i = 0; i < size; i++) {
+                switch (this) {
+                    case SORTED -> data[i] = i;
+                    case RANDOM -> data[i] = random.nextInt();
+                    case ALL_ODD -> data[i] = random.nextInt() | 1;
+                    case ALL_EVEN -> data[i] = random.nextInt() & ~1;
+                }
+            }
+            return data;
+        }
+    }
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000", "100000000"})
+    public int size;
+
+    @Param({"SORTED", "RANDOM", "ALL_ODD", "ALL_EVEN"})
+    public Distribution distribution;
+
+    private final FindMinimumNumber findMinimumNumber = new FindMinimumNumber();
+    private final ReverseArray reverseArray = new ReverseArray();
+    private int[] data;
+    private int[] buffer;
+
+    @Setup
+    public void setUp() {
+        data = distribution.generate(size, new Random(42));
+        buffer = new int[size];
+    }
+
+    @Benchmark
+    public int findMinNumber() {
+        return findMinimumNumber.findMinNumber(data);
+    }
+
+    @Benchmark
+    public int findMinNumberParallel() {
+        return findMinimumNumber.findMinNumberParallel(data);
+    }
+
+    @Benchmark
+    public int[] removeEven() {
+        return RemoveEvenNumber.removeEven(data);
+    }
+
+    @Benchmark
+    public int removeEvenBuffer() {
+        return RemoveEvenNumber.removeEven(data, buffer);
+    }
+
+    @Benchmark
+    public int[] removeEvenParallel() {
+        return RemoveEvenNumber.removeEvenParallel(data);
+    }
+
+    @Benchmark
+    public int[] findEven() {
+        return FindOddEvenNumber.findEven(data);
+    }
+
+    @Benchmark
+    public int findEvenBuffer() {
+        return FindOddEvenNumber.findEven(data, buffer);
+    }
+
+    @Benchmark
+    public int[] findEvenParallel() {
+        return FindOddEvenNumber.findEvenParallel(data);
+    }
+
+    // reversing in place keeps the distribution, a sorted array just alternates between ascending and descending
+    @Benchmark
+    public int[] reverse() {
+        reverseArray.reverse(data, 0, data.length - 1);
+        return data;
+    }
+
+    @Benchmark
+    public int[] reverseVector() {
+        ArrayReorder.reverse(data, 0, data.length, ArrayReorder.Strategy.VECTOR);
+        return data;
+    }
+}
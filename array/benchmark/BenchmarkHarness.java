@@ -0,0 +1,210 @@
+package com.array.benchmark;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Small JMH style harness: warmup iterations, then measurement iterations of a fixed duration,
+ * each running the operation in a loop and reporting the average time per operation.
+ * Results go to stdout as a fixed width table and can be saved / compared against a baseline file.
+ *
+ * Results of the measured operations must be passed to {@link #consume} so the JIT cannot drop them.
+ *
+ * {@link #profileAllocation()} is the equivalent of JMH's -prof gc: it reads the thread's allocated
+ * byte counter around every measurement iteration and adds B/op and MB/s columns to the results.
+ */
+public class BenchmarkHarness {
+
+    public interface Operation {
+        void run();
+    }
+
+    public static final class Result {
+        private final String benchmark;
+        private final String param;
+        private final double nsPerOp;
+        private final double error;
+        private final double bytesPerOp;
+
+        Result(String benchmark, String param, double nsPerOp, double error, double bytesPerOp) {
+            this.benchmark = benchmark;
+            this.param = param;
+            this.nsPerOp = nsPerOp;
+            this.error = error;
+            this.bytesPerOp = bytesPerOp;
+        }
+
+        public String key() {
+            return benchmark + " " + param;
+        }
+
+        public double getNsPerOp() {
+            return nsPerOp;
+        }
+
+        /** Bytes allocated per operation, NaN when allocation was not profiled. */
+        public double getBytesPerOp() {
+            return bytesPerOp;
+        }
+
+        /** Allocation rate in MB/s, NaN when allocation was not profiled. */
+        public double getAllocationRate() {
+            return bytesPerOp / nsPerOp * 1e9 / (1024 * 1024);
+        }
+
+        String format() {
+            String line = String.format(Locale.ROOT, "%-44s %-24s %16.1f %12.1f", benchmark, param, nsPerOp, error);
+            if (Double.isNaN(bytesPerOp)) {
+                return line;
+            }
+            return line + String.format(Locale.ROOT, " %14.1f %12.1f", bytesPerOp, getAllocationRate());
+        }
+    }
+
+    private static volatile long sink;
+
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final long iterationNanos;
+    private final List<Result> results = new ArrayList<>();
+    private com.sun.management.ThreadMXBean allocationCounter;
+    private long lastIterationOps;
+
+    public BenchmarkHarness() {
+        this(3, 5, 100_000_000L);
+    }
+
+    public BenchmarkHarness(int warmupIterations, int measurementIterations, long iterationNanos) {
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+        this.iterationNanos = iterationNanos;
+    }
+
+    public static void consume(long value) {
+        sink += value;
+    }
+
+    public static void consume(Object value) {
+        sink += System.identityHashCode(value);
+    }
+
+    public static String header() {
+        return String.format(Locale.ROOT, "%-44s %-24s %16s %12s", "Benchmark", "Param", "ns/op", "error");
+    }
+
+    public static String header(boolean allocation) {
+        return allocation ? header() + String.format(Locale.ROOT, " %14s %12s", "B/op", "MB/s") : header();
+    }
+
+    /**
+     * Also measures bytes allocated per operation by the measuring thread. Needs the HotSpot
+     * com.sun.management.ThreadMXBean; on other VMs this throws UnsupportedOperationException.
+     */
+    public BenchmarkHarness profileAllocation() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean)
+                || !bean.isThreadAllocatedMemorySupported()) {
+            throw new UnsupportedOperationException("Thread allocation counters are not supported by this VM");
+        }
+        bean.setThreadAllocatedMemoryEnabled(true);
+        allocationCounter = bean;
+        return this;
+    }
+
+    public boolean isProfilingAllocation() {
+        return allocationCounter != null;
+    }
+
+    public Result measure(String benchmark, String param, Operation op) {
+        for (int i = 0; i < warmupIterations; i++) {
+            iteration(op);
+        }
+        double[] samples = new double[measurementIterations];
+        long allocated = 0;
+        long ops = 0;
+        for (int i = 0; i < measurementIterations; i++) {
+            long before = allocationCounter != null ? allocationCounter.getCurrentThreadAllocatedBytes() : 0;
+            samples[i] = iteration(op);
+            if (allocationCounter != null) {
+                allocated += allocationCounter.getCurrentThreadAllocatedBytes() - before;
+                ops += lastIterationOps;
+            }
+        }
+        double mean = 0;
+        for (double s : samples) {
+            mean += s;
+        }
+        mean /= samples.length;
+        double variance = 0;
+        for (double s : samples) {
+            variance += (s - mean) * (s - mean);
+        }
+        double error = samples.length > 1 ? Math.sqrt(variance / (samples.length - 1)) : 0;
+        double bytesPerOp = allocationCounter != null ? (double) allocated / ops : Double.NaN;
+        Result result = new Result(benchmark, param, mean, error, bytesPerOp);
+        results.add(result);
+        System.out.println(result.format());
+        return result;
+    }
+
+    // Runs op until iterationNanos have elapsed and returns the average ns per call.
+    private double iteration(Operation op) {
+        long ops = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            op.run();
+            ops++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < iterationNanos);
+        lastIterationOps = ops;
+        return (double) elapsed / ops;
+    }
+
+    public List<Result> getResults() {
+        return results;
+    }
+
+    public void save(Path file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("# java " + System.getProperty("java.version") + ", " + System.getProperty("os.name") + " "
+                + System.getProperty("os.arch") + ", " + Runtime.getRuntime().availableProcessors() + " cpus");
+        lines.add(header(isProfilingAllocation()));
+        for (Result r : results) {
+            lines.add(r.format());
+        }
+        Files.write(file, lines);
+    }
+
+    /** Prints every result next to the matching baseline entry and the relative change. */
+    public void compare(Path baselineFile) throws IOException {
+        Map<String, Double> baseline = new HashMap<>();
+        for (String line : Files.readAllLines(baselineFile)) {
+            if (line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.trim().split("\\s+");
+            if (parts.length < 4 || parts[0].equals("Benchmark")) {
+                continue;
+            }
+            baseline.put(parts[0] + " " + parts[1], Double.parseDouble(parts[2]));
+        }
+        System.out.println();
+        System.out.println(String.format(Locale.ROOT, "%-69s %16s %16s %9s", "Benchmark", "baseline ns/op", "ns/op", "change"));
+        for (Result r : results) {
+            Double base = baseline.get(r.key());
+            if (base == null) {
+                System.out.println(String.format(Locale.ROOT, "%-69s %16s %16.1f %9s", r.key(), "-", r.nsPerOp, "new"));
+            } else {
+                double change = (r.nsPerOp - base) / base * 100;
+                System.out.println(String.format(Locale.ROOT, "%-69s %16.1f %16.1f %+8.1f%%", r.key(), base, r.nsPerOp, change));
+            }
+        }
+    }
+}
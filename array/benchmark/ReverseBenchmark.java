@@ -0,0 +1,72 @@
+package com.array.benchmark;
+
+import com.array.examples.ArrayReorder;
+import com.array.examples.ArrayReorder.Strategy;
+import com.array.examples.ReverseArray;
+import com.array.offheap.SegmentReorder;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * Compares ReverseArray.reverse with every ArrayReorder strategy.
+ *
+ * Run with:
+ *   java --enable-preview --add-modules jdk.incubator.vector com.array.benchmark.ReverseBenchmark [size]
+ * Each operation is warmed up first, then the best of several timed rounds is reported in ms
+ * together with the throughput in GB/s (every element is read once and written once).
+ */
+public class ReverseBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int TIMED_ROUNDS = 10;
+
+    interface Operation {
+        void run();
+    }
+
+    private static void measure(String name, long bytes, Operation op) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            op.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < TIMED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            op.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double gbPerSec = (2.0 * bytes) / best;
+        System.out.printf("%-32s %10.3f ms %8.2f GB/s%n", name, best / 1e6, gbPerSec);
+    }
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 64 * 1024 * 1024;
+        long bytes = (long) size * Integer.BYTES;
+        int[] numbers = new int[size];
+        for (int i = 0; i < size; i++) {
+            numbers[i] = i;
+        }
+        System.out.println("Elements : " + size + " (" + (bytes >> 20) + " MB)");
+
+        ReverseArray reverseArray = new ReverseArray();
+        measure("ReverseArray.reverse (baseline)", bytes, () -> reverseArray.reverse(numbers, 0, numbers.length - 1));
+        for (Strategy strategy : Strategy.values()) {
+            measure("reverse int[] " + strategy, bytes, () -> ArrayReorder.reverse(numbers, 0, numbers.length, strategy));
+        }
+        for (Strategy strategy : Strategy.values()) {
+            measure("rotateLeft int[] " + strategy, 2 * bytes, () -> ArrayReorder.rotateLeft(numbers, 0, numbers.length, size / 3, strategy));
+        }
+        for (Strategy strategy : Strategy.values()) {
+            measure("swapSegments int[] " + strategy, bytes, () -> ArrayReorder.swapSegments(numbers, 0, size / 2, size / 2, strategy));
+        }
+
+        try (Arena arena = Arena.ofShared()) {
+            MemorySegment segment = arena.allocateArray(ValueLayout.JAVA_INT, size);
+            MemorySegment.copy(numbers, 0, segment, ValueLayout.JAVA_INT, 0, size);
+            for (Strategy strategy : Strategy.values()) {
+                measure("reverse segment " + strategy, bytes, () -> SegmentReorder.reverse(segment, 0, size, strategy));
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.array.examples;
+
+import java.util.function.IntPredicate;
+
+/**
+ * Single pass stream compaction: keeps the elements matching a predicate, in order.
+ * Every element is written to the current write position and the position only moves
+ * forward when the element is kept, so the loop has no data dependent branch.
+ */
+public final class ArrayCompaction {
+
+    private ArrayCompaction() {
+    }
+
+    /**
+     * Compacts arr in place and returns the new logical length.
+     * Elements at and after the returned length are unspecified.
+     */
+    public static int compactInPlace(int[] arr, IntPredicate keep) {
+        return compact(arr, 0, arr.length, arr, keep);
+    }
+
+    /**
+     * Writes the kept elements of src into buffer starting at index 0 and returns how many were written.
+     * The buffer can be reused across calls and must be at least as long as src.
+     */
+    public static int compactInto(int[] src, int[] buffer, IntPredicate keep) {
+        return compact(src, 0, src.length, buffer, keep);
+    }
+
+    public static int compact(int[] src, int from, int to, int[] buffer, IntPredicate keep) {
+        checkBuffer(from, to, buffer);
+        int w = 0;
+        for (int i = from; i < to; i++) {
+            int v = src[i];
+            buffer[w] = v;
+            w += keep.test(v) ? 1 : 0;
+        }
+        return w;
+    }
+
+    // Odd / even specialisations use the low bit directly, so not even the predicate call is left in the loop.
+
+    public static int compactOdd(int[] src, int from, int to, int[] buffer) {
+        checkBuffer(from, to, buffer);
+        int w = 0;
+        for (int i = from; i < to; i++) {
+            int v = src[i];
+            buffer[w] = v;
+            w += v & 1;
+        }
+        return w;
+    }
+
+    public static int compactEven(int[] src, int from, int to, int[] buffer) {
+        checkBuffer(from, to, buffer);
+        int w = 0;
+        for (int i = from; i < to; i++) {
+            int v = src[i];
+            buffer[w] = v;
+            w += ~v & 1;
+        }
+        return w;
+    }
+
+    public static int compactOddInPlace(int[] arr) {
+        return compactOdd(arr, 0, arr.length, arr);
+    }
+
+    public static int compactEvenInPlace(int[] arr) {
+        return compactEven(arr, 0, arr.length, arr);
+    }
+
+    // The write position never passes the read position, so the buffer only needs room for the whole range.
+    private static void checkBuffer(int from, int to, int[] buffer) {
+        if (buffer.length < to - from) {
+            throw new IllegalArgumentException("Buffer length " + buffer.length + " is smaller than range length " + (to - from));
+        }
+    }
+
+    public static void main(String[] args) {
+        int[] arr = {3, 2, 4, 7, 10, 6, 5};
+        int[] buffer = new int[arr.length];
+
+        int oddCount = compactInto(arr, buffer, n -> n % 2 != 0);
+        System.out.print("Odd numbers : ");
+        for (int i = 0; i < oddCount; i++) {
+            System.out.print(buffer[i] + " ");
+        }
+        System.out.println();
+
+        int evenCount = compactEvenInPlace(arr);
+        System.out.print("Even numbers (in place) : ");
+        for (int i = 0; i < evenCount; i++) {
+            System.out.print(arr[i] + " ");
+        }
+        System.out.println();
+    }
+}
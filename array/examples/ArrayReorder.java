@@ -0,0 +1,209 @@
+package com.array.examples;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Reverse, rotate and segment swap over int[]. The MemorySegment twin is com.array.offheap.SegmentReorder.
+ *
+ * Everything is built from two kernels:
+ *   swapReversed(i, j, len) - swaps [i, i+len) with [j, j+len) reversing both, so reverse(from, to)
+ *                             is swapReversed of the two halves
+ *   swapBlocks(i, j, len)   - swaps two equal length, non overlapping segments
+ * Rotations use the three reversal trick, so they get every strategy for free.
+ */
+public final class ArrayReorder {
+
+    public enum Strategy {
+        /** Plain element by element loop, same as ReverseArray.reverse. */
+        SCALAR,
+        /** Works on cache sized blocks staged through a small temp buffer with bulk copies. */
+        BLOCKED,
+        /** Splits the work across the common ForkJoinPool, each task runs the fastest single thread kernel. */
+        PARALLEL,
+        /** Vector API lane shuffles, falls back to BLOCKED when jdk.incubator.vector is not available. */
+        VECTOR
+    }
+
+    // 16 KB of ints, a quarter of a typical L1d so both staged blocks stay resident
+    static final int BLOCK = 4096;
+    static final int PARALLEL_THRESHOLD = 1 << 18;
+
+    private ArrayReorder() {
+    }
+
+    // ---------------- int[] ----------------
+
+    public static void reverse(int[] a, int from, int to, Strategy strategy) {
+        checkRange(a.length, from, to);
+        int half = (to - from) >>> 1;
+        swapReversed(a, from, to - half, half, strategy);
+    }
+
+    public static void rotateLeft(int[] a, int from, int to, int distance, Strategy strategy) {
+        checkRange(a.length, from, to);
+        int len = to - from;
+        if (len == 0) {
+            return;
+        }
+        int d = Math.floorMod(distance, len);
+        if (d == 0) {
+            return;
+        }
+        reverse(a, from, from + d, strategy);
+        reverse(a, from + d, to, strategy);
+        reverse(a, from, to, strategy);
+    }
+
+    public static void rotateRight(int[] a, int from, int to, int distance, Strategy strategy) {
+        int len = to - from;
+        rotateLeft(a, from, to, len <= 0 ? 0 : len - Math.floorMod(distance, len), strategy);
+    }
+
+    /** Swaps [i, i+len) with [j, j+len). The two segments must not overlap. */
+    public static void swapSegments(int[] a, int i, int j, int len, Strategy strategy) {
+        checkRange(a.length, i, i + len);
+        checkRange(a.length, j, j + len);
+        if (i < j + len && j < i + len && i != j) {
+            throw new IllegalArgumentException("Segments overlap: [" + i + ", " + (i + len) + ") and [" + j + ", " + (j + len) + ")");
+        }
+        if (i == j || len == 0) {
+            return;
+        }
+        switch (strategy) {
+            case SCALAR -> scalarSwapBlocks(a, i, j, len);
+            case BLOCKED -> blockedSwapBlocks(a, i, j, len);
+            case VECTOR -> {
+                if (MinMaxKernel.isVectorEnabled()) {
+                    VectorReorder.swapBlocks(a, i, j, len);
+                } else {
+                    blockedSwapBlocks(a, i, j, len);
+                }
+            }
+            case PARALLEL -> parallelInts(len, (off, n) -> swapSegments(a, i + off, j + off, n, singleThreaded()));
+        }
+    }
+
+    static void swapReversed(int[] a, int i, int j, int len, Strategy strategy) {
+        if (len == 0) {
+            return;
+        }
+        switch (strategy) {
+            case SCALAR -> scalarSwapReversed(a, i, j, len);
+            case BLOCKED -> blockedSwapReversed(a, i, j, len);
+            case VECTOR -> {
+                if (MinMaxKernel.isVectorEnabled()) {
+                    VectorReorder.swapReversed(a, i, j, len);
+                } else {
+                    blockedSwapReversed(a, i, j, len);
+                }
+            }
+            // the pair [off, off+n) of the front segment mirrors [len-off-n, len-off) of the back segment
+            case PARALLEL -> parallelInts(len, (off, n) -> swapReversed(a, i + off, j + len - off - n, n, singleThreaded()));
+        }
+    }
+
+    static void scalarSwapReversed(int[] a, int i, int j, int len) {
+        int front = i;
+        int back = j + len - 1;
+        for (int t = 0; t < len; t++) {
+            int temp = a[front];
+            a[front] = a[back];
+            a[back] = temp;
+            front++;
+            back--;
+        }
+    }
+
+    // Front block is staged in tmp with one bulk copy, then both ends are streamed once.
+    static void blockedSwapReversed(int[] a, int i, int j, int len) {
+        int[] tmp = new int[Math.min(BLOCK, len)];
+        for (int done = 0; done < len; done += BLOCK) {
+            int n = Math.min(BLOCK, len - done);
+            int front = i + done;
+            int backEnd = j + len - done - 1;
+            System.arraycopy(a, front, tmp, 0, n);
+            for (int t = 0; t < n; t++) {
+                a[front + t] = a[backEnd - t];
+            }
+            for (int t = 0; t < n; t++) {
+                a[backEnd - t] = tmp[t];
+            }
+        }
+    }
+
+    static void scalarSwapBlocks(int[] a, int i, int j, int len) {
+        for (int t = 0; t < len; t++) {
+            int temp = a[i + t];
+            a[i + t] = a[j + t];
+            a[j + t] = temp;
+        }
+    }
+
+    static void blockedSwapBlocks(int[] a, int i, int j, int len) {
+        int[] tmp = new int[Math.min(BLOCK, len)];
+        for (int done = 0; done < len; done += BLOCK) {
+            int n = Math.min(BLOCK, len - done);
+            System.arraycopy(a, i + done, tmp, 0, n);
+            System.arraycopy(a, j + done, a, i + done, n);
+            System.arraycopy(tmp, 0, a, j + done, n);
+        }
+    }
+
+    // ---------------- helpers ----------------
+
+    private static Strategy singleThreaded() {
+        return MinMaxKernel.isVectorEnabled() ? Strategy.VECTOR : Strategy.BLOCKED;
+    }
+
+    @FunctionalInterface
+    interface RangeBody {
+        void run(long offset, long length);
+    }
+
+    @FunctionalInterface
+    interface IntRangeBody {
+        void run(int offset, int length);
+    }
+
+    private static void parallelInts(int len, IntRangeBody body) {
+        parallel((long) len, (off, n) -> body.run((int) off, (int) n));
+    }
+
+    private static void parallel(long len, RangeBody body) {
+        if (len <= PARALLEL_THRESHOLD) {
+            body.run(0, len);
+            return;
+        }
+        ForkJoinPool.commonPool().invoke(new RangeAction(0, len, body));
+    }
+
+    static final class RangeAction extends RecursiveAction {
+        private final long from;
+        private final long to;
+        private final RangeBody body;
+
+        RangeAction(long from, long to, RangeBody body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                body.run(from, to - from);
+                return;
+            }
+            // split on BLOCK boundaries so neighbouring tasks never share a block
+            long mid = from + (((to - from) >>> 1) / BLOCK) * BLOCK;
+            invokeAll(new RangeAction(from, mid, body), new RangeAction(mid, to, body));
+        }
+    }
+
+    private static void checkRange(long length, long from, long to) {
+        if (from < 0 || to > length || from > to) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for length " + length);
+        }
+    }
+}
@@ -2,11 +2,10 @@ package com.array.examples;
 
 
 public class ArrayUtil {
+    private final ArrayWriter writer = new ArrayWriter(System.out);
+
     public void getArray(int[] arr){
-        int n = arr.length;
-        for(int i = 0; i < n; i++){
-            System.out.println("index["+ i + "] "+arr[i]);
-        }
+        writer.writeIndexed(arr).flush();
     }
 
     public static void main(String[] args) {
@@ -1,11 +1,10 @@
 package com.array.examples;
 
 public class ArrayUtil_1 {
+    private final ArrayWriter writer = new ArrayWriter(System.out);
+
     public void printArray(int[] arr) {
-        int n = arr.length;
-        for (int i = n -1; i >=0; i--) {
-            System.out.print(arr[i] + " ");
-        }
+        writer.writeSpaceSeparatedReversed(arr).flush();
     }
 }
 class Main {
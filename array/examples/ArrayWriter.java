@@ -0,0 +1,183 @@
+package com.array.examples;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Formats int arrays as ASCII straight into a reusable byte buffer, no String per element.
+ * The buffer is handed to the underlying OutputStream / channel only when it is full or on flush,
+ * so a large array goes out in a handful of big writes instead of one synchronized println per element.
+ *
+ * Not thread safe. flush() does not close the target, so wrapping System.out is fine.
+ */
+public class ArrayWriter {
+
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    // longest element we ever emit: "index[" + 10 digits + "] " + 11 chars + line separator
+    private static final int MAX_ELEMENT_BYTES = 64;
+    private static final byte[] INDEX_PREFIX = {'i', 'n', 'd', 'e', 'x', '['};
+    private static final byte[] MIN_VALUE = {'-', '2', '1', '4', '7', '4', '8', '3', '6', '4', '8'};
+
+    private final OutputStream out;
+    private final WritableByteChannel channel;
+    private final byte[] buffer;
+    private final ByteBuffer channelBuffer;
+    private final byte[] lineSeparator = System.lineSeparator().getBytes();
+    private int position;
+
+    public ArrayWriter(OutputStream out) {
+        this(out, null, DEFAULT_BUFFER_SIZE);
+    }
+
+    public ArrayWriter(WritableByteChannel channel) {
+        this(null, channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    public ArrayWriter(OutputStream out, int bufferSize) {
+        this(out, null, bufferSize);
+    }
+
+    public ArrayWriter(WritableByteChannel channel, int bufferSize) {
+        this(null, channel, bufferSize);
+    }
+
+    private ArrayWriter(OutputStream out, WritableByteChannel channel, int bufferSize) {
+        if (bufferSize < MAX_ELEMENT_BYTES) {
+            throw new IllegalArgumentException("bufferSize must be at least " + MAX_ELEMENT_BYTES + ": " + bufferSize);
+        }
+        this.out = out;
+        this.channel = channel;
+        this.buffer = new byte[bufferSize];
+        this.channelBuffer = channel != null ? ByteBuffer.wrap(buffer) : null;
+    }
+
+    /** One line per element: "index[i] value", the layout of ArrayUtil.getArray. */
+    public ArrayWriter writeIndexed(int[] arr) {
+        for (int i = 0; i < arr.length; i++) {
+            ensureCapacity();
+            System.arraycopy(INDEX_PREFIX, 0, buffer, position, INDEX_PREFIX.length);
+            position += INDEX_PREFIX.length;
+            putInt(i);
+            buffer[position++] = ']';
+            buffer[position++] = ' ';
+            putInt(arr[i]);
+            putLineSeparator();
+        }
+        return this;
+    }
+
+    /** "v0 v1 v2 " with a trailing space after every element, the layout of printArray. */
+    public ArrayWriter writeSpaceSeparated(int[] arr) {
+        return writeSpaceSeparated(arr, 0, arr.length);
+    }
+
+    public ArrayWriter writeSpaceSeparated(int[] arr, int from, int to) {
+        for (int i = from; i < to; i++) {
+            ensureCapacity();
+            putInt(arr[i]);
+            buffer[position++] = ' ';
+        }
+        return this;
+    }
+
+    /** Same as writeSpaceSeparated but from the last element to the first. */
+    public ArrayWriter writeSpaceSeparatedReversed(int[] arr) {
+        for (int i = arr.length - 1; i >= 0; i--) {
+            ensureCapacity();
+            putInt(arr[i]);
+            buffer[position++] = ' ';
+        }
+        return this;
+    }
+
+    public ArrayWriter newLine() {
+        ensureCapacity();
+        putLineSeparator();
+        return this;
+    }
+
+    public void flush() {
+        drain();
+        try {
+            if (out != null) {
+                out.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void ensureCapacity() {
+        if (buffer.length - position < MAX_ELEMENT_BYTES) {
+            drain();
+        }
+    }
+
+    private void drain() {
+        if (position == 0) {
+            return;
+        }
+        try {
+            if (out != null) {
+                out.write(buffer, 0, position);
+            } else {
+                channelBuffer.clear().limit(position);
+                while (channelBuffer.hasRemaining()) {
+                    channel.write(channelBuffer);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        position = 0;
+    }
+
+    private void putLineSeparator() {
+        for (byte b : lineSeparator) {
+            buffer[position++] = b;
+        }
+    }
+
+    // Digits are produced right to left straight into the buffer, after sizing the number first.
+    private void putInt(int value) {
+        if (value == Integer.MIN_VALUE) {
+            System.arraycopy(MIN_VALUE, 0, buffer, position, MIN_VALUE.length);
+            position += MIN_VALUE.length;
+            return;
+        }
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int end = position + digits(value);
+        int p = end;
+        do {
+            int q = value / 10;
+            buffer[--p] = (byte) ('0' + (value - q * 10));
+            value = q;
+        } while (value != 0);
+        position = end;
+    }
+
+    private static int digits(int value) {
+        int limit = 10;
+        for (int d = 1; d < 10; d++) {
+            if (value < limit) {
+                return d;
+            }
+            limit *= 10;
+        }
+        return 10;
+    }
+
+    public static void main(String[] args) {
+        ArrayWriter writer = new ArrayWriter(System.out);
+        int[] numbers = {2, -3, 4, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        writer.writeIndexed(numbers).writeSpaceSeparated(numbers).newLine().writeSpaceSeparatedReversed(numbers).newLine();
+        writer.flush();
+    }
+}
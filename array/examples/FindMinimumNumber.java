@@ -2,14 +2,11 @@ package com.array.examples;
 
 public class FindMinimumNumber {
     public int findMinNumber(int[] arr) {
-        int n = arr.length;
-        int min = arr[0];
-        for (int i = 1; i < n; i++) {
-            if (arr[i] < min) {
-                min = arr[i];
-            }
-        }
-        return min;
+        return MinMaxKernel.min(arr);
+    }
+
+    public int findMinNumberParallel(int[] arr) {
+        return new ParallelReducer().min(arr);
     }
 
     public static void main(String[] args) {
@@ -1,27 +1,34 @@
 package com.array.examples;
 
+import java.util.Arrays;
 import java.util.Scanner;
 
 public class FindOddEvenNumber {
 
-    public static void main(String[] args) {
-        int[] numbers = {23, 4, 5, 6, 7, 8, 9, 1, 0, 1, 2, 31, 2, 4, 2};
+    // Compacts into a scratch buffer in one pass, then trims it to the even count.
+    public static int[] findEven(int[] numbers) {
+        int[] buffer = new int[numbers.length];
+        int evenCount = findEven(numbers, buffer);
+        return Arrays.copyOf(buffer, evenCount);
+    }
 
-        int evenCount = 0;
-        for (int number : numbers){
-            if(number % 2 == 0){
-                evenCount++;
-            }
-        }
+    // One pass variant: the even numbers are written to the front of buffer, returns how many there are.
+    public static int findEven(int[] numbers, int[] buffer) {
+        return ArrayCompaction.compactEven(numbers, 0, numbers.length, buffer);
+    }
+
+    public static int[] findEvenParallel(int[] numbers) {
+        return new ParallelReducer().filter(numbers, n -> n % 2 == 0);
+    }
 
-        int [] evenNumbers = new int[evenCount];
-        int index = 0;
+    public static int countEvenParallel(int[] numbers) {
+        return new ParallelReducer().count(numbers, n -> n % 2 == 0);
+    }
 
-        for (int number : numbers) {
-            if(number % 2 == 0){
-                evenNumbers[index++] = number;
-            }
-        }
+    public static void main(String[] args) {
+        int[] numbers = {23, 4, 5, 6, 7, 8, 9, 1, 0, 1, 2, 31, 2, 4, 2};
+
+        int[] evenNumbers = findEven(numbers);
         System.out.println("Even numbers:");
         for (int even : evenNumbers){
             System.out.print(even+" ");
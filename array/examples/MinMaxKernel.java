@@ -0,0 +1,150 @@
+package com.array.examples;
+
+/**
+ * Single pass min / max reductions over an int[].
+ * Uses the Vector API (jdk.incubator.vector) when the module is present,
+ * otherwise a branch-free scalar loop.
+ */
+public final class MinMaxKernel {
+
+    private static final boolean VECTOR_ENABLED = detectVectorSupport();
+
+    private MinMaxKernel() {
+    }
+
+    public static final class MinMax {
+        private final int min;
+        private final int max;
+
+        public MinMax(int min, int max) {
+            this.min = min;
+            this.max = max;
+        }
+
+        public int getMin() {
+            return min;
+        }
+
+        public int getMax() {
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return "min=" + min + " max=" + max;
+        }
+    }
+
+    public static boolean isVectorEnabled() {
+        return VECTOR_ENABLED;
+    }
+
+    public static int min(int[] arr) {
+        return min(arr, 0, arr.length);
+    }
+
+    public static int min(int[] arr, int from, int to) {
+        checkRange(arr, from, to);
+        return VECTOR_ENABLED ? VectorMinMax.min(arr, from, to) : scalarMin(arr, from, to);
+    }
+
+    public static int max(int[] arr) {
+        return max(arr, 0, arr.length);
+    }
+
+    public static int max(int[] arr, int from, int to) {
+        checkRange(arr, from, to);
+        return VECTOR_ENABLED ? VectorMinMax.max(arr, from, to) : scalarMax(arr, from, to);
+    }
+
+    public static MinMax minMax(int[] arr) {
+        return minMax(arr, 0, arr.length);
+    }
+
+    public static MinMax minMax(int[] arr, int from, int to) {
+        checkRange(arr, from, to);
+        return VECTOR_ENABLED ? VectorMinMax.minMax(arr, from, to) : scalarMinMax(arr, from, to);
+    }
+
+    // Math.min / Math.max are intrinsics that compile to cmov / min instructions,
+    // so there is no data dependent branch. Four accumulators break the dependency chain.
+    static int scalarMin(int[] arr, int from, int to) {
+        int m0 = Integer.MAX_VALUE, m1 = Integer.MAX_VALUE, m2 = Integer.MAX_VALUE, m3 = Integer.MAX_VALUE;
+        int i = from;
+        for (; i + 3 < to; i += 4) {
+            m0 = Math.min(m0, arr[i]);
+            m1 = Math.min(m1, arr[i + 1]);
+            m2 = Math.min(m2, arr[i + 2]);
+            m3 = Math.min(m3, arr[i + 3]);
+        }
+        for (; i < to; i++) {
+            m0 = Math.min(m0, arr[i]);
+        }
+        return Math.min(Math.min(m0, m1), Math.min(m2, m3));
+    }
+
+    static int scalarMax(int[] arr, int from, int to) {
+        int m0 = Integer.MIN_VALUE, m1 = Integer.MIN_VALUE, m2 = Integer.MIN_VALUE, m3 = Integer.MIN_VALUE;
+        int i = from;
+        for (; i + 3 < to; i += 4) {
+            m0 = Math.max(m0, arr[i]);
+            m1 = Math.max(m1, arr[i + 1]);
+            m2 = Math.max(m2, arr[i + 2]);
+            m3 = Math.max(m3, arr[i + 3]);
+        }
+        for (; i < to; i++) {
+            m0 = Math.max(m0, arr[i]);
+        }
+        return Math.max(Math.max(m0, m1), Math.max(m2, m3));
+    }
+
+    static MinMax scalarMinMax(int[] arr, int from, int to) {
+        int min0 = Integer.MAX_VALUE, min1 = Integer.MAX_VALUE;
+        int max0 = Integer.MIN_VALUE, max1 = Integer.MIN_VALUE;
+        int i = from;
+        for (; i + 1 < to; i += 2) {
+            int a = arr[i];
+            int b = arr[i + 1];
+            min0 = Math.min(min0, a);
+            max0 = Math.max(max0, a);
+            min1 = Math.min(min1, b);
+            max1 = Math.max(max1, b);
+        }
+        if (i < to) {
+            min0 = Math.min(min0, arr[i]);
+            max0 = Math.max(max0, arr[i]);
+        }
+        return new MinMax(Math.min(min0, min1), Math.max(max0, max1));
+    }
+
+    private static void checkRange(int[] arr, int from, int to) {
+        if (from < 0 || to > arr.length || from > to) {
+            throw new ArrayIndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for length " + arr.length);
+        }
+        if (from == to) {
+            throw new IllegalArgumentException("Cannot reduce an empty range");
+        }
+    }
+
+    // VectorMinMax is only linked when jdk.incubator.vector can be resolved,
+    // so running without --add-modules jdk.incubator.vector falls back to the scalar loops.
+    private static boolean detectVectorSupport() {
+        if (!Boolean.parseBoolean(System.getProperty("com.array.examples.vector", "true"))) {
+            return false;
+        }
+        try {
+            Class.forName("jdk.incubator.vector.IntVector");
+            return VectorMinMax.lanes() > 1;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    public static void main(String[] args) {
+        int[] numbers = {12, 43, 23, 24, 23, 23, 45, 67, 534, 12, 45, 6, 78, 909, 9};
+        System.out.println("Vector API enabled : " + isVectorEnabled());
+        System.out.println("Min : " + min(numbers));
+        System.out.println("Max : " + max(numbers));
+        System.out.println("MinMax : " + minMax(numbers));
+    }
+}
@@ -0,0 +1,286 @@
+package com.array.examples;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntPredicate;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongPredicate;
+
+/**
+ * Fork/join reductions over int[] and long[].
+ * Ranges smaller than the split threshold are reduced sequentially on one thread,
+ * larger ranges are split in half and reduced in parallel.
+ * Every reducer passed in must be associative, otherwise the result depends on the split.
+ */
+public class ParallelReducer {
+
+    public static final int DEFAULT_THRESHOLD = 1 << 16;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    public ParallelReducer() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    public ParallelReducer(int threshold) {
+        this(ForkJoinPool.commonPool(), threshold);
+    }
+
+    public ParallelReducer(ForkJoinPool pool, int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be positive: " + threshold);
+        }
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    // Sequential reduction of [from, to). Values are widened to long so one task type serves int[] and long[].
+    @FunctionalInterface
+    interface RangeReducer {
+        long reduce(int from, int to);
+    }
+
+    static final class ReduceTask extends RecursiveTask<Long> {
+        private final RangeReducer leaf;
+        private final LongBinaryOperator combiner;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        ReduceTask(RangeReducer leaf, LongBinaryOperator combiner, int from, int to, int threshold) {
+            this.leaf = leaf;
+            this.combiner = combiner;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= threshold) {
+                return leaf.reduce(from, to);
+            }
+            int mid = (from + to) >>> 1;
+            ReduceTask left = new ReduceTask(leaf, combiner, from, mid, threshold);
+            ReduceTask right = new ReduceTask(leaf, combiner, mid, to, threshold);
+            left.fork();
+            long r = right.compute();
+            return combiner.applyAsLong(left.join(), r);
+        }
+    }
+
+    private long invoke(int length, RangeReducer leaf, LongBinaryOperator combiner) {
+        if (length <= threshold) {
+            return leaf.reduce(0, length);
+        }
+        return pool.invoke(new ReduceTask(leaf, combiner, 0, length, threshold));
+    }
+
+    private static void requireNonEmpty(int length) {
+        if (length == 0) {
+            throw new IllegalArgumentException("Cannot reduce an empty array");
+        }
+    }
+
+    // ---------------- int[] ----------------
+
+    public int min(int[] arr) {
+        requireNonEmpty(arr.length);
+        return (int) invoke(arr.length, (from, to) -> MinMaxKernel.min(arr, from, to), Math::min);
+    }
+
+    public int max(int[] arr) {
+        requireNonEmpty(arr.length);
+        return (int) invoke(arr.length, (from, to) -> MinMaxKernel.max(arr, from, to), Math::max);
+    }
+
+    public long sum(int[] arr) {
+        return invoke(arr.length, (from, to) -> {
+            long sum = 0;
+            for (int i = from; i < to; i++) {
+                sum += arr[i];
+            }
+            return sum;
+        }, Long::sum);
+    }
+
+    public int count(int[] arr, IntPredicate predicate) {
+        return (int) invoke(arr.length, (from, to) -> {
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                if (predicate.test(arr[i])) {
+                    count++;
+                }
+            }
+            return count;
+        }, Long::sum);
+    }
+
+    public int reduce(int[] arr, int identity, IntBinaryOperator op) {
+        return (int) invoke(arr.length, (from, to) -> {
+            int acc = identity;
+            for (int i = from; i < to; i++) {
+                acc = op.applyAsInt(acc, arr[i]);
+            }
+            return acc;
+        }, (a, b) -> op.applyAsInt((int) a, (int) b));
+    }
+
+    /**
+     * Keeps the elements matching the predicate, in their original order.
+     * Each chunk is counted in parallel, a prefix sum gives every chunk its write offset,
+     * then the chunks are copied in parallel.
+     */
+    public int[] filter(int[] arr, IntPredicate predicate) {
+        int n = arr.length;
+        if (n <= threshold) {
+            return sequentialFilter(arr, predicate);
+        }
+        int chunks = (int) ((n + (long) threshold - 1) / threshold);
+        int[] offsets = new int[chunks + 1];
+        pool.invoke(new ChunkAction(0, chunks, chunk -> {
+            int from = chunk * threshold;
+            int to = Math.min(n, from + threshold);
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                if (predicate.test(arr[i])) {
+                    count++;
+                }
+            }
+            offsets[chunk + 1] = count;
+        }));
+        for (int c = 0; c < chunks; c++) {
+            offsets[c + 1] += offsets[c];
+        }
+        int[] result = new int[offsets[chunks]];
+        pool.invoke(new ChunkAction(0, chunks, chunk -> {
+            int from = chunk * threshold;
+            int to = Math.min(n, from + threshold);
+            int idx = offsets[chunk];
+            for (int i = from; i < to; i++) {
+                if (predicate.test(arr[i])) {
+                    result[idx++] = arr[i];
+                }
+            }
+        }));
+        return result;
+    }
+
+    private static int[] sequentialFilter(int[] arr, IntPredicate predicate) {
+        int[] tmp = new int[arr.length];
+        int idx = 0;
+        for (int value : arr) {
+            if (predicate.test(value)) {
+                tmp[idx++] = value;
+            }
+        }
+        return Arrays.copyOf(tmp, idx);
+    }
+
+    // Runs body for every chunk index in [from, to), splitting the index range until one chunk remains.
+    static final class ChunkAction extends RecursiveAction {
+        interface ChunkBody {
+            void run(int chunk);
+        }
+
+        private final int from;
+        private final int to;
+        private final ChunkBody body;
+
+        ChunkAction(int from, int to, ChunkBody body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                body.run(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ChunkAction(from, mid, body), new ChunkAction(mid, to, body));
+        }
+    }
+
+    // ---------------- long[] ----------------
+
+    public long min(long[] arr) {
+        requireNonEmpty(arr.length);
+        return invoke(arr.length, (from, to) -> {
+            long min = Long.MAX_VALUE;
+            for (int i = from; i < to; i++) {
+                min = Math.min(min, arr[i]);
+            }
+            return min;
+        }, Math::min);
+    }
+
+    public long max(long[] arr) {
+        requireNonEmpty(arr.length);
+        return invoke(arr.length, (from, to) -> {
+            long max = Long.MIN_VALUE;
+            for (int i = from; i < to; i++) {
+                max = Math.max(max, arr[i]);
+            }
+            return max;
+        }, Math::max);
+    }
+
+    // Overflow wraps exactly as a sequential long sum would, since addition is associative mod 2^64.
+    public long sum(long[] arr) {
+        return invoke(arr.length, (from, to) -> {
+            long sum = 0;
+            for (int i = from; i < to; i++) {
+                sum += arr[i];
+            }
+            return sum;
+        }, Long::sum);
+    }
+
+    public int count(long[] arr, LongPredicate predicate) {
+        return (int) invoke(arr.length, (from, to) -> {
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                if (predicate.test(arr[i])) {
+                    count++;
+                }
+            }
+            return count;
+        }, Long::sum);
+    }
+
+    public long reduce(long[] arr, long identity, LongBinaryOperator op) {
+        return invoke(arr.length, (from, to) -> {
+            long acc = identity;
+            for (int i = from; i < to; i++) {
+                acc = op.applyAsLong(acc, arr[i]);
+            }
+            return acc;
+        }, op);
+    }
+
+    public static void main(String[] args) {
+        int[] numbers = new int[1_000_000];
+        Random random = new Random(42);
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = random.nextInt();
+        }
+        ParallelReducer reducer = new ParallelReducer(1 << 14);
+        System.out.println("Min : " + reducer.min(numbers));
+        System.out.println("Max : " + reducer.max(numbers));
+        System.out.println("Sum : " + reducer.sum(numbers));
+        System.out.println("Even count : " + reducer.count(numbers, n -> n % 2 == 0));
+        System.out.println("Xor : " + reducer.reduce(numbers, 0, (a, b) -> a ^ b));
+    }
+}
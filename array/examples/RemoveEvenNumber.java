@@ -1,30 +1,31 @@
 package com.array.examples;
 
+import java.util.Arrays;
+
 public class RemoveEvenNumber {
+    private final ArrayWriter writer = new ArrayWriter(System.out);
 
     public void printArray(int[] arr) {
-        int n = arr.length;
-        for(int i = 0; i < n; i++) {
-            System.out.print(arr[i]+" ");
-        }
-        System.out.println();
+        writer.writeSpaceSeparated(arr).newLine().flush();
     }
+    // Compacts into a scratch buffer in one pass, then trims it to the odd count.
     public static int[] removeEven(int[] arr) {
-        int oddCount = 0;
-        for(int i = 0; i < arr.length; i++) {
-            if(arr[i] % 2 != 0) {
-                oddCount++;
-            }
-        }
-        int[] result = new int[oddCount];
-        int idx = 0;
-        for(int i = 0; i < arr.length; i++) {
-            if(arr[i] % 2 != 0) {
-                result[idx]= arr[i];
-                idx++;
-            }
-        }
-        return result;
+        int[] buffer = new int[arr.length];
+        int oddCount = removeEven(arr, buffer);
+        return Arrays.copyOf(buffer, oddCount);
+    }
+
+    // One pass variant: the odd numbers are written to the front of buffer, returns how many there are.
+    public static int removeEven(int[] arr, int[] buffer) {
+        return ArrayCompaction.compactOdd(arr, 0, arr.length, buffer);
+    }
+
+    public static int removeEvenInPlace(int[] arr) {
+        return ArrayCompaction.compactOddInPlace(arr);
+    }
+
+    public static int[] removeEvenParallel(int[] arr) {
+        return new ParallelReducer().filter(arr, n -> n % 2 != 0);
     }
     public static void main(String[] args) {
         int[] arr = {3, 2, 4, 7, 10, 6, 5};  // 3, 7, 5
@@ -1,6 +1,7 @@
 package com.array.examples;
 
 public class ReverseArray {
+    private final ArrayWriter writer = new ArrayWriter(System.out);
 
     public  void reverse(int[] numbers, int start, int end){
         while(start < end) {
@@ -12,12 +13,24 @@ public class ReverseArray {
         }
     }
 
+    public void reverse(int[] numbers, int start, int end, ArrayReorder.Strategy strategy) {
+        ArrayReorder.reverse(numbers, start, end + 1, strategy);
+    }
+
+    public void rotateLeft(int[] numbers, int distance, ArrayReorder.Strategy strategy) {
+        ArrayReorder.rotateLeft(numbers, 0, numbers.length, distance, strategy);
+    }
+
+    public void rotateRight(int[] numbers, int distance, ArrayReorder.Strategy strategy) {
+        ArrayReorder.rotateRight(numbers, 0, numbers.length, distance, strategy);
+    }
+
+    public void swapSegments(int[] numbers, int first, int second, int length, ArrayReorder.Strategy strategy) {
+        ArrayReorder.swapSegments(numbers, first, second, length, strategy);
+    }
+
     public void printArray(int[] arr) {
-        int n = arr.length;
-        for (int i = 0; i < n; i++) {
-            System.out.print(arr[i] + " ");
-        }
-        System.out.println();
+        writer.writeSpaceSeparated(arr).newLine().flush();
     }
 
     public static void main(String[] args) {
@@ -27,5 +40,9 @@ public class ReverseArray {
         reverseArray.reverse(numbers,0,numbers.length -1);
         reverseArray.printArray(numbers);
 
+        reverseArray.rotateLeft(numbers, 2, ArrayReorder.Strategy.BLOCKED);
+        reverseArray.printArray(numbers);
+        reverseArray.rotateRight(numbers, 2, ArrayReorder.Strategy.BLOCKED);
+        reverseArray.printArray(numbers);
     }
 }
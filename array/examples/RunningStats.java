@@ -0,0 +1,170 @@
+package com.array.examples;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.stream.IntStream;
+
+/**
+ * Running min, max, count, sum, mean and variance in O(1) memory.
+ * Values are consumed one at a time or in batches, so nothing has to be materialised as an array.
+ * Mean and variance use Welford's update; two partial results are combined with Chan's formula,
+ * which lets sharded or parallel producers each keep their own RunningStats and merge at the end.
+ *
+ * Not thread safe, give every producer its own instance.
+ */
+public class RunningStats {
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private long count;
+    private long sum;
+    private int min = Integer.MAX_VALUE;
+    private int max = Integer.MIN_VALUE;
+    private double mean;
+    private double m2;
+
+    public void accept(int value) {
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+    }
+
+    public void accept(int[] values) {
+        accept(values, 0, values.length);
+    }
+
+    public void accept(int[] values, int from, int to) {
+        for (int i = from; i < to; i++) {
+            accept(values[i]);
+        }
+    }
+
+    public RunningStats accept(IntStream values) {
+        values.sequential().forEach(this::accept);
+        return this;
+    }
+
+    /** Reads int32 values until end of stream. A trailing partial value is an error. */
+    public RunningStats accept(InputStream in, ByteOrder order) throws IOException {
+        return accept(Channels.newChannel(in), order);
+    }
+
+    public RunningStats accept(ReadableByteChannel channel, ByteOrder order) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE).order(order);
+        while (channel.read(buffer) != -1) {
+            buffer.flip();
+            while (buffer.remaining() >= Integer.BYTES) {
+                accept(buffer.getInt());
+            }
+            buffer.compact();
+        }
+        if (buffer.position() != 0) {
+            throw new IOException("Stream ended with " + buffer.position() + " trailing bytes, not a whole int32");
+        }
+        return this;
+    }
+
+    /** Folds other into this one, as if every value other saw had been accepted here. */
+    public RunningStats merge(RunningStats other) {
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            count = other.count;
+            sum = other.sum;
+            min = other.min;
+            max = other.max;
+            mean = other.mean;
+            m2 = other.m2;
+            return this;
+        }
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+        count = total;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    /** Collects an IntStream, parallel streams merge their per-thread partial results. */
+    public static RunningStats of(IntStream values) {
+        return values.collect(RunningStats::new, RunningStats::accept, RunningStats::merge);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public int getMin() {
+        requireValues();
+        return min;
+    }
+
+    public int getMax() {
+        requireValues();
+        return max;
+    }
+
+    public double getMean() {
+        requireValues();
+        return mean;
+    }
+
+    /** Population variance. */
+    public double getVariance() {
+        requireValues();
+        return m2 / count;
+    }
+
+    /** Sample variance, NaN for a single value. */
+    public double getSampleVariance() {
+        requireValues();
+        return count > 1 ? m2 / (count - 1) : Double.NaN;
+    }
+
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    private void requireValues() {
+        if (count == 0) {
+            throw new IllegalStateException("No values accepted yet");
+        }
+    }
+
+    @Override
+    public String toString() {
+        if (count == 0) {
+            return "RunningStats[count=0]";
+        }
+        return "RunningStats[count=" + count + ", min=" + min + ", max=" + max + ", sum=" + sum
+                + ", mean=" + mean + ", variance=" + getVariance() + "]";
+    }
+
+    public static void main(String[] args) {
+        RunningStats first = new RunningStats();
+        first.accept(new int[]{12, 12, 32, 34, 23, 46});
+        RunningStats second = new RunningStats();
+        second.accept(new int[]{46, 45, 75, 69, 98, 90, 23});
+
+        System.out.println("First shard  : " + first);
+        System.out.println("Second shard : " + second);
+        System.out.println("Merged       : " + first.merge(second));
+        System.out.println("Parallel     : " + of(IntStream.rangeClosed(1, 1_000_000).parallel()));
+    }
+}
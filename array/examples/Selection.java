@@ -0,0 +1,162 @@
+package com.array.examples;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Order statistics without sorting the whole array.
+ *
+ *   select / kthSmallest / median - introselect, O(n) expected and O(n) worst case
+ *   topK                          - bounded primitive heap, O(n log k)
+ *   parallelTopK                  - per-task heaps on the common ForkJoinPool, merged pairwise
+ */
+public final class Selection {
+
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private Selection() {
+    }
+
+    /**
+     * Reorders arr so that arr[k] holds the k-th smallest value (0 based), everything before it
+     * is <= arr[k] and everything after it is >= arr[k]. Returns arr[k].
+     */
+    public static int select(int[] arr, int k) {
+        return select(arr, 0, arr.length, k);
+    }
+
+    public static int select(int[] arr, int from, int to, int k) {
+        if (from < 0 || to > arr.length || from >= to) {
+            throw new IllegalArgumentException("Invalid range [" + from + ", " + to + ") for length " + arr.length);
+        }
+        if (k < from || k >= to) {
+            throw new IndexOutOfBoundsException("k " + k + " outside [" + from + ", " + to + ")");
+        }
+        // introselect: after about 2 log2(n) partitions without finishing, the pivots are clearly
+        // bad (e.g. adversarial input), so switch to median of medians pivots instead of risking O(n^2)
+        int budget = 2 * (32 - Integer.numberOfLeadingZeros(to - from));
+        int lo = from;
+        int hi = to - 1;
+        while (hi - lo >= INSERTION_SORT_THRESHOLD) {
+            int pivot = budget-- > 0 ? medianOfThree(arr[lo], arr[(lo + hi) >>> 1], arr[hi]) : medianOfMedians(arr, lo, hi);
+            // three way partition: [lo, lt) < pivot, [lt, gt] == pivot, (gt, hi] > pivot
+            int lt = lo;
+            int gt = hi;
+            int i = lo;
+            while (i <= gt) {
+                int v = arr[i];
+                if (v < pivot) {
+                    arr[i++] = arr[lt];
+                    arr[lt++] = v;
+                } else if (v > pivot) {
+                    arr[i] = arr[gt];
+                    arr[gt--] = v;
+                } else {
+                    i++;
+                }
+            }
+            if (k < lt) {
+                hi = lt - 1;
+            } else if (k > gt) {
+                lo = gt + 1;
+            } else {
+                return pivot;
+            }
+        }
+        insertionSort(arr, lo, hi);
+        return arr[k];
+    }
+
+    /** k-th smallest (0 based) without touching arr. */
+    public static int kthSmallest(int[] arr, int k) {
+        return select(arr.clone(), k);
+    }
+
+    /** Lower median for even lengths, arr is left untouched. */
+    public static int median(int[] arr) {
+        return kthSmallest(arr, (arr.length - 1) / 2);
+    }
+
+    /** The k largest values, largest first. */
+    public static int[] topK(int[] arr, int k) {
+        TopKHeap heap = new TopKHeap(k, Math.min(k, arr.length));
+        heap.offerAll(arr, 0, arr.length);
+        return heap.toSortedArray();
+    }
+
+    public static int[] parallelTopK(int[] arr, int k) {
+        if (arr.length <= PARALLEL_THRESHOLD) {
+            return topK(arr, k);
+        }
+        return ForkJoinPool.commonPool().invoke(new TopKTask(arr, 0, arr.length, k)).toSortedArray();
+    }
+
+    static final class TopKTask extends RecursiveTask<TopKHeap> {
+        private final int[] arr;
+        private final int from;
+        private final int to;
+        private final int k;
+
+        TopKTask(int[] arr, int from, int to, int k) {
+            this.arr = arr;
+            this.from = from;
+            this.to = to;
+            this.k = k;
+        }
+
+        @Override
+        protected TopKHeap compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                TopKHeap heap = new TopKHeap(k, Math.min(k, to - from));
+                heap.offerAll(arr, from, to);
+                return heap;
+            }
+            int mid = (from + to) >>> 1;
+            TopKTask left = new TopKTask(arr, from, mid, k);
+            left.fork();
+            TopKHeap right = new TopKTask(arr, mid, to, k).compute();
+            return right.merge(left.join());
+        }
+    }
+
+    private static int medianOfThree(int a, int b, int c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    // Median of the medians of groups of five. The group medians are moved to the front of the range
+    // and selected in place, the result has at least 3/10 of the range on each side, so every
+    // partition around it shrinks the range by a constant factor and the fallback stays linear.
+    private static int medianOfMedians(int[] arr, int lo, int hi) {
+        int medians = lo;
+        for (int g = lo; g <= hi; g += 5) {
+            int end = Math.min(g + 4, hi);
+            insertionSort(arr, g, end);
+            int m = (g + end) >>> 1;
+            int temp = arr[m];
+            arr[m] = arr[medians];
+            arr[medians++] = temp;
+        }
+        return select(arr, lo, medians, lo + ((medians - lo - 1) >>> 1));
+    }
+
+    private static void insertionSort(int[] arr, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            int v = arr[i];
+            int j = i - 1;
+            while (j >= lo && arr[j] > v) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+            arr[j + 1] = v;
+        }
+    }
+
+    public static void main(String[] args) {
+        int[] numbers = {12, 12, 32, 34, 23, 46, 46, 45, 75, 69, 98, 90, 23};
+        System.out.println("Median : " + median(numbers));
+        System.out.println("3rd smallest : " + kthSmallest(numbers, 2));
+        System.out.println("Top 3 : " + Arrays.toString(topK(numbers, 3)));
+    }
+}
@@ -0,0 +1,116 @@
+package com.array.examples;
+
+import java.util.Arrays;
+
+/**
+ * Bounded min-heap of ints that keeps the k largest values offered to it.
+ * The smallest kept value sits at the root, so a new value only costs O(log k) when it beats it.
+ * Backed by a plain int[], nothing is boxed. The array starts at the given initial capacity
+ * and doubles up to k, so a heap fed fewer than k values never allocates the full int[k].
+ */
+public class TopKHeap {
+
+    private final int k;
+    private int[] heap;
+    private int size;
+
+    public TopKHeap(int k) {
+        this(k, k);
+    }
+
+    public TopKHeap(int k, int initialCapacity) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive: " + k);
+        }
+        if (initialCapacity < 0 || initialCapacity > k) {
+            throw new IllegalArgumentException("Initial capacity " + initialCapacity + " outside [0, " + k + "]");
+        }
+        this.k = k;
+        this.heap = new int[initialCapacity];
+    }
+
+    public int capacity() {
+        return k;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void offer(int value) {
+        if (size < k) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, (int) Math.min(k, Math.max(4L, 2L * size)));
+            }
+            heap[size] = value;
+            siftUp(size++);
+        } else if (value > heap[0]) {
+            heap[0] = value;
+            siftDown(0);
+        }
+    }
+
+    public void offerAll(int[] values, int from, int to) {
+        for (int i = from; i < to; i++) {
+            offer(values[i]);
+        }
+    }
+
+    /** Offers every value kept by other, used to combine per-thread heaps. */
+    public TopKHeap merge(TopKHeap other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.heap[i]);
+        }
+        return this;
+    }
+
+    /** The smallest of the kept values, i.e. the k-th largest once k values have been offered. */
+    public int peek() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        return heap[0];
+    }
+
+    /** The kept values, largest first. */
+    public int[] toSortedArray() {
+        int[] result = Arrays.copyOf(heap, size);
+        Arrays.sort(result);
+        for (int i = 0, j = result.length - 1; i < j; i++, j--) {
+            int temp = result[i];
+            result[i] = result[j];
+            result[j] = temp;
+        }
+        return result;
+    }
+
+    private void siftUp(int i) {
+        int value = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= value) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = value;
+    }
+
+    private void siftDown(int i) {
+        int value = heap[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (value <= heap[child]) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = value;
+    }
+}
@@ -0,0 +1,78 @@
+package com.array.examples;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API kernels behind {@link MinMaxKernel}. Never reference this class
+ * directly, MinMaxKernel only touches it after checking the module is available.
+ */
+final class VectorMinMax {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    private VectorMinMax() {
+    }
+
+    static int lanes() {
+        return SPECIES.length();
+    }
+
+    static int min(int[] arr, int from, int to) {
+        int i = from;
+        int upper = from + SPECIES.loopBound(to - from);
+        int min = Integer.MAX_VALUE;
+        if (i < upper) {
+            IntVector acc = IntVector.broadcast(SPECIES, Integer.MAX_VALUE);
+            for (; i < upper; i += SPECIES.length()) {
+                acc = acc.min(IntVector.fromArray(SPECIES, arr, i));
+            }
+            min = acc.reduceLanes(VectorOperators.MIN);
+        }
+        for (; i < to; i++) {
+            min = Math.min(min, arr[i]);
+        }
+        return min;
+    }
+
+    static int max(int[] arr, int from, int to) {
+        int i = from;
+        int upper = from + SPECIES.loopBound(to - from);
+        int max = Integer.MIN_VALUE;
+        if (i < upper) {
+            IntVector acc = IntVector.broadcast(SPECIES, Integer.MIN_VALUE);
+            for (; i < upper; i += SPECIES.length()) {
+                acc = acc.max(IntVector.fromArray(SPECIES, arr, i));
+            }
+            max = acc.reduceLanes(VectorOperators.MAX);
+        }
+        for (; i < to; i++) {
+            max = Math.max(max, arr[i]);
+        }
+        return max;
+    }
+
+    static MinMaxKernel.MinMax minMax(int[] arr, int from, int to) {
+        int i = from;
+        int upper = from + SPECIES.loopBound(to - from);
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        if (i < upper) {
+            IntVector minAcc = IntVector.broadcast(SPECIES, Integer.MAX_VALUE);
+            IntVector maxAcc = IntVector.broadcast(SPECIES, Integer.MIN_VALUE);
+            for (; i < upper; i += SPECIES.length()) {
+                IntVector v = IntVector.fromArray(SPECIES, arr, i);
+                minAcc = minAcc.min(v);
+                maxAcc = maxAcc.max(v);
+            }
+            min = minAcc.reduceLanes(VectorOperators.MIN);
+            max = maxAcc.reduceLanes(VectorOperators.MAX);
+        }
+        for (; i < to; i++) {
+            min = Math.min(min, arr[i]);
+            max = Math.max(max, arr[i]);
+        }
+        return new MinMaxKernel.MinMax(min, max);
+    }
+}
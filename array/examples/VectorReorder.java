@@ -0,0 +1,49 @@
+package com.array.examples;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API kernels behind {@link ArrayReorder}. Only linked after
+ * {@link MinMaxKernel#isVectorEnabled()} has confirmed the module is available.
+ */
+final class VectorReorder {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    private static final VectorShuffle<Integer> REVERSE = VectorShuffle.fromOp(SPECIES, lane -> LANES - 1 - lane);
+
+    private VectorReorder() {
+    }
+
+    static void swapReversed(int[] a, int i, int j, int len) {
+        int t = 0;
+        int upper = SPECIES.loopBound(len);
+        for (; t < upper; t += LANES) {
+            int front = i + t;
+            int back = j + len - t - LANES;
+            IntVector f = IntVector.fromArray(SPECIES, a, front);
+            IntVector b = IntVector.fromArray(SPECIES, a, back);
+            b.rearrange(REVERSE).intoArray(a, front);
+            f.rearrange(REVERSE).intoArray(a, back);
+        }
+        if (t < len) {
+            ArrayReorder.scalarSwapReversed(a, i + t, j, len - t);
+        }
+    }
+
+    static void swapBlocks(int[] a, int i, int j, int len) {
+        int t = 0;
+        int upper = SPECIES.loopBound(len);
+        for (; t < upper; t += LANES) {
+            IntVector f = IntVector.fromArray(SPECIES, a, i + t);
+            IntVector b = IntVector.fromArray(SPECIES, a, j + t);
+            b.intoArray(a, i + t);
+            f.intoArray(a, j + t);
+        }
+        if (t < len) {
+            ArrayReorder.scalarSwapBlocks(a, i + t, j + t, len - t);
+        }
+    }
+}
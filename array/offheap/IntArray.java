@@ -0,0 +1,187 @@
+package com.array.offheap;
+
+import com.array.examples.ArrayReorder;
+import com.array.examples.MinMaxKernel;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.util.function.IntPredicate;
+
+/**
+ * Off-heap int array with long indices, backed by a MemorySegment.
+ * Holds more than 2^31 elements and keeps the data out of the GC heap.
+ *
+ * An IntArray created by {@link #allocate(long)} owns a shared arena and frees the memory on close().
+ * One created over a caller supplied arena or segment never frees anything, the caller owns the lifetime.
+ * Elements are native order unless a ByteOrder is given to {@link #wrap(MemorySegment, ByteOrder)}.
+ */
+public final class IntArray implements AutoCloseable {
+
+    private final MemorySegment segment;
+    private final Arena ownedArena;
+    private final long length;
+    private final ValueLayout.OfInt layout;
+
+    private IntArray(MemorySegment segment, Arena ownedArena) {
+        this(segment, ownedArena, ByteOrder.nativeOrder());
+    }
+
+    private IntArray(MemorySegment segment, Arena ownedArena, ByteOrder order) {
+        if (segment.byteSize() % Integer.BYTES != 0) {
+            throw new IllegalArgumentException("Segment size " + segment.byteSize() + " is not a multiple of " + Integer.BYTES);
+        }
+        this.segment = segment;
+        this.ownedArena = ownedArena;
+        this.length = segment.byteSize() / Integer.BYTES;
+        this.layout = ValueLayout.JAVA_INT.withOrder(order);
+    }
+
+    public static IntArray allocate(long length) {
+        Arena arena = Arena.ofShared();
+        try {
+            return new IntArray(arena.allocate(length * Integer.BYTES, Integer.BYTES), arena);
+        } catch (RuntimeException | Error e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    public static IntArray allocate(long length, Arena arena) {
+        return new IntArray(arena.allocate(length * Integer.BYTES, Integer.BYTES), null);
+    }
+
+    public static IntArray wrap(MemorySegment segment) {
+        return new IntArray(segment, null);
+    }
+
+    public static IntArray wrap(MemorySegment segment, ByteOrder order) {
+        return new IntArray(segment, null, order);
+    }
+
+    public static IntArray copyOf(int[] arr) {
+        IntArray result = allocate(arr.length);
+        MemorySegment.copy(arr, 0, result.segment, ValueLayout.JAVA_INT, 0, arr.length);
+        return result;
+    }
+
+    public long length() {
+        return length;
+    }
+
+    public MemorySegment segment() {
+        return segment;
+    }
+
+    public ByteOrder order() {
+        return layout.order();
+    }
+
+    public int get(long index) {
+        return segment.getAtIndex(layout, index);
+    }
+
+    public void set(long index, int value) {
+        segment.setAtIndex(layout, index, value);
+    }
+
+    public void fill(int value) {
+        for (long i = 0; i < length; i++) {
+            set(i, value);
+        }
+    }
+
+    public int[] toArray() {
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("IntArray of " + length + " elements does not fit in an int[]");
+        }
+        return segment.toArray(layout);
+    }
+
+    public int min() {
+        return minMax().getMin();
+    }
+
+    public int max() {
+        return minMax().getMax();
+    }
+
+    public MinMaxKernel.MinMax minMax() {
+        return SegmentMinMax.minMax(segment, 0, length, layout.order());
+    }
+
+    public void reverse(long from, long to) {
+        SegmentReorder.reverse(segment, from, to, ArrayReorder.Strategy.VECTOR);
+    }
+
+    public void reverse() {
+        reverse(0, length);
+    }
+
+    /**
+     * Single pass, branch-free compaction into buffer (which may be this array). Returns the number of kept elements.
+     */
+    public long compactInto(IntArray buffer, IntPredicate keep) {
+        if (buffer.length < length) {
+            throw new IllegalArgumentException("Buffer length " + buffer.length + " is smaller than " + length);
+        }
+        long w = 0;
+        for (long i = 0; i < length; i++) {
+            int v = get(i);
+            buffer.set(w, v);
+            w += keep.test(v) ? 1 : 0;
+        }
+        return w;
+    }
+
+    public long compactOddInto(IntArray buffer) {
+        if (buffer.length < length) {
+            throw new IllegalArgumentException("Buffer length " + buffer.length + " is smaller than " + length);
+        }
+        long w = 0;
+        for (long i = 0; i < length; i++) {
+            int v = get(i);
+            buffer.set(w, v);
+            w += v & 1;
+        }
+        return w;
+    }
+
+    public long compactEvenInto(IntArray buffer) {
+        if (buffer.length < length) {
+            throw new IllegalArgumentException("Buffer length " + buffer.length + " is smaller than " + length);
+        }
+        long w = 0;
+        for (long i = 0; i < length; i++) {
+            int v = get(i);
+            buffer.set(w, v);
+            w += ~v & 1;
+        }
+        return w;
+    }
+
+    /** A view of [from, to) sharing the same memory, its lifetime is tied to this array. */
+    public IntArray slice(long from, long to) {
+        return wrap(segment.asSlice(from * Integer.BYTES, (to - from) * Integer.BYTES), layout.order());
+    }
+
+    @Override
+    public void close() {
+        if (ownedArena != null) {
+            ownedArena.close();
+        }
+    }
+
+    public static void main(String[] args) {
+        try (IntArray numbers = IntArray.copyOf(new int[]{3, 2, 4, 7, 10, 6, 5})) {
+            System.out.println("Min : " + numbers.min() + " Max : " + numbers.max());
+            numbers.reverse();
+            long odd = numbers.compactOddInto(numbers);
+            for (long i = 0; i < odd; i++) {
+                System.out.print(numbers.get(i) + " ");
+            }
+            System.out.println();
+        }
+    }
+}
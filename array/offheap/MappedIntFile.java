@@ -0,0 +1,291 @@
+package com.array.offheap;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongPredicate;
+
+/**
+ * A binary file of little or big endian int32 / int64 values, memory mapped into a MemorySegment.
+ * Nothing is copied: {@link #asIntArray()} and the reductions read straight from the mapped pages.
+ * The parallel reductions split the file into chunks and reduce them on the common ForkJoinPool.
+ *
+ * The mapping lives in a shared arena and is released by close().
+ */
+public final class MappedIntFile implements AutoCloseable {
+
+    public enum Width {
+        INT32(Integer.BYTES),
+        INT64(Long.BYTES);
+
+        private final int bytes;
+
+        Width(int bytes) {
+            this.bytes = bytes;
+        }
+
+        public int bytes() {
+            return bytes;
+        }
+    }
+
+    public static final long DEFAULT_CHUNK = 1 << 20;
+
+    private final Arena arena;
+    private final MemorySegment segment;
+    private final Width width;
+    private final ByteOrder order;
+    private final long length;
+    private final ValueLayout.OfInt intLayout;
+    private final ValueLayout.OfLong longLayout;
+
+    private MappedIntFile(Arena arena, MemorySegment segment, Width width, ByteOrder order) {
+        this.arena = arena;
+        this.segment = segment;
+        this.width = width;
+        this.order = order;
+        this.length = segment.byteSize() / width.bytes();
+        this.intLayout = ValueLayout.JAVA_INT.withOrder(order);
+        this.longLayout = ValueLayout.JAVA_LONG.withOrder(order);
+    }
+
+    public static MappedIntFile open(Path path, Width width, ByteOrder order) throws IOException {
+        return open(path, width, order, FileChannel.MapMode.READ_ONLY);
+    }
+
+    /**
+     * Maps the whole file. Use READ_WRITE to modify the file in place (e.g. reverse it),
+     * or PRIVATE for copy-on-write changes that never reach the file. FileChannel only maps PRIVATE
+     * from a channel opened for writing, so both need write permission on the file.
+     */
+    public static MappedIntFile open(Path path, Width width, ByteOrder order, FileChannel.MapMode mode) throws IOException {
+        StandardOpenOption[] options = mode != FileChannel.MapMode.READ_ONLY
+                ? new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE}
+                : new StandardOpenOption[]{StandardOpenOption.READ};
+        Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            long size = channel.size();
+            if (size % width.bytes() != 0) {
+                throw new IOException(path + " is " + size + " bytes, not a whole number of " + width + " values");
+            }
+            return new MappedIntFile(arena, channel.map(mode, 0, size, arena), width, order);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    /** Writes arr as int32 values in the given byte order, handy for producing test input. */
+    public static void writeInt32(Path path, int[] arr, ByteOrder order) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+             Arena arena = Arena.ofConfined()) {
+            MemorySegment out = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) arr.length * Integer.BYTES, arena);
+            MemorySegment.copy(arr, 0, out, ValueLayout.JAVA_INT.withOrder(order), 0, arr.length);
+        }
+    }
+
+    public long length() {
+        return length;
+    }
+
+    public Width width() {
+        return width;
+    }
+
+    public ByteOrder order() {
+        return order;
+    }
+
+    public MemorySegment segment() {
+        return segment;
+    }
+
+    /** Zero copy IntArray view over the mapped pages, only for INT32 files. */
+    public IntArray asIntArray() {
+        if (width != Width.INT32) {
+            throw new UnsupportedOperationException("asIntArray needs an INT32 file, this one is " + width);
+        }
+        return IntArray.wrap(segment, order);
+    }
+
+    /** The value at index, widened to long for INT32 files. */
+    public long get(long index) {
+        return width == Width.INT32 ? segment.getAtIndex(intLayout, index) : segment.getAtIndex(longLayout, index);
+    }
+
+    public long min() {
+        requireNonEmpty();
+        return minRange(0, length);
+    }
+
+    public long max() {
+        requireNonEmpty();
+        return maxRange(0, length);
+    }
+
+    public long sum() {
+        return sumRange(0, length);
+    }
+
+    public long count(LongPredicate predicate) {
+        return countRange(0, length, predicate);
+    }
+
+    public long parallelMin() {
+        requireNonEmpty();
+        return parallel(this::minRange, Math::min, DEFAULT_CHUNK);
+    }
+
+    public long parallelMax() {
+        requireNonEmpty();
+        return parallel(this::maxRange, Math::max, DEFAULT_CHUNK);
+    }
+
+    public long parallelSum() {
+        return parallel(this::sumRange, Long::sum, DEFAULT_CHUNK);
+    }
+
+    public long parallelCount(LongPredicate predicate) {
+        return parallel((from, to) -> countRange(from, to, predicate), Long::sum, DEFAULT_CHUNK);
+    }
+
+    /** Reduces the file in chunks of chunk elements on the common pool. The combiner must be associative. */
+    public long parallel(RangeReducer leaf, LongBinaryOperator combiner, long chunk) {
+        if (chunk < 1) {
+            throw new IllegalArgumentException("chunk must be positive: " + chunk);
+        }
+        if (length <= chunk) {
+            return leaf.reduce(0, length);
+        }
+        return ForkJoinPool.commonPool().invoke(new ChunkTask(leaf, combiner, 0, length, chunk));
+    }
+
+    @FunctionalInterface
+    public interface RangeReducer {
+        long reduce(long from, long to);
+    }
+
+    static final class ChunkTask extends RecursiveTask<Long> {
+        private final RangeReducer leaf;
+        private final LongBinaryOperator combiner;
+        private final long from;
+        private final long to;
+        private final long chunk;
+
+        ChunkTask(RangeReducer leaf, LongBinaryOperator combiner, long from, long to, long chunk) {
+            this.leaf = leaf;
+            this.combiner = combiner;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= chunk) {
+                return leaf.reduce(from, to);
+            }
+            long mid = (from + to) >>> 1;
+            ChunkTask left = new ChunkTask(leaf, combiner, from, mid, chunk);
+            ChunkTask right = new ChunkTask(leaf, combiner, mid, to, chunk);
+            left.fork();
+            long r = right.compute();
+            return combiner.applyAsLong(left.join(), r);
+        }
+    }
+
+    // INT32 ranges go through the vectorised SegmentMinMax, INT64 ranges are plain loops.
+
+    private long minRange(long from, long to) {
+        if (width == Width.INT32) {
+            return SegmentMinMax.minMax(segment, from, to, order).getMin();
+        }
+        long min = Long.MAX_VALUE;
+        for (long i = from; i < to; i++) {
+            min = Math.min(min, segment.getAtIndex(longLayout, i));
+        }
+        return min;
+    }
+
+    private long maxRange(long from, long to) {
+        if (width == Width.INT32) {
+            return SegmentMinMax.minMax(segment, from, to, order).getMax();
+        }
+        long max = Long.MIN_VALUE;
+        for (long i = from; i < to; i++) {
+            max = Math.max(max, segment.getAtIndex(longLayout, i));
+        }
+        return max;
+    }
+
+    private long sumRange(long from, long to) {
+        long sum = 0;
+        if (width == Width.INT32) {
+            for (long i = from; i < to; i++) {
+                sum += segment.getAtIndex(intLayout, i);
+            }
+        } else {
+            for (long i = from; i < to; i++) {
+                sum += segment.getAtIndex(longLayout, i);
+            }
+        }
+        return sum;
+    }
+
+    private long countRange(long from, long to, LongPredicate predicate) {
+        long count = 0;
+        for (long i = from; i < to; i++) {
+            if (predicate.test(get(i))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void requireNonEmpty() {
+        if (length == 0) {
+            throw new IllegalStateException("File holds no values");
+        }
+    }
+
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    // java MappedIntFile <file> [BIG_ENDIAN|LITTLE_ENDIAN] reads int32 values from an existing file,
+    // without arguments a small sample is written to a temp file that is deleted afterwards
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0) {
+            ByteOrder order = args.length > 1 && args[1].equals("BIG_ENDIAN") ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+            try (MappedIntFile mapped = open(Path.of(args[0]), Width.INT32, order)) {
+                System.out.println("Parallel Min : " + mapped.parallelMin() + " Parallel Max : " + mapped.parallelMax());
+            }
+            return;
+        }
+        Path file = Files.createTempFile("numbers", ".bin");
+        try {
+            int[] numbers = {12, 43, 23, 24, 23, 23, 45, 67, 534, 12, 45, 6, 78, 909, 9};
+            writeInt32(file, numbers, ByteOrder.BIG_ENDIAN);
+
+            try (MappedIntFile mapped = open(file, Width.INT32, ByteOrder.BIG_ENDIAN)) {
+                System.out.println("Values : " + mapped.length());
+                System.out.println("Min : " + mapped.min() + " Max : " + mapped.max() + " Sum : " + mapped.sum());
+                System.out.println("Parallel Min : " + mapped.parallelMin() + " Parallel Max : " + mapped.parallelMax());
+                System.out.println("Min via IntArray : " + mapped.asIntArray().min());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.array.offheap;
+
+/**
+ * Off-heap twin of com.practiceProgram.MaxElementInArray, kept here so the int[] practice
+ * program does not need --enable-preview.
+ */
+public class MaxElementInIntArray {
+
+    public static int max(IntArray numbers) {
+        return numbers.max();
+    }
+
+    public static void main(String[] args) {
+        try (IntArray numbers = IntArray.copyOf(new int[]{12, 12, 32, 34, 23, 46, 46, 45, 75, 69, 98, 90, 23})) {
+            System.out.println(max(numbers));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.array.offheap;
+
+import com.array.examples.MinMaxKernel;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+
+/**
+ * Single pass min / max reductions over a MemorySegment of ints with long element indices.
+ * Same dispatch as {@link MinMaxKernel}: Vector API when the module is present, otherwise a scalar loop.
+ * Without a ByteOrder the ints are read in native order.
+ */
+public final class SegmentMinMax {
+
+    private SegmentMinMax() {
+    }
+
+    public static int min(MemorySegment seg, long from, long to) {
+        return minMax(seg, from, to, ByteOrder.nativeOrder()).getMin();
+    }
+
+    public static int max(MemorySegment seg, long from, long to) {
+        return minMax(seg, from, to, ByteOrder.nativeOrder()).getMax();
+    }
+
+    public static MinMaxKernel.MinMax minMax(MemorySegment seg, long from, long to) {
+        return minMax(seg, from, to, ByteOrder.nativeOrder());
+    }
+
+    public static MinMaxKernel.MinMax minMax(MemorySegment seg, long from, long to, ByteOrder order) {
+        checkRange(seg, from, to);
+        return MinMaxKernel.isVectorEnabled() ? VectorSegments.minMax(seg, from, to, order) : scalarMinMax(seg, from, to, order);
+    }
+
+    static MinMaxKernel.MinMax scalarMinMax(MemorySegment seg, long from, long to, ByteOrder order) {
+        ValueLayout.OfInt layout = ValueLayout.JAVA_INT.withOrder(order);
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (long i = from; i < to; i++) {
+            int v = seg.getAtIndex(layout, i);
+            min = Math.min(min, v);
+            max = Math.max(max, v);
+        }
+        return new MinMaxKernel.MinMax(min, max);
+    }
+
+    private static void checkRange(MemorySegment seg, long from, long to) {
+        long length = seg.byteSize() / Integer.BYTES;
+        if (from < 0 || to > length || from > to) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for length " + length);
+        }
+        if (from == to) {
+            throw new IllegalArgumentException("Cannot reduce an empty range");
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.array.offheap;
+
+import com.array.examples.ArrayReorder.Strategy;
+import com.array.examples.MinMaxKernel;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Reverse, rotate and segment swap over an off-heap MemorySegment of ints with long indices.
+ * The MemorySegment twin of {@link com.array.examples.ArrayReorder}, built from the same two kernels
+ * (swapReversed and swapBlocks) and taking the same {@link Strategy}.
+ */
+public final class SegmentReorder {
+
+    // 16 KB of ints, a quarter of a typical L1d so both staged blocks stay resident
+    static final int BLOCK = 4096;
+    static final long PARALLEL_THRESHOLD = 1 << 18;
+
+    private SegmentReorder() {
+    }
+
+    public static void reverse(MemorySegment seg, long from, long to, Strategy strategy) {
+        checkRange(seg.byteSize() / Integer.BYTES, from, to);
+        long half = (to - from) >>> 1;
+        swapReversed(seg, from, to - half, half, strategy);
+    }
+
+    public static void rotateLeft(MemorySegment seg, long from, long to, long distance, Strategy strategy) {
+        checkRange(seg.byteSize() / Integer.BYTES, from, to);
+        long len = to - from;
+        if (len == 0) {
+            return;
+        }
+        long d = Math.floorMod(distance, len);
+        if (d == 0) {
+            return;
+        }
+        reverse(seg, from, from + d, strategy);
+        reverse(seg, from + d, to, strategy);
+        reverse(seg, from, to, strategy);
+    }
+
+    public static void rotateRight(MemorySegment seg, long from, long to, long distance, Strategy strategy) {
+        long len = to - from;
+        rotateLeft(seg, from, to, len == 0 ? 0 : len - Math.floorMod(distance, len), strategy);
+    }
+
+    /** Swaps [i, i+len) with [j, j+len). The two segments must not overlap. */
+    public static void swapSegments(MemorySegment seg, long i, long j, long len, Strategy strategy) {
+        long size = seg.byteSize() / Integer.BYTES;
+        checkRange(size, i, i + len);
+        checkRange(size, j, j + len);
+        if (i < j + len && j < i + len && i != j) {
+            throw new IllegalArgumentException("Segments overlap: [" + i + ", " + (i + len) + ") and [" + j + ", " + (j + len) + ")");
+        }
+        if (i == j || len == 0) {
+            return;
+        }
+        switch (strategy) {
+            case SCALAR -> {
+                for (long t = 0; t < len; t++) {
+                    int temp = seg.getAtIndex(ValueLayout.JAVA_INT, i + t);
+                    seg.setAtIndex(ValueLayout.JAVA_INT, i + t, seg.getAtIndex(ValueLayout.JAVA_INT, j + t));
+                    seg.setAtIndex(ValueLayout.JAVA_INT, j + t, temp);
+                }
+            }
+            case BLOCKED, VECTOR -> {
+                // bulk segment copies are already vectorised memmoves
+                int[] tmp = new int[(int) Math.min(BLOCK, len)];
+                for (long done = 0; done < len; done += BLOCK) {
+                    int n = (int) Math.min(BLOCK, len - done);
+                    MemorySegment.copy(seg, ValueLayout.JAVA_INT, (i + done) * Integer.BYTES, tmp, 0, n);
+                    MemorySegment.copy(seg, (j + done) * Integer.BYTES, seg, (i + done) * Integer.BYTES, (long) n * Integer.BYTES);
+                    MemorySegment.copy(tmp, 0, seg, ValueLayout.JAVA_INT, (j + done) * Integer.BYTES, n);
+                }
+            }
+            case PARALLEL -> parallel(len, (off, n) -> swapSegments(seg, i + off, j + off, n, Strategy.BLOCKED));
+        }
+    }
+
+    static void swapReversed(MemorySegment seg, long i, long j, long len, Strategy strategy) {
+        if (len == 0) {
+            return;
+        }
+        switch (strategy) {
+            case SCALAR -> {
+                long front = i;
+                long back = j + len - 1;
+                for (long t = 0; t < len; t++) {
+                    int temp = seg.getAtIndex(ValueLayout.JAVA_INT, front);
+                    seg.setAtIndex(ValueLayout.JAVA_INT, front, seg.getAtIndex(ValueLayout.JAVA_INT, back));
+                    seg.setAtIndex(ValueLayout.JAVA_INT, back, temp);
+                    front++;
+                    back--;
+                }
+            }
+            case BLOCKED -> blockedSwapReversed(seg, i, j, len);
+            case VECTOR -> {
+                if (MinMaxKernel.isVectorEnabled()) {
+                    VectorSegments.swapReversed(seg, i, j, len);
+                } else {
+                    blockedSwapReversed(seg, i, j, len);
+                }
+            }
+            // the pair [off, off+n) of the front segment mirrors [len-off-n, len-off) of the back segment
+            case PARALLEL -> parallel(len, (off, n) -> swapReversed(seg, i + off, j + len - off - n, n, singleThreaded()));
+        }
+    }
+
+    // Both blocks are pulled on heap, reversed into each other, and written back with bulk copies.
+    static void blockedSwapReversed(MemorySegment seg, long i, long j, long len) {
+        int size = (int) Math.min(BLOCK, len);
+        int[] front = new int[size];
+        int[] back = new int[size];
+        for (long done = 0; done < len; done += BLOCK) {
+            int n = (int) Math.min(BLOCK, len - done);
+            long frontIdx = i + done;
+            long backIdx = j + len - done - n;
+            MemorySegment.copy(seg, ValueLayout.JAVA_INT, frontIdx * Integer.BYTES, front, 0, n);
+            MemorySegment.copy(seg, ValueLayout.JAVA_INT, backIdx * Integer.BYTES, back, 0, n);
+            for (int t = 0, u = n - 1; t < u; t++, u--) {
+                int x = front[t];
+                front[t] = front[u];
+                front[u] = x;
+                int y = back[t];
+                back[t] = back[u];
+                back[u] = y;
+            }
+            MemorySegment.copy(back, 0, seg, ValueLayout.JAVA_INT, frontIdx * Integer.BYTES, n);
+            MemorySegment.copy(front, 0, seg, ValueLayout.JAVA_INT, backIdx * Integer.BYTES, n);
+        }
+    }
+
+    private static Strategy singleThreaded() {
+        return MinMaxKernel.isVectorEnabled() ? Strategy.VECTOR : Strategy.BLOCKED;
+    }
+
+    @FunctionalInterface
+    interface RangeBody {
+        void run(long offset, long length);
+    }
+
+    private static void parallel(long len, RangeBody body) {
+        if (len <= PARALLEL_THRESHOLD) {
+            body.run(0, len);
+            return;
+        }
+        ForkJoinPool.commonPool().invoke(new RangeAction(0, len, body));
+    }
+
+    static final class RangeAction extends RecursiveAction {
+        private final long from;
+        private final long to;
+        private final RangeBody body;
+
+        RangeAction(long from, long to, RangeBody body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                body.run(from, to - from);
+                return;
+            }
+            // split on BLOCK boundaries so neighbouring tasks never share a block
+            long mid = from + (((to - from) >>> 1) / BLOCK) * BLOCK;
+            invokeAll(new RangeAction(from, mid, body), new RangeAction(mid, to, body));
+        }
+    }
+
+    private static void checkRange(long length, long from, long to) {
+        if (from < 0 || to > length || from > to) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for length " + length);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.array.offheap;
+
+import com.array.examples.ArrayReorder;
+import com.array.examples.MinMaxKernel;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API kernels behind {@link SegmentMinMax} and {@link SegmentReorder}. Only linked after
+ * {@link MinMaxKernel#isVectorEnabled()} has confirmed the module is available.
+ */
+final class VectorSegments {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    private static final VectorShuffle<Integer> REVERSE = VectorShuffle.fromOp(SPECIES, lane -> LANES - 1 - lane);
+    private static final ByteOrder ORDER = ByteOrder.nativeOrder();
+
+    private VectorSegments() {
+    }
+
+    static MinMaxKernel.MinMax minMax(MemorySegment seg, long from, long to, ByteOrder order) {
+        ValueLayout.OfInt layout = ValueLayout.JAVA_INT.withOrder(order);
+        long i = from;
+        long upper = from + SPECIES.loopBound(to - from);
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        if (i < upper) {
+            IntVector minAcc = IntVector.broadcast(SPECIES, Integer.MAX_VALUE);
+            IntVector maxAcc = IntVector.broadcast(SPECIES, Integer.MIN_VALUE);
+            for (; i < upper; i += LANES) {
+                IntVector v = IntVector.fromMemorySegment(SPECIES, seg, i * Integer.BYTES, order);
+                minAcc = minAcc.min(v);
+                maxAcc = maxAcc.max(v);
+            }
+            min = minAcc.reduceLanes(VectorOperators.MIN);
+            max = maxAcc.reduceLanes(VectorOperators.MAX);
+        }
+        for (; i < to; i++) {
+            int v = seg.getAtIndex(layout, i);
+            min = Math.min(min, v);
+            max = Math.max(max, v);
+        }
+        return new MinMaxKernel.MinMax(min, max);
+    }
+
+    static void swapReversed(MemorySegment seg, long i, long j, long len) {
+        long t = 0;
+        long upper = SPECIES.loopBound(len);
+        for (; t < upper; t += LANES) {
+            long front = (i + t) * Integer.BYTES;
+            long back = (j + len - t - LANES) * Integer.BYTES;
+            IntVector f = IntVector.fromMemorySegment(SPECIES, seg, front, ORDER);
+            IntVector b = IntVector.fromMemorySegment(SPECIES, seg, back, ORDER);
+            b.rearrange(REVERSE).intoMemorySegment(seg, front, ORDER);
+            f.rearrange(REVERSE).intoMemorySegment(seg, back, ORDER);
+        }
+        if (t < len) {
+            SegmentReorder.swapReversed(seg, i + t, j, len - t, ArrayReorder.Strategy.SCALAR);
+        }
+    }
+}
@@ -65,5 +65,12 @@ public class ArrayListExample {
             String val = iterator.next();
             System.out.print(val+ " ");
         }
+
+        System.out.println("\n\n====middle insert on a ChunkedList ========");
+        // add(3, ..) only shifts the elements of one block instead of the whole backing array
+        ChunkedList<String> chunked = new ChunkedList<>(fruits);
+        chunked.add(3, "Ved");
+        chunked.remove(1);
+        System.out.println("Chunked List: " + chunked);
     }
 }
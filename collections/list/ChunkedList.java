@@ -0,0 +1,728 @@
+package com.collections.list;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Unrolled list: elements are stored in fixed capacity array blocks, with a block index of running
+ * element counts to find the block that holds a given position.
+ *
+ *   get / set(i)          - binary search over the block index, then one array access: O(log(n / B))
+ *   add / remove(i)       - shifts at most one block of B elements, splits full blocks and merges
+ *                           near empty neighbours, then fixes the index lazily from that block on
+ *   addFirst / addLast    - O(1) amortised, each block keeps free room at both ends
+ *
+ * Unlike LinkedList, an indexed for loop is not quadratic, and unlike ArrayList, inserting in the
+ * middle does not move the whole backing array. Implements List and Deque so it can replace either.
+ * Not thread safe, iterators are fail fast.
+ */
+public final class ChunkedList<E> extends AbstractList<E> implements Deque<E>, RandomAccess {
+
+    public static final int DEFAULT_BLOCK_SIZE = 512;
+
+    private static final class Block {
+        final Object[] items;
+        int start;
+        int count;
+
+        Block(int capacity, int start) {
+            this.items = new Object[capacity];
+            this.start = start;
+        }
+    }
+
+    private final int blockSize;
+    private final ArrayList<Block> blocks = new ArrayList<>();
+    // offsets[b] = number of elements in blocks before b, valid for b < validOffsets
+    private int[] offsets = new int[16];
+    private int validOffsets;
+    private int size;
+
+    public ChunkedList() {
+        this(DEFAULT_BLOCK_SIZE);
+    }
+
+    public ChunkedList(int blockSize) {
+        if (blockSize < 4) {
+            throw new IllegalArgumentException("blockSize must be at least 4: " + blockSize);
+        }
+        this.blockSize = blockSize;
+    }
+
+    public ChunkedList(Collection<? extends E> values) {
+        this(DEFAULT_BLOCK_SIZE);
+        addAll(values);
+    }
+
+    // ---------------- List ----------------
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkIndex(index);
+        int b = blockOf(index);
+        Block block = blocks.get(b);
+        return (E) block.items[block.start + index - offsets[b]];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        checkIndex(index);
+        int b = blockOf(index);
+        Block block = blocks.get(b);
+        int i = block.start + index - offsets[b];
+        E old = (E) block.items[i];
+        block.items[i] = element;
+        return old;
+    }
+
+    @Override
+    public boolean add(E e) {
+        addLast(e);
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (index == size) {
+            addLast(element);
+            return;
+        }
+        if (index == 0) {
+            addFirst(element);
+            return;
+        }
+        int b = blockOf(index);
+        insertInto(b, index - offsets[b], element);
+    }
+
+    @Override
+    public E remove(int index) {
+        checkIndex(index);
+        int b = blockOf(index);
+        return removeFrom(b, index - offsets[b]);
+    }
+
+    @Override
+    public void clear() {
+        blocks.clear();
+        validOffsets = 0;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action) {
+        Objects.requireNonNull(action);
+        int expectedModCount = modCount;
+        for (Block block : blocks) {
+            for (int i = block.start, end = block.start + block.count; i < end; i++) {
+                action.accept((E) block.items[i]);
+            }
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    // the RandomAccess default would call get(i) per element, walk the blocks instead
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED | Spliterator.SIZED);
+    }
+
+    // ---------------- Deque ----------------
+
+    @Override
+    public void addFirst(E e) {
+        Block first = blocks.isEmpty() ? null : blocks.get(0);
+        if (first == null || (first.start == 0 && first.count == blockSize)) {
+            // new front block filled from its end, so the next addFirst calls are O(1) too
+            first = new Block(blockSize, blockSize);
+            blocks.add(0, first);
+            validOffsets = 0;
+        } else if (first.start == 0) {
+            shiftRight(first);
+        }
+        first.start--;
+        first.items[first.start] = e;
+        first.count++;
+        afterInsert(0);
+    }
+
+    @Override
+    public void addLast(E e) {
+        Block last = blocks.isEmpty() ? null : blocks.get(blocks.size() - 1);
+        if (last == null || last.count == blockSize) {
+            last = new Block(blockSize, 0);
+            blocks.add(last);
+        } else if (last.start + last.count == blockSize) {
+            compactToFront(last);
+        }
+        last.items[last.start + last.count] = e;
+        last.count++;
+        afterInsert(blocks.size() - 1);
+    }
+
+    @Override
+    public boolean offerFirst(E e) {
+        addFirst(e);
+        return true;
+    }
+
+    @Override
+    public boolean offerLast(E e) {
+        addLast(e);
+        return true;
+    }
+
+    @Override
+    public E removeFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return removeFrom(0, 0);
+    }
+
+    @Override
+    public E removeLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        int b = blocks.size() - 1;
+        return removeFrom(b, blocks.get(b).count - 1);
+    }
+
+    @Override
+    public E pollFirst() {
+        return size == 0 ? null : removeFirst();
+    }
+
+    @Override
+    public E pollLast() {
+        return size == 0 ? null : removeLast();
+    }
+
+    @Override
+    public E getFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return get(0);
+    }
+
+    @Override
+    public E getLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return get(size - 1);
+    }
+
+    @Override
+    public E peekFirst() {
+        return size == 0 ? null : get(0);
+    }
+
+    @Override
+    public E peekLast() {
+        return size == 0 ? null : get(size - 1);
+    }
+
+    @Override
+    public boolean removeFirstOccurrence(Object o) {
+        int i = indexOf(o);
+        if (i < 0) {
+            return false;
+        }
+        remove(i);
+        return true;
+    }
+
+    @Override
+    public boolean removeLastOccurrence(Object o) {
+        int i = lastIndexOf(o);
+        if (i < 0) {
+            return false;
+        }
+        remove(i);
+        return true;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        return offerLast(e);
+    }
+
+    @Override
+    public E remove() {
+        return removeFirst();
+    }
+
+    @Override
+    public E poll() {
+        return pollFirst();
+    }
+
+    @Override
+    public E element() {
+        return getFirst();
+    }
+
+    @Override
+    public E peek() {
+        return peekFirst();
+    }
+
+    @Override
+    public void push(E e) {
+        addFirst(e);
+    }
+
+    @Override
+    public E pop() {
+        return removeFirst();
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return removeFirstOccurrence(o);
+    }
+
+    @Override
+    public Iterator<E> descendingIterator() {
+        return new Iterator<>() {
+            private int cursor = size - 1;
+            private int lastReturned = -1;
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return cursor >= 0;
+            }
+
+            @Override
+            public E next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (cursor < 0) {
+                    throw new NoSuchElementException();
+                }
+                lastReturned = cursor;
+                return get(cursor--);
+            }
+
+            @Override
+            public void remove() {
+                if (lastReturned < 0) {
+                    throw new IllegalStateException();
+                }
+                ChunkedList.this.remove(lastReturned);
+                lastReturned = -1;
+                expectedModCount = modCount;
+            }
+        };
+    }
+
+    /** Live reverse ordered view, as required by List.reversed() / Deque.reversed(); writes go through to this list. */
+    @Override
+    public Reversed<E> reversed() {
+        return new Reversed<>(this);
+    }
+
+    /**
+     * Reverse ordered view of a ChunkedList: position i is position size - 1 - i of the list, and the
+     * Deque ends are swapped. Every operation maps onto the list, so it has the same costs.
+     */
+    public static final class Reversed<E> extends AbstractList<E> implements Deque<E>, RandomAccess {
+        private final ChunkedList<E> list;
+
+        private Reversed(ChunkedList<E> list) {
+            this.list = list;
+        }
+
+        @Override
+        public int size() {
+            return list.size();
+        }
+
+        @Override
+        public E get(int index) {
+            return list.get(list.size() - 1 - Objects.checkIndex(index, list.size()));
+        }
+
+        @Override
+        public E set(int index, E element) {
+            return list.set(list.size() - 1 - Objects.checkIndex(index, list.size()), element);
+        }
+
+        @Override
+        public boolean add(E e) {
+            list.addFirst(e);
+            return true;
+        }
+
+        @Override
+        public void add(int index, E element) {
+            list.add(list.size() - Objects.checkIndex(index, list.size() + 1), element);
+        }
+
+        @Override
+        public E remove(int index) {
+            return list.remove(list.size() - 1 - Objects.checkIndex(index, list.size()));
+        }
+
+        @Override
+        public void clear() {
+            list.clear();
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return list.descendingIterator();
+        }
+
+        @Override
+        public Iterator<E> descendingIterator() {
+            return list.iterator();
+        }
+
+        @Override
+        public ChunkedList<E> reversed() {
+            return list;
+        }
+
+        @Override
+        public void addFirst(E e) {
+            list.addLast(e);
+        }
+
+        @Override
+        public void addLast(E e) {
+            list.addFirst(e);
+        }
+
+        @Override
+        public boolean offerFirst(E e) {
+            return list.offerLast(e);
+        }
+
+        @Override
+        public boolean offerLast(E e) {
+            return list.offerFirst(e);
+        }
+
+        @Override
+        public E removeFirst() {
+            return list.removeLast();
+        }
+
+        @Override
+        public E removeLast() {
+            return list.removeFirst();
+        }
+
+        @Override
+        public E pollFirst() {
+            return list.pollLast();
+        }
+
+        @Override
+        public E pollLast() {
+            return list.pollFirst();
+        }
+
+        @Override
+        public E getFirst() {
+            return list.getLast();
+        }
+
+        @Override
+        public E getLast() {
+            return list.getFirst();
+        }
+
+        @Override
+        public E peekFirst() {
+            return list.peekLast();
+        }
+
+        @Override
+        public E peekLast() {
+            return list.peekFirst();
+        }
+
+        @Override
+        public boolean removeFirstOccurrence(Object o) {
+            return list.removeLastOccurrence(o);
+        }
+
+        @Override
+        public boolean removeLastOccurrence(Object o) {
+            return list.removeFirstOccurrence(o);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            return list.removeLastOccurrence(o);
+        }
+
+        @Override
+        public boolean offer(E e) {
+            return offerLast(e);
+        }
+
+        @Override
+        public E remove() {
+            return removeFirst();
+        }
+
+        @Override
+        public E poll() {
+            return pollFirst();
+        }
+
+        @Override
+        public E element() {
+            return getFirst();
+        }
+
+        @Override
+        public E peek() {
+            return peekFirst();
+        }
+
+        @Override
+        public void push(E e) {
+            addFirst(e);
+        }
+
+        @Override
+        public E pop() {
+            return removeFirst();
+        }
+    }
+
+    // ---------------- internals ----------------
+
+    private void insertInto(int b, int pos, E element) {
+        Block block = blocks.get(b);
+        if (block.count == blockSize) {
+            // split the full block in half and insert into whichever half owns pos
+            Block right = new Block(blockSize, 0);
+            int half = blockSize / 2;
+            System.arraycopy(block.items, block.start + half, right.items, 0, block.count - half);
+            Arrays.fill(block.items, block.start + half, block.start + block.count, null);
+            right.count = block.count - half;
+            block.count = half;
+            blocks.add(b + 1, right);
+            if (pos > half) {
+                b++;
+                block = right;
+                pos -= half;
+            }
+            validOffsets = Math.min(validOffsets, b);
+        }
+        // shift towards whichever end has room and fewer elements to move
+        boolean roomLeft = block.start > 0;
+        boolean roomRight = block.start + block.count < blockSize;
+        if (roomLeft && (!roomRight || pos < block.count - pos)) {
+            System.arraycopy(block.items, block.start, block.items, block.start - 1, pos);
+            block.start--;
+        } else {
+            if (!roomRight) {
+                compactToFront(block);
+            }
+            System.arraycopy(block.items, block.start + pos, block.items, block.start + pos + 1, block.count - pos);
+        }
+        block.items[block.start + pos] = element;
+        block.count++;
+        afterInsert(b);
+    }
+
+    @SuppressWarnings("unchecked")
+    private E removeFrom(int b, int pos) {
+        Block block = blocks.get(b);
+        E old = (E) block.items[block.start + pos];
+        if (pos < block.count / 2) {
+            System.arraycopy(block.items, block.start, block.items, block.start + 1, pos);
+            block.items[block.start] = null;
+            block.start++;
+        } else {
+            System.arraycopy(block.items, block.start + pos + 1, block.items, block.start + pos, block.count - pos - 1);
+            block.items[block.start + block.count - 1] = null;
+        }
+        block.count--;
+        size--;
+        modCount++;
+        if (block.count == 0) {
+            blocks.remove(b);
+            validOffsets = Math.min(validOffsets, b);
+        } else if (b + 1 < blocks.size() && block.count + blocks.get(b + 1).count <= blockSize / 2) {
+            mergeWithNext(b);
+        } else {
+            validOffsets = Math.min(validOffsets, b + 1);
+        }
+        return old;
+    }
+
+    // keeps blocks at least a quarter full on average so the block index stays small
+    private void mergeWithNext(int b) {
+        Block block = blocks.get(b);
+        Block next = blocks.get(b + 1);
+        compactToFront(block);
+        System.arraycopy(next.items, next.start, block.items, block.count, next.count);
+        block.count += next.count;
+        blocks.remove(b + 1);
+        validOffsets = Math.min(validOffsets, b + 1);
+    }
+
+    private void afterInsert(int b) {
+        size++;
+        modCount++;
+        validOffsets = Math.min(validOffsets, b + 1);
+    }
+
+    private static void compactToFront(Block block) {
+        if (block.start == 0) {
+            return;
+        }
+        System.arraycopy(block.items, block.start, block.items, 0, block.count);
+        Arrays.fill(block.items, Math.max(block.count, block.start), block.start + block.count, null);
+        block.start = 0;
+    }
+
+    // moves the elements right to open up half of the free room at the front
+    private static void shiftRight(Block block) {
+        int room = block.items.length - block.start - block.count;
+        int newStart = block.start + (room + 1) / 2;
+        System.arraycopy(block.items, block.start, block.items, newStart, block.count);
+        Arrays.fill(block.items, block.start, Math.min(newStart, block.start + block.count), null);
+        block.start = newStart;
+    }
+
+    // Binary search of the block index for the block containing index, rebuilding stale offsets first.
+    private int blockOf(int index) {
+        int n = blocks.size();
+        if (validOffsets < n) {
+            if (offsets.length < n) {
+                offsets = Arrays.copyOf(offsets, Math.max(n, offsets.length * 2));
+            }
+            int b = validOffsets;
+            int running = b == 0 ? 0 : offsets[b - 1] + blocks.get(b - 1).count;
+            for (; b < n; b++) {
+                offsets[b] = running;
+                running += blocks.get(b).count;
+            }
+            validOffsets = n;
+        }
+        int lo = 0;
+        int hi = n - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (offsets[mid] <= index) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return lo;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    // Walks the blocks directly, no index lookups per element.
+    private final class Itr implements Iterator<E> {
+        private int blockIndex;
+        private int pos;
+        private int returned;
+        private boolean canRemove;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return returned < size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (returned >= size) {
+                throw new NoSuchElementException();
+            }
+            Block block = blocks.get(blockIndex);
+            while (pos >= block.count) {
+                block = blocks.get(++blockIndex);
+                pos = 0;
+            }
+            returned++;
+            canRemove = true;
+            return (E) block.items[block.start + pos++];
+        }
+
+        @Override
+        public void remove() {
+            if (!canRemove) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            returned--;
+            ChunkedList.this.remove(returned);
+            // blocks may have been merged or dropped, re-locate the cursor from the flat position
+            if (returned < size) {
+                blockIndex = blockOf(returned);
+                pos = returned - offsets[blockIndex];
+            }
+            canRemove = false;
+            expectedModCount = modCount;
+        }
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        int i = 0;
+        for (E e : this) {
+            if (Objects.equals(o, e)) {
+                return i;
+            }
+            i++;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,430 @@
+package com.collections.list;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Stable external merge sort by an int key, for record sets larger than the heap.
+ *
+ * Records are serialized with a {@link RecordCodec} into a byte arena as they arrive; no record object
+ * is kept, so the memory budget bounds the run size exactly (arena bytes plus 12 bytes of index per
+ * record). When the budget is reached the index, (key << 32 | arrival position) longs, is sorted and
+ * the records are spilled in that order to a temp file as (key, length, bytes). The runs are then
+ * merged k ways with a min-heap of (key << 32 | run) longs, so the merge compares primitives only and
+ * equal keys come out in arrival order. More than {@link #DEFAULT_MAX_FAN_IN} runs are first merged in
+ * groups to bound the number of open files.
+ *
+ * If everything fits in the budget nothing is written to disk. The result is streamed back as
+ * records are decoded; close it (or read it to the end) to delete the temp files.
+ */
+public final class ExternalSorter<T> {
+
+    public static final int DEFAULT_MAX_FAN_IN = 256;
+    private static final int INDEX_BYTES_PER_RECORD = 12;
+    private static final int IO_BUFFER = 1 << 16;
+
+    private final RecordCodec<T> codec;
+    private final long memoryBudget;
+    private final Path tempDir;
+    private final int maxFanIn;
+
+    public ExternalSorter(RecordCodec<T> codec, long memoryBudgetBytes) {
+        this(codec, memoryBudgetBytes, Path.of(System.getProperty("java.io.tmpdir")), DEFAULT_MAX_FAN_IN);
+    }
+
+    public ExternalSorter(RecordCodec<T> codec, long memoryBudgetBytes, Path tempDir, int maxFanIn) {
+        if (memoryBudgetBytes < 1024) {
+            throw new IllegalArgumentException("memoryBudgetBytes too small: " + memoryBudgetBytes);
+        }
+        if (maxFanIn < 2) {
+            throw new IllegalArgumentException("maxFanIn must be at least 2: " + maxFanIn);
+        }
+        this.codec = Objects.requireNonNull(codec);
+        this.memoryBudget = memoryBudgetBytes;
+        this.tempDir = Objects.requireNonNull(tempDir);
+        this.maxFanIn = maxFanIn;
+    }
+
+    /** Reads input to the end and returns its records sorted by key, equal keys in input order. */
+    public Sorted<T> sort(Iterator<? extends T> input) throws IOException {
+        List<Path> created = new ArrayList<>();
+        RunBuffer buffer = new RunBuffer(created);
+        List<Path> runs = new ArrayList<>();
+        Exposed scratch = new Exposed();
+        DataOutputStream scratchOut = new DataOutputStream(scratch);
+        try {
+            while (input.hasNext()) {
+                T record = input.next();
+                scratch.reset();
+                codec.write(record, scratchOut);
+                if (!buffer.fits(scratch.size()) && buffer.count > 0) {
+                    runs.add(buffer.spill());
+                }
+                buffer.add(codec.key(record), scratch.buffer(), scratch.size());
+            }
+            if (runs.isEmpty()) {
+                return new Sorted<>(codec, buffer.sortedInMemory(), List.of());
+            }
+            if (buffer.count > 0) {
+                runs.add(buffer.spill());
+            }
+            buffer = null; // release the arena before merging
+            while (runs.size() > maxFanIn) {
+                // merge consecutive groups so earlier input stays in earlier runs and the sort stays stable
+                List<Path> merged = new ArrayList<>();
+                for (int from = 0; from < runs.size(); from += maxFanIn) {
+                    List<Path> group = runs.subList(from, Math.min(from + maxFanIn, runs.size()));
+                    merged.add(group.size() == 1 ? group.get(0) : mergeToFile(group, created));
+                }
+                runs = merged;
+            }
+            return new Sorted<>(codec, new RunMerger(runs), runs);
+        } catch (IOException | RuntimeException e) {
+            for (Path file : created) {
+                Files.deleteIfExists(file);
+            }
+            throw e;
+        }
+    }
+
+    private Path mergeToFile(List<Path> group, List<Path> created) throws IOException {
+        Path out = Files.createTempFile(tempDir, "sort-merge-", ".run");
+        created.add(out);
+        try (RunMerger merger = new RunMerger(group);
+             DataOutputStream data = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(out), IO_BUFFER))) {
+            while (merger.advance()) {
+                data.writeInt(merger.key);
+                data.writeInt(merger.length);
+                data.write(merger.payload, 0, merger.length);
+            }
+        }
+        for (Path run : group) {
+            Files.delete(run);
+        }
+        return out;
+    }
+
+    // Serialized records of the current run: payload bytes in arena, one index long and one offset each.
+    private final class RunBuffer {
+        private final List<Path> created;
+        private byte[] arena = new byte[(int) Math.min(memoryBudget / 2, 1 << 20)];
+        private int used;
+        private long[] index = new long[1024];
+        private int[] offsets = new int[1024];
+        private int count;
+
+        RunBuffer(List<Path> created) {
+            this.created = created;
+        }
+
+        boolean fits(int length) {
+            return used + length + (long) (count + 1) * INDEX_BYTES_PER_RECORD <= memoryBudget;
+        }
+
+        void add(int key, byte[] bytes, int length) {
+            if (used + length > arena.length) {
+                long grown = Math.max((long) used + length, Math.min((long) arena.length * 2, memoryBudget));
+                if (grown > Integer.MAX_VALUE - 8) {
+                    throw new IllegalStateException("Run arena over 2 GB, use a smaller memory budget");
+                }
+                arena = Arrays.copyOf(arena, (int) grown);
+            }
+            if (count == index.length) {
+                index = Arrays.copyOf(index, count * 2);
+                offsets = Arrays.copyOf(offsets, count * 2);
+            }
+            System.arraycopy(bytes, 0, arena, used, length);
+            index[count] = ((long) key << 32) | count;
+            offsets[count] = used;
+            used += length;
+            count++;
+        }
+
+        private int length(int record) {
+            return (record + 1 < count ? offsets[record + 1] : used) - offsets[record];
+        }
+
+        Path spill() throws IOException {
+            Arrays.sort(index, 0, count);
+            Path run = Files.createTempFile(tempDir, "sort-run-", ".run");
+            created.add(run);
+            try (DataOutputStream data = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), IO_BUFFER))) {
+                for (int i = 0; i < count; i++) {
+                    int record = (int) index[i];
+                    int length = length(record);
+                    data.writeInt((int) (index[i] >> 32));
+                    data.writeInt(length);
+                    data.write(arena, offsets[record], length);
+                }
+            }
+            used = 0;
+            count = 0;
+            return run;
+        }
+
+        Source sortedInMemory() {
+            Arrays.sort(index, 0, count);
+            return new Source() {
+                private int next;
+
+                @Override
+                public boolean advance() {
+                    if (next == count) {
+                        return false;
+                    }
+                    long entry = index[next++];
+                    int record = (int) entry;
+                    key = (int) (entry >> 32);
+                    payload = arena;
+                    offset = offsets[record];
+                    length = length(record);
+                    return true;
+                }
+            };
+        }
+    }
+
+    // A position in a stream of (payload, offset, length) records, consumed by Sorted.
+    private abstract static class Source implements AutoCloseable {
+        byte[] payload;
+        int offset;
+        int length;
+        int key;
+
+        abstract boolean advance() throws IOException;
+
+        @Override
+        public void close() throws IOException {
+        }
+    }
+
+    private static final class RunMerger extends Source {
+        private final DataInputStream[] readers;
+        private final int[] keys;
+        private final byte[][] payloads;
+        private final int[] lengths;
+        private final long[] heap;
+        private int heapSize;
+        private int current = -1;
+
+        RunMerger(List<Path> runs) throws IOException {
+            int k = runs.size();
+            readers = new DataInputStream[k];
+            keys = new int[k];
+            payloads = new byte[k][64];
+            lengths = new int[k];
+            heap = new long[k];
+            try {
+                for (int r = 0; r < k; r++) {
+                    readers[r] = new DataInputStream(new BufferedInputStream(Files.newInputStream(runs.get(r)), IO_BUFFER));
+                    if (read(r)) {
+                        push(((long) keys[r] << 32) | r);
+                    }
+                }
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+        }
+
+        // reads the next record of run r into its slot, false at the end of the run
+        private boolean read(int r) throws IOException {
+            DataInputStream in = readers[r];
+            int first = in.read();
+            if (first < 0) {
+                return false;
+            }
+            keys[r] = (first << 24) | (in.readUnsignedByte() << 16) | (in.readUnsignedByte() << 8) | in.readUnsignedByte();
+            int length = in.readInt();
+            if (payloads[r].length < length) {
+                payloads[r] = new byte[Math.max(length, payloads[r].length * 2)];
+            }
+            in.readFully(payloads[r], 0, length);
+            lengths[r] = length;
+            return true;
+        }
+
+        @Override
+        boolean advance() throws IOException {
+            if (current >= 0) {
+                // refill from the run we returned last time, then restore the heap
+                if (read(current)) {
+                    heap[0] = ((long) keys[current] << 32) | current;
+                } else {
+                    heap[0] = heap[--heapSize];
+                }
+                siftDown(0);
+            }
+            if (heapSize == 0) {
+                current = -1;
+                return false;
+            }
+            current = (int) heap[0];
+            key = keys[current];
+            payload = payloads[current];
+            offset = 0;
+            length = lengths[current];
+            return true;
+        }
+
+        private void push(long entry) {
+            int i = heapSize++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent] <= entry) {
+                    break;
+                }
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = entry;
+        }
+
+        private void siftDown(int i) {
+            if (heapSize == 0) {
+                return;
+            }
+            long entry = heap[i];
+            int half = heapSize >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < heapSize && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (entry <= heap[child]) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = entry;
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (DataInputStream reader : readers) {
+                if (reader != null) {
+                    reader.close();
+                }
+            }
+        }
+    }
+
+    /** Sorted records, decoded one at a time. Closing deletes the temp files. */
+    public static final class Sorted<T> implements Iterator<T>, AutoCloseable {
+        private final RecordCodec<T> codec;
+        private final Source source;
+        private final List<Path> files;
+        private final BytesInput bytes = new BytesInput();
+        private final DataInputStream data = new DataInputStream(bytes);
+        private boolean ready;
+        private boolean done;
+
+        Sorted(RecordCodec<T> codec, Source source, List<Path> files) {
+            this.codec = codec;
+            this.source = source;
+            this.files = files;
+        }
+
+        /** Number of spilled runs merged at the end, 0 when the input fit in memory. */
+        public int runCount() {
+            return files.size();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!ready && !done) {
+                try {
+                    ready = source.advance();
+                    if (!ready) {
+                        close();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return ready;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ready = false;
+            bytes.set(source.payload, source.offset, source.length);
+            try {
+                return codec.read(source.key, data);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (done) {
+                return;
+            }
+            done = true;
+            ready = false;
+            source.close();
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    // ByteArrayOutputStream with access to its buffer, to copy a serialized record without toByteArray()
+    private static final class Exposed extends ByteArrayOutputStream {
+        Exposed() {
+            super(256);
+        }
+
+        byte[] buffer() {
+            return buf;
+        }
+    }
+
+    // InputStream over a reusable byte range, read by the codec through a DataInputStream
+    private static final class BytesInput extends InputStream {
+        private byte[] buf;
+        private int pos;
+        private int limit;
+
+        void set(byte[] buf, int offset, int length) {
+            this.buf = buf;
+            this.pos = offset;
+            this.limit = offset + length;
+        }
+
+        @Override
+        public int read() {
+            return pos < limit ? buf[pos++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (pos >= limit) {
+                return -1;
+            }
+            int n = Math.min(len, limit - pos);
+            System.arraycopy(buf, pos, b, off, n);
+            pos += n;
+            return n;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.collections.list;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.RandomAccess;
+
+/**
+ * ArrayList with a hash index (value -> ascending positions) kept next to it,
+ * so contains, indexOf and lastIndexOf are O(1) instead of a linear scan of equals calls.
+ *
+ * Appends, removes from the end and set() update the index in place. Inserting or removing in
+ * the middle shifts every later position by one, and the index is shifted along with it: each value's
+ * positions are ascending, so only the tail from the edit point on changes. That costs about what the
+ * ArrayList already pays to move the elements, and lookups stay O(1) right after any edit.
+ * For read-mostly data {@link #freeze(Comparator)} takes a sorted snapshot that answers lookups with
+ * binary search and no hashing at all.
+ */
+public class IndexedList<E> extends AbstractList<E> implements RandomAccess {
+
+    private final ArrayList<E> elements;
+    private final HashMap<Object, IntArrayList> positions = new HashMap<>();
+
+    public IndexedList() {
+        this.elements = new ArrayList<>();
+    }
+
+    public IndexedList(Collection<? extends E> values) {
+        this.elements = new ArrayList<>(values);
+        for (int i = 0; i < elements.size(); i++) {
+            positions.computeIfAbsent(elements.get(i), k -> new IntArrayList(1)).add(i);
+        }
+    }
+
+    @Override
+    public E get(int index) {
+        return elements.get(index);
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    @Override
+    public boolean add(E e) {
+        elements.add(e);
+        positions.computeIfAbsent(e, k -> new IntArrayList(1)).add(elements.size() - 1);
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, E e) {
+        if (index == elements.size()) {
+            add(e);
+            return;
+        }
+        elements.add(index, e);
+        shiftPositions(index, 1);
+        insertPosition(e, index);
+        modCount++;
+    }
+
+    @Override
+    public E set(int index, E e) {
+        E old = elements.set(index, e);
+        removePosition(old, index);
+        insertPosition(e, index);
+        return old;
+    }
+
+    @Override
+    public E remove(int index) {
+        E old = elements.remove(index);
+        removePosition(old, index);
+        if (index < elements.size()) {
+            shiftPositions(index + 1, -1);
+        }
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        elements.clear();
+        positions.clear();
+        modCount++;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        IntArrayList p = positions.get(o);
+        return p == null ? -1 : p.get(0);
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        IntArrayList p = positions.get(o);
+        return p == null ? -1 : p.get(p.size() - 1);
+    }
+
+    /** How many times o occurs, O(1). */
+    public int count(Object o) {
+        IntArrayList p = positions.get(o);
+        return p == null ? 0 : p.size();
+    }
+
+    /** Sorted snapshot using the natural order of the elements, which must be Comparable. */
+    @SuppressWarnings("unchecked")
+    public Frozen<E> freeze() {
+        return freeze((Comparator<? super E>) Comparator.naturalOrder());
+    }
+
+    public Frozen<E> freeze(Comparator<? super E> comparator) {
+        return new Frozen<>(elements, comparator);
+    }
+
+    // Adds delta to every stored position at or after from, following a middle insert (+1) or remove (-1).
+    private void shiftPositions(int from, int delta) {
+        for (IntArrayList p : positions.values()) {
+            int i = binarySearch(p, from);
+            for (i = i < 0 ? -(i + 1) : i; i < p.size(); i++) {
+                p.set(i, p.get(i) + delta);
+            }
+        }
+    }
+
+    private void removePosition(Object value, int position) {
+        IntArrayList p = positions.get(value);
+        p.remove(binarySearch(p, position));
+        if (p.isEmpty()) {
+            positions.remove(value);
+        }
+    }
+
+    private void insertPosition(Object value, int position) {
+        IntArrayList p = positions.computeIfAbsent(value, k -> new IntArrayList(1));
+        p.add(-(binarySearch(p, position) + 1), position);
+    }
+
+    // Arrays.binarySearch contract over the ascending positions of one value.
+    private static int binarySearch(IntArrayList p, int position) {
+        int lo = 0;
+        int hi = p.size() - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int v = p.get(mid);
+            if (v < position) {
+                lo = mid + 1;
+            } else if (v > position) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(lo + 1);
+    }
+
+    /**
+     * Immutable snapshot of an IndexedList. Lookups binary search a copy sorted by
+     * (value, original position), so indexOf still reports the first original position.
+     */
+    public static final class Frozen<E> extends AbstractList<E> implements RandomAccess {
+
+        private final Object[] elements;
+        private final Object[] sorted;
+        private final int[] sortedPositions;
+        private final Comparator<? super E> comparator;
+        // only a null-tolerant comparator can have sorted a null, natural ordering would have thrown
+        private final boolean containsNull;
+
+        @SuppressWarnings("unchecked")
+        Frozen(ArrayList<E> source, Comparator<? super E> comparator) {
+            this.elements = source.toArray();
+            this.comparator = comparator;
+            this.containsNull = source.contains(null);
+            Integer[] order = new Integer[elements.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            // stable sort keeps equal values in original position order
+            Arrays.sort(order, (a, b) -> comparator.compare((E) elements[a], (E) elements[b]));
+            this.sorted = new Object[elements.length];
+            this.sortedPositions = new int[elements.length];
+            for (int i = 0; i < order.length; i++) {
+                sorted[i] = elements[order[i]];
+                sortedPositions[i] = order[i];
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E get(int index) {
+            return (E) elements[index];
+        }
+
+        @Override
+        public int size() {
+            return elements.length;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return indexOf(o) >= 0;
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            if (o == null && !containsNull) {
+                return -1;
+            }
+            int i = lowerBound(o);
+            return i < sorted.length && matches(i, o) ? sortedPositions[i] : -1;
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            if (o == null && !containsNull) {
+                return -1;
+            }
+            int i = lowerBound(o);
+            if (i >= sorted.length || !matches(i, o)) {
+                return -1;
+            }
+            while (i + 1 < sorted.length && matches(i + 1, o)) {
+                i++;
+            }
+            return sortedPositions[i];
+        }
+
+        @SuppressWarnings("unchecked")
+        private boolean matches(int i, Object o) {
+            try {
+                return comparator.compare((E) sorted[i], (E) o) == 0;
+            } catch (ClassCastException e) {
+                return false;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private int lowerBound(Object o) {
+            int lo = 0;
+            int hi = sorted.length;
+            try {
+                while (lo < hi) {
+                    int mid = (lo + hi) >>> 1;
+                    if (comparator.compare((E) sorted[mid], (E) o) < 0) {
+                        lo = mid + 1;
+                    } else {
+                        hi = mid;
+                    }
+                }
+            } catch (ClassCastException e) {
+                return sorted.length;
+            }
+            return lo;
+        }
+    }
+}
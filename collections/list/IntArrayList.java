@@ -0,0 +1,293 @@
+package com.collections.list;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.RandomAccess;
+import java.util.function.IntConsumer;
+
+/**
+ * Growable list of primitive ints backed by a plain int[].
+ * Same operations as ArrayList<Integer> in the examples (add, set, remove by index, remove by value,
+ * contains, iteration) at 4 bytes per element instead of a boxed Integer plus a reference.
+ *
+ * {@link #asList()} gives a List<Integer> view for APIs that need one; it boxes on access.
+ */
+public class IntArrayList implements Iterable<Integer> {
+
+    private static final int DEFAULT_CAPACITY = 10;
+    private static final int[] EMPTY = {};
+
+    private int[] elements;
+    private int size;
+    private int modCount;
+
+    public IntArrayList() {
+        this.elements = EMPTY;
+    }
+
+    public IntArrayList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        this.elements = initialCapacity == 0 ? EMPTY : new int[initialCapacity];
+    }
+
+    public static IntArrayList of(int... values) {
+        IntArrayList list = new IntArrayList(values.length);
+        System.arraycopy(values, 0, list.elements, 0, values.length);
+        list.size = values.length;
+        return list;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void add(int value) {
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        elements[size++] = value;
+        modCount++;
+    }
+
+    public void add(int index, int value) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = value;
+        size++;
+        modCount++;
+    }
+
+    public void addAll(int[] values) {
+        if (size + values.length > elements.length) {
+            grow(size + values.length);
+        }
+        System.arraycopy(values, 0, elements, size, values.length);
+        size += values.length;
+        modCount++;
+    }
+
+    public int get(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+    /** Replaces the value at index and returns the old one. */
+    public int set(int index, int value) {
+        checkIndex(index);
+        int old = elements[index];
+        elements[index] = value;
+        return old;
+    }
+
+    /** Removes the value at index and returns it, like List.remove(int). */
+    public int remove(int index) {
+        checkIndex(index);
+        int old = elements[index];
+        int moved = size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(elements, index + 1, elements, index, moved);
+        }
+        size--;
+        modCount++;
+        return old;
+    }
+
+    /** Removes the first occurrence of value, like List.remove(Integer.valueOf(value)). */
+    public boolean removeValue(int value) {
+        int index = indexOf(value);
+        if (index < 0) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    public int indexOf(int value) {
+        for (int i = 0; i < size; i++) {
+            if (elements[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int lastIndexOf(int value) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (elements[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public boolean contains(int value) {
+        return indexOf(value) >= 0;
+    }
+
+    public void clear() {
+        size = 0;
+        modCount++;
+    }
+
+    public void trimToSize() {
+        if (size < elements.length) {
+            elements = size == 0 ? EMPTY : Arrays.copyOf(elements, size);
+        }
+    }
+
+    public void forEachInt(IntConsumer action) {
+        int expected = modCount;
+        for (int i = 0; i < size; i++) {
+            action.accept(elements[i]);
+        }
+        if (modCount != expected) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    /** Primitive iterator, use nextInt() to iterate without boxing. */
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int cursor;
+            private int lastReturned = -1;
+            private int expected = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < size;
+            }
+
+            @Override
+            public int nextInt() {
+                if (modCount != expected) {
+                    throw new ConcurrentModificationException();
+                }
+                if (cursor >= size) {
+                    throw new NoSuchElementException();
+                }
+                lastReturned = cursor;
+                return elements[cursor++];
+            }
+
+            @Override
+            public void remove() {
+                if (lastReturned < 0) {
+                    throw new IllegalStateException();
+                }
+                if (modCount != expected) {
+                    throw new ConcurrentModificationException();
+                }
+                IntArrayList.this.remove(lastReturned);
+                cursor = lastReturned;
+                lastReturned = -1;
+                expected = modCount;
+            }
+        };
+    }
+
+    /** Live List<Integer> view backed by this list. Boxes on every access, meant for interop only. */
+    public List<Integer> asList() {
+        return new IntegerView();
+    }
+
+    private final class IntegerView extends AbstractList<Integer> implements RandomAccess {
+        @Override
+        public Integer get(int index) {
+            return IntArrayList.this.get(index);
+        }
+
+        @Override
+        public Integer set(int index, Integer value) {
+            return IntArrayList.this.set(index, value);
+        }
+
+        @Override
+        public void add(int index, Integer value) {
+            IntArrayList.this.add(index, value);
+        }
+
+        @Override
+        public Integer remove(int index) {
+            return IntArrayList.this.remove(index);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Integer && IntArrayList.this.contains((Integer) o);
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            return o instanceof Integer ? IntArrayList.this.indexOf((Integer) o) : -1;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private void grow(int minCapacity) {
+        int newCapacity = Math.max(minCapacity, Math.max(DEFAULT_CAPACITY, elements.length + (elements.length >> 1)));
+        elements = Arrays.copyOf(elements, newCapacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IntArrayList)) {
+            return false;
+        }
+        IntArrayList that = (IntArrayList) o;
+        return Arrays.equals(elements, 0, size, that.elements, 0, that.size);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + elements[i];
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(elements[i]);
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,171 @@
+package com.collections.list;
+
+import java.util.Arrays;
+
+/**
+ * Struct-of-arrays storage for records made of one int and one name.
+ * The ints live in one int[], all names are packed back to back in one char[] arena
+ * with an offsets array marking where each name starts, so a scan over millions of
+ * records touches two or three flat arrays instead of an object, a String and a char[] per record.
+ *
+ * Append only for names; the int column can be updated in place.
+ */
+public class IntNameColumns {
+
+    private int[] values;
+    private int[] nameOffsets;
+    private char[] names;
+    private int size;
+
+    public IntNameColumns() {
+        this(16, 256);
+    }
+
+    public IntNameColumns(int expectedRecords, int expectedNameChars) {
+        this.values = new int[Math.max(1, expectedRecords)];
+        this.nameOffsets = new int[Math.max(1, expectedRecords) + 1];
+        this.names = new char[Math.max(1, expectedNameChars)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Appends a record and returns its index. */
+    public int add(int value, CharSequence name) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size + (size >> 1) + 1);
+            nameOffsets = Arrays.copyOf(nameOffsets, values.length + 1);
+        }
+        int start = nameOffsets[size];
+        int length = name.length();
+        if (start + length > names.length) {
+            names = Arrays.copyOf(names, Math.max(start + length, names.length + (names.length >> 1)));
+        }
+        for (int i = 0; i < length; i++) {
+            names[start + i] = name.charAt(i);
+        }
+        values[size] = value;
+        nameOffsets[size + 1] = start + length;
+        return size++;
+    }
+
+    public int value(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    public void setValue(int index, int value) {
+        checkIndex(index);
+        values[index] = value;
+    }
+
+    /** Materialises the name as a new String on every call, prefer nameView or the methods below in hot loops. */
+    public String name(int index) {
+        checkIndex(index);
+        return new String(names, nameOffsets[index], nameOffsets[index + 1] - nameOffsets[index]);
+    }
+
+    /** The name as a CharSequence over the arena, nothing is copied. */
+    public NameView nameView(int index) {
+        return new NameView().moveTo(index);
+    }
+
+    public int nameLength(int index) {
+        checkIndex(index);
+        return nameOffsets[index + 1] - nameOffsets[index];
+    }
+
+    public char nameCharAt(int index, int position) {
+        checkIndex(index);
+        int start = nameOffsets[index];
+        if (position < 0 || position >= nameOffsets[index + 1] - start) {
+            throw new IndexOutOfBoundsException("Position: " + position);
+        }
+        return names[start + position];
+    }
+
+    public boolean nameEquals(int index, CharSequence other) {
+        checkIndex(index);
+        int start = nameOffsets[index];
+        int length = nameOffsets[index + 1] - start;
+        if (length != other.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (names[start + i] != other.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public StringBuilder appendName(int index, StringBuilder sb) {
+        checkIndex(index);
+        return sb.append(names, nameOffsets[index], nameOffsets[index + 1] - nameOffsets[index]);
+    }
+
+    /** Direct read access to the int column, valid up to size(). */
+    public int[] valueColumn() {
+        return values;
+    }
+
+    public void trimToSize() {
+        values = Arrays.copyOf(values, size);
+        nameOffsets = Arrays.copyOf(nameOffsets, size + 1);
+        names = Arrays.copyOf(names, nameOffsets[size]);
+    }
+
+    /**
+     * Read-only CharSequence over one name in the arena. moveTo repoints it at another record, so a cursor
+     * can reuse one view for every row. Names are never rewritten, so a view stays valid after the arena grows.
+     */
+    public final class NameView implements CharSequence {
+        private char[] arena = names;
+        private int start;
+        private int length;
+
+        private NameView() {
+        }
+
+        public NameView moveTo(int index) {
+            checkIndex(index);
+            arena = names;
+            start = nameOffsets[index];
+            length = nameOffsets[index + 1] - start;
+            return this;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int position) {
+            if (position < 0 || position >= length) {
+                throw new IndexOutOfBoundsException("Position: " + position);
+            }
+            return arena[start + position];
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            if (from < 0 || to > length || from > to) {
+                throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") for length " + length);
+            }
+            return new String(arena, start + from, to - from);
+        }
+
+        @Override
+        public String toString() {
+            return new String(arena, start, length);
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.collections.list;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.function.ToIntFunction;
+
+/**
+ * Stable sort of objects by an int key, same call shape as Collections.sort.
+ *
+ * The key of every element is extracted once and packed with the element's position into a long
+ * (key in the high 32 bits, position in the low 32). The longs are LSD radix sorted on the key bits
+ * only, which keeps equal keys in position order, and the element references are then permuted
+ * into place in one final pass. No comparator is called at all.
+ */
+public final class KeyRadixSort {
+
+    private KeyRadixSort() {
+    }
+
+    public static <T> void sort(List<T> list, ToIntFunction<? super T> key) {
+        sort(list, key, false);
+    }
+
+    public static <T> void sort(List<T> list, ToIntFunction<? super T> key, boolean reversed) {
+        Object[] elements = list.toArray();
+        int n = elements.length;
+        if (n < 2) {
+            return;
+        }
+        // flipping the sign bit makes the key compare correctly as unsigned, flipping the rest reverses it
+        int mask = reversed ? 0x7FFFFFFF : 0x80000000;
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++) {
+            @SuppressWarnings("unchecked")
+            T element = (T) elements[i];
+            int k = key.applyAsInt(element) ^ mask;
+            packed[i] = ((long) k << 32) | i;
+        }
+        radixSortHighBits(packed);
+
+        ListIterator<T> it = list.listIterator();
+        for (long p : packed) {
+            @SuppressWarnings("unchecked")
+            T element = (T) elements[(int) p];
+            it.next();
+            it.set(element);
+        }
+    }
+
+    // LSD radix sort on bits 32..63, four passes of 8 bits, skipping passes where every byte is equal.
+    static void radixSortHighBits(long[] a) {
+        long[] src = a;
+        long[] dst = new long[a.length];
+        int[] count = new int[257];
+        for (int shift = 32; shift < 64; shift += 8) {
+            Arrays.fill(count, 0);
+            for (long v : src) {
+                count[(int) ((v >>> shift) & 0xFF) + 1]++;
+            }
+            if (count[(int) ((src[0] >>> shift) & 0xFF) + 1] == src.length) {
+                continue;
+            }
+            for (int r = 0; r < 256; r++) {
+                count[r + 1] += count[r];
+            }
+            for (long v : src) {
+                dst[count[(int) ((v >>> shift) & 0xFF)]++] = v;
+            }
+            long[] temp = src;
+            src = dst;
+            dst = temp;
+        }
+        if (src != a) {
+            System.arraycopy(src, 0, a, 0, a.length);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.collections.list;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.PrimitiveIterator;
 
 public class LinkedListExample {
 
@@ -35,5 +36,18 @@ public class LinkedListExample {
         for (int number : numbers) {
             System.out.println(number);
         }
+
+        // Same operations on primitive ints, no Integer boxing
+        IntArrayList ids = IntArrayList.of(10, 20, 30, 10);
+        System.out.println("First id: " + ids.get(0));
+        ids.removeValue(20);
+        System.out.println("After removing 20: " + ids);
+        if (ids.contains(30)) {
+            System.out.println("30 is in the list.");
+        }
+        PrimitiveIterator.OfInt iterator = ids.iterator();
+        while (iterator.hasNext()) {
+            System.out.println(iterator.nextInt());
+        }
     }
 }
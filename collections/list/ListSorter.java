@@ -0,0 +1,197 @@
+package com.collections.list;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+
+/**
+ * Sorting paths for large lists. Every sort here is stable and takes a reversed flag,
+ * reversed meaning descending order while equal elements keep their original order.
+ *
+ *   parallelSort      - Arrays.parallelSort (parallel merge sort) over the list contents, any Comparator
+ *   radixSort(String) - MSD radix sort on UTF-16 code units, same order as String.compareTo
+ *   radixSort(int)    - LSD radix sort, 4 passes of 8 bits
+ */
+public final class ListSorter {
+
+    // below this many elements a bucket is finished with insertion sort
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+    // 256 byte values plus one bucket for "string ended"
+    private static final int STRING_RADIX = 257;
+    // deeper than this many bucket splits a range is finished with a merge sort, bounding the stack
+    private static final int MAX_RADIX_DEPTH = 64;
+
+    private ListSorter() {
+    }
+
+    // ---------------- objects ----------------
+
+    public static <T extends Comparable<? super T>> void parallelSort(List<T> list, boolean reversed) {
+        parallelSort(list, reversed ? Collections.reverseOrder() : Comparator.naturalOrder());
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> void parallelSort(List<T> list, Comparator<? super T> comparator) {
+        T[] array = (T[]) list.toArray();
+        Arrays.parallelSort(array, comparator);
+        writeBack(list, array);
+    }
+
+    // ---------------- strings ----------------
+
+    public static void radixSort(List<String> list, boolean reversed) {
+        String[] array = list.toArray(new String[0]);
+        radixSort(array, reversed);
+        writeBack(list, array);
+    }
+
+    public static void radixSort(String[] a, boolean reversed) {
+        for (String s : a) {
+            if (s == null) {
+                throw new NullPointerException("radixSort does not accept null elements");
+            }
+        }
+        String[] aux = new String[a.length];
+        msd(a, aux, 0, a.length, 0, 0, reversed);
+    }
+
+    // Each char is two digits (high byte, low byte), so one pass only needs 257 counters, not 65537.
+    private static int digit(String s, int d, boolean reversed) {
+        int charIndex = d >>> 1;
+        int key;
+        if (charIndex >= s.length()) {
+            key = 0;
+        } else {
+            char c = s.charAt(charIndex);
+            key = ((d & 1) == 0 ? c >>> 8 : c & 0xFF) + 1;
+        }
+        return reversed ? STRING_RADIX - 1 - key : key;
+    }
+
+    private static void msd(String[] a, String[] aux, int from, int to, int d, int depth, boolean reversed) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(a, from, to, d >>> 1, reversed);
+            return;
+        }
+        if (depth > MAX_RADIX_DEPTH) {
+            int charOffset = d >>> 1;
+            Arrays.sort(a, from, to, (x, y) -> compareFrom(x, y, charOffset, reversed));
+            return;
+        }
+        int[] count = new int[STRING_RADIX + 1];
+        int ended = reversed ? STRING_RADIX - 1 : 0;
+        while (true) {
+            Arrays.fill(count, 0);
+            int first = digit(a[from], d, reversed);
+            boolean shared = first != ended;
+            for (int i = from; i < to; i++) {
+                int digit = digit(a[i], d, reversed);
+                count[digit + 1]++;
+                shared &= digit == first;
+            }
+            // a common prefix digit splits nothing, step over it here rather than recursing per digit
+            if (!shared) {
+                break;
+            }
+            d++;
+        }
+        for (int r = 0; r < STRING_RADIX; r++) {
+            count[r + 1] += count[r];
+        }
+        int[] start = Arrays.copyOf(count, STRING_RADIX);
+        for (int i = from; i < to; i++) {
+            aux[count[digit(a[i], d, reversed)]++] = a[i];
+        }
+        System.arraycopy(aux, 0, a, from, to - from);
+        // the "string ended" bucket is already fully sorted, recurse into the others
+        for (int r = 0; r < STRING_RADIX; r++) {
+            if (r != ended && count[r] - start[r] > 1) {
+                msd(a, aux, from + start[r], from + count[r], d + 1, depth + 1, reversed);
+            }
+        }
+    }
+
+    // All strings in [from, to) share the first charOffset chars, compare from there.
+    private static void insertionSort(String[] a, int from, int to, int charOffset, boolean reversed) {
+        for (int i = from + 1; i < to; i++) {
+            String v = a[i];
+            int j = i - 1;
+            while (j >= from && compareFrom(a[j], v, charOffset, reversed) > 0) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = v;
+        }
+    }
+
+    private static int compareFrom(String x, String y, int offset, boolean reversed) {
+        int n = Math.min(x.length(), y.length());
+        int result = 0;
+        for (int i = offset; i < n && result == 0; i++) {
+            result = x.charAt(i) - y.charAt(i);
+        }
+        if (result == 0) {
+            result = x.length() - y.length();
+        }
+        return reversed ? -result : result;
+    }
+
+    // ---------------- ints ----------------
+
+    public static void radixSortIntegers(List<Integer> list, boolean reversed) {
+        int[] array = new int[list.size()];
+        int i = 0;
+        for (Integer value : list) {
+            array[i++] = value;
+        }
+        radixSort(array, reversed);
+        ListIterator<Integer> it = list.listIterator();
+        for (int value : array) {
+            it.next();
+            it.set(value);
+        }
+    }
+
+    /** LSD radix sort. The sign bit is flipped so negatives sort first, all bits are flipped for reversed. */
+    public static void radixSort(int[] a, boolean reversed) {
+        if (a.length < 2) {
+            return;
+        }
+        int mask = reversed ? 0x7FFFFFFF : 0x80000000;
+        int[] src = a;
+        int[] dst = new int[a.length];
+        int[] count = new int[257];
+        for (int shift = 0; shift < 32; shift += 8) {
+            Arrays.fill(count, 0);
+            for (int v : src) {
+                count[(((v ^ mask) >>> shift) & 0xFF) + 1]++;
+            }
+            // a pass where every element has the same byte would just copy, skip it
+            if (count[(((src[0] ^ mask) >>> shift) & 0xFF) + 1] == src.length) {
+                continue;
+            }
+            for (int r = 0; r < 256; r++) {
+                count[r + 1] += count[r];
+            }
+            for (int v : src) {
+                dst[count[((v ^ mask) >>> shift) & 0xFF]++] = v;
+            }
+            int[] temp = src;
+            src = dst;
+            dst = temp;
+        }
+        if (src != a) {
+            System.arraycopy(src, 0, a, 0, a.length);
+        }
+    }
+
+    private static <T> void writeBack(List<T> list, T[] array) {
+        ListIterator<T> it = list.listIterator();
+        for (T value : array) {
+            it.next();
+            it.set(value);
+        }
+    }
+}
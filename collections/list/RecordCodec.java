@@ -0,0 +1,20 @@
+package com.collections.list;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Binary format of a record type for {@link ExternalSorter}: the int sort key plus how to write and
+ * read the rest of the record. The sorter stores the key itself, so write leaves it out and read gets
+ * it back as a parameter. read must consume exactly what write produced.
+ */
+public interface RecordCodec<T> {
+
+    int key(T record);
+
+    /** Writes everything except the key. */
+    void write(T record, DataOutput out) throws IOException;
+
+    T read(int key, DataInput in) throws IOException;
+}
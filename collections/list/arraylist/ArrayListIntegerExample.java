@@ -1,5 +1,7 @@
 package com.collections.list.arraylist;
 
+import com.collections.list.IntArrayList;
+
 import java.util.ArrayList;
 
 public class ArrayListIntegerExample {
@@ -21,5 +23,15 @@ public class ArrayListIntegerExample {
         numbers.remove(0);
 
         System.out.println("Updated number list" + numbers);
+
+        //Same operations on primitive ints, no Integer boxing
+        IntArrayList ids = new IntArrayList();
+        ids.add(10);
+        ids.add(18);
+        ids.add(16);
+        ids.add(14);
+        ids.set(1, 19);
+        ids.remove(0);
+        System.out.println("Updated id list" + ids);
     }
 }
@@ -1,5 +1,8 @@
 package com.collections.list.arraylist;
 
+import com.collections.list.IndexedList;
+import com.collections.set.BloomFilter;
+
 import java.util.ArrayList;
 
 public class ArrayListSearchExample {
@@ -19,5 +22,22 @@ public class ArrayListSearchExample {
         } else {
             System.out.println(searchCity + " is not in the list");
         }
+
+        //Indexed list: contains / indexOf use a hash index instead of a linear scan
+        IndexedList<String> indexedCities = new IndexedList<>(cities);
+        System.out.println(searchCity + " is at index " + indexedCities.indexOf(searchCity));
+
+        //Frozen snapshot for read-mostly data: sorted once, binary search afterwards
+        IndexedList.Frozen<String> frozenCities = indexedCities.freeze();
+        System.out.println("Chicago is at index " + frozenCities.indexOf("Chicago"));
+
+        //Bloom filter as a negative pre-check: a miss skips the linear scan of the list entirely
+        BloomFilter<String> cityFilter = BloomFilter.of(cities, 1_000, 0.01);
+        String missingCity = "Boston";
+        if (cityFilter.mightContain(missingCity) && cities.contains(missingCity)) {
+            System.out.println(missingCity + " is found in the list.");
+        } else {
+            System.out.println(missingCity + " is not in the list");
+        }
     }
 }
@@ -1,5 +1,7 @@
 package com.collections.list.arraylist;
 
+import com.collections.list.ListSorter;
+
 import java.util.*;
 
 
@@ -18,5 +20,16 @@ public class ArrayListSortingExample {
 
         // Printing the sorted ArrayList
         System.out.println("Sorted names: " + names);
+
+        // Same order with the radix sort for strings, then ascending with the parallel merge sort
+        ListSorter.radixSort(names, true);
+        System.out.println("Radix sorted names: " + names);
+        ListSorter.parallelSort(names, false);
+        System.out.println("Parallel sorted names: " + names);
+
+        // LSD radix sort for primitive ints
+        int[] ages = {30, 24, 20, 41, 18};
+        ListSorter.radixSort(ages, true);
+        System.out.println("Radix sorted ages: " + Arrays.toString(ages));
     }
 }
@@ -1,5 +1,8 @@
 package com.collections.list.arraylist;
 
+import com.collections.list.ExternalSorter;
+
+import java.io.IOException;
 import java.util.ArrayList;
 
 public class Person {
@@ -11,13 +14,21 @@ public class Person {
         this.age = age;
     }
 
+    public String getName() {
+        return name;
+    }
+
+    public int getAge() {
+        return age;
+    }
+
     @Override
     public String toString() {
         return name + " " + age + " Years old";
     }
 }
 class ArrayListCustomObject {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
 
         // Creating an ArrayList of Person objects
         ArrayList<Person> people = new ArrayList<>();
@@ -31,5 +42,16 @@ class ArrayListCustomObject {
         for(Person person : people) {
             System.out.println(person);
         }
+
+        // Same people in a columnar store, iterated through a flyweight cursor
+        PersonStore store = PersonStore.from(people);
+        store.forEach(person -> System.out.println(person.getName() + " is " + person.getAge()));
+        System.out.println("Average age : " + store.averageAge());
+
+        // Sorted by age through an external merge sort; small inputs never touch the disk
+        ExternalSorter<Person> sorter = new ExternalSorter<>(PersonCodec.INSTANCE, 1 << 20);
+        try (ExternalSorter.Sorted<Person> byAge = sorter.sort(people.iterator())) {
+            byAge.forEachRemaining(System.out::println);
+        }
     }
 }
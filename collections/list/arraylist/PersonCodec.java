@@ -0,0 +1,38 @@
+package com.collections.list.arraylist;
+
+import com.collections.list.RecordCodec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Binary form of a Person for ExternalSorter, sorted by age.
+ * The age travels as the key, the payload is the name as a presence flag followed by modified UTF-8.
+ */
+public final class PersonCodec implements RecordCodec<Person> {
+
+    public static final PersonCodec INSTANCE = new PersonCodec();
+
+    private PersonCodec() {
+    }
+
+    @Override
+    public int key(Person person) {
+        return person.getAge();
+    }
+
+    @Override
+    public void write(Person person, DataOutput out) throws IOException {
+        out.writeBoolean(person.getName() != null);
+        if (person.getName() != null) {
+            out.writeUTF(person.getName());
+        }
+    }
+
+    @Override
+    public Person read(int age, DataInput in) throws IOException {
+        String name = in.readBoolean() ? in.readUTF() : null;
+        return new Person(name, age);
+    }
+}
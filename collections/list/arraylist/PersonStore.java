@@ -0,0 +1,112 @@
+package com.collections.list.arraylist;
+
+import com.collections.list.IntNameColumns;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Columnar store of people: ages in an int[], names packed in a shared char arena.
+ * Iterate with a {@link Cursor}, a reusable flyweight with the same getters as Person.
+ */
+public class PersonStore {
+
+    private final IntNameColumns columns;
+
+    public PersonStore() {
+        this.columns = new IntNameColumns();
+    }
+
+    public PersonStore(int expectedPeople) {
+        this.columns = new IntNameColumns(expectedPeople, expectedPeople * 16);
+    }
+
+    public static PersonStore from(List<Person> people) {
+        PersonStore store = new PersonStore(people.size());
+        for (Person person : people) {
+            store.add(person.getName(), person.getAge());
+        }
+        return store;
+    }
+
+    public int add(CharSequence name, int age) {
+        return columns.add(age, name);
+    }
+
+    public int size() {
+        return columns.size();
+    }
+
+    public Person toPerson(int index) {
+        return new Person(columns.name(index), columns.value(index));
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    public void forEach(Consumer<Cursor> action) {
+        Cursor cursor = new Cursor();
+        while (cursor.next()) {
+            action.accept(cursor);
+        }
+    }
+
+    /** Average age straight off the age column, no cursor needed. */
+    public double averageAge() {
+        int[] ages = columns.valueColumn();
+        long sum = 0;
+        for (int i = 0; i < columns.size(); i++) {
+            sum += ages[i];
+        }
+        return columns.size() == 0 ? 0 : (double) sum / columns.size();
+    }
+
+    public final class Cursor {
+        private int index = -1;
+        private IntNameColumns.NameView nameView;
+
+        public boolean next() {
+            if (index + 1 >= columns.size()) {
+                return false;
+            }
+            index++;
+            return true;
+        }
+
+        public Cursor moveTo(int index) {
+            if (index < 0 || index >= columns.size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + columns.size());
+            }
+            this.index = index;
+            return this;
+        }
+
+        /** Decodes a new String on every call; in loops use nameEquals, nameLength or getNameView instead. */
+        public String getName() {
+            return columns.name(index);
+        }
+
+        /** The name without copying it. The one view is repointed on every call, so read it before moving on. */
+        public CharSequence getNameView() {
+            return nameView == null ? nameView = columns.nameView(index) : nameView.moveTo(index);
+        }
+
+        public int nameLength() {
+            return columns.nameLength(index);
+        }
+
+        public int getAge() {
+            return columns.value(index);
+        }
+
+        public boolean nameEquals(CharSequence name) {
+            return columns.nameEquals(index, name);
+        }
+
+        @Override
+        public String toString() {
+            return columns.appendName(index, new StringBuilder()).append(' ').append(getAge()).append(" Years old").toString();
+        }
+    }
+}
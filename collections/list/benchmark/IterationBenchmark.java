@@ -0,0 +1,158 @@
+package com.collections.list.benchmark;
+
+import com.array.benchmark.BenchmarkHarness;
+import com.collections.list.ChunkedList;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Spliterator;
+
+/**
+ * Measures what the iteration patterns used in ArrayListExample and LinkedListExample cost at scale:
+ * indexed for, enhanced for and an explicit Iterator, plus forEach, spliterator and stream,
+ * over ArrayList, LinkedList, ArrayDeque, unmodifiable lists and ChunkedList. Every loop sums the
+ * elements so nothing can be optimised away, and allocation per operation is reported next to the time.
+ *
+ * Run with:
+ *   java -Xmx4g com.collections.list.benchmark.IterationBenchmark
+ *        [--sizes 10,1000,...] [--save results.txt] [--baseline results.txt]
+ *
+ * Indexed access on LinkedList is O(n^2), so it is only measured up to LINKED_INDEXED_LIMIT elements.
+ * ArrayDeque has no get(i) and is skipped for the indexed loop.
+ */
+public class IterationBenchmark {
+
+    static final int[] DEFAULT_SIZES = {10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000};
+    static final int LINKED_INDEXED_LIMIT = 100_000;
+
+    enum Strategy {
+        INDEXED_FOR,
+        ENHANCED_FOR,
+        ITERATOR,
+        FOR_EACH,
+        SPLITERATOR,
+        STREAM;
+
+        long sum(Collection<Integer> values) {
+            switch (this) {
+                case INDEXED_FOR -> {
+                    List<Integer> list = (List<Integer>) values;
+                    long sum = 0;
+                    for (int i = 0; i < list.size(); i++) {
+                        sum += list.get(i);
+                    }
+                    return sum;
+                }
+                case ENHANCED_FOR -> {
+                    long sum = 0;
+                    for (Integer value : values) {
+                        sum += value;
+                    }
+                    return sum;
+                }
+                case ITERATOR -> {
+                    long sum = 0;
+                    Iterator<Integer> iterator = values.iterator();
+                    while (iterator.hasNext()) {
+                        sum += iterator.next();
+                    }
+                    return sum;
+                }
+                case FOR_EACH -> {
+                    long[] sum = new long[1];
+                    values.forEach(value -> sum[0] += value);
+                    return sum[0];
+                }
+                case SPLITERATOR -> {
+                    long[] sum = new long[1];
+                    Spliterator<Integer> spliterator = values.spliterator();
+                    spliterator.forEachRemaining(value -> sum[0] += value);
+                    return sum[0];
+                }
+                case STREAM -> {
+                    return values.stream().mapToLong(Integer::longValue).sum();
+                }
+                default -> throw new AssertionError(this);
+            }
+        }
+    }
+
+    enum Kind {
+        ARRAY_LIST,
+        LINKED_LIST,
+        ARRAY_DEQUE,
+        UNMODIFIABLE_LIST,
+        LIST_COPY_OF,
+        CHUNKED_LIST;
+
+        Collection<Integer> create(List<Integer> source) {
+            return switch (this) {
+                case ARRAY_LIST -> new ArrayList<>(source);
+                case LINKED_LIST -> new LinkedList<>(source);
+                case ARRAY_DEQUE -> new ArrayDeque<>(source);
+                case UNMODIFIABLE_LIST -> Collections.unmodifiableList(new ArrayList<>(source));
+                case LIST_COPY_OF -> List.copyOf(source);
+                case CHUNKED_LIST -> new ChunkedList<>(source);
+            };
+        }
+
+        boolean supports(Strategy strategy, int size) {
+            if (strategy != Strategy.INDEXED_FOR) {
+                return true;
+            }
+            return this != ARRAY_DEQUE && (this != LINKED_LIST || size <= LINKED_INDEXED_LIMIT);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int[] sizes = DEFAULT_SIZES;
+        Path save = null;
+        Path baseline = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--sizes" -> {
+                    String[] parts = args[++i].split(",");
+                    sizes = new int[parts.length];
+                    for (int p = 0; p < parts.length; p++) {
+                        sizes[p] = Integer.parseInt(parts[p].trim());
+                    }
+                }
+                case "--save" -> save = Path.of(args[++i]);
+                case "--baseline" -> baseline = Path.of(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown argument " + args[i]);
+            }
+        }
+
+        BenchmarkHarness harness = new BenchmarkHarness().profileAllocation();
+        System.out.println(BenchmarkHarness.header(true));
+        for (int size : sizes) {
+            List<Integer> source = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                source.add(i);
+            }
+            for (Kind kind : Kind.values()) {
+                Collection<Integer> values = kind.create(source);
+                for (Strategy strategy : Strategy.values()) {
+                    if (kind.supports(strategy, size)) {
+                        harness.measure(kind + "." + strategy, String.valueOf(size),
+                                () -> BenchmarkHarness.consume(strategy.sum(values)));
+                    }
+                }
+            }
+        }
+
+        if (save != null) {
+            harness.save(save);
+        }
+        if (baseline != null) {
+            harness.compare(baseline);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.collections.list.examples;
 
+import com.collections.list.ChunkedList;
+
 import java.util.*;
 public class LinkedListExample {
     public static void main(String[] args) {
@@ -23,5 +25,16 @@ public class LinkedListExample {
         while(iterator.hasNext()) {
             System.out.println(iterator.next());
         }
+        System.out.println("=========================");
+
+        // ChunkedList: get(i) is a block lookup, so the indexed loop above is no longer O(n^2),
+        // and it is also a Deque like LinkedList
+        ChunkedList<String> chunked = new ChunkedList<>(linkedList);
+        chunked.addFirst("Kiwi");
+        chunked.addLast("Grape");
+        for(int i = 0; i < chunked.size(); i++){
+            System.out.println(chunked.get(i));
+        }
+        System.out.println("First: " + chunked.peekFirst() + ", last: " + chunked.peekLast());
     }
 }
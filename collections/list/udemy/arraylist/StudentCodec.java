@@ -0,0 +1,38 @@
+package com.collections.list.udemy.arraylist;
+
+import com.collections.list.RecordCodec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Binary form of a Student for ExternalSorter: sorted by id, the same order as compareTo.
+ * The id travels as the key, the payload is the name as a presence flag followed by modified UTF-8.
+ */
+public final class StudentCodec implements RecordCodec<Student> {
+
+    public static final StudentCodec INSTANCE = new StudentCodec();
+
+    private StudentCodec() {
+    }
+
+    @Override
+    public int key(Student student) {
+        return student.getId();
+    }
+
+    @Override
+    public void write(Student student, DataOutput out) throws IOException {
+        out.writeBoolean(student.getName() != null);
+        if (student.getName() != null) {
+            out.writeUTF(student.getName());
+        }
+    }
+
+    @Override
+    public Student read(int id, DataInput in) throws IOException {
+        String name = in.readBoolean() ? in.readUTF() : null;
+        return new Student(id, name);
+    }
+}
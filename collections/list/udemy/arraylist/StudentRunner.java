@@ -1,11 +1,16 @@
 package com.collections.list.udemy.arraylist;
 
+import com.collections.list.ExternalSorter;
+import com.collections.list.KeyRadixSort;
+
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 public class StudentRunner {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         List<Student> student = List.of(new Student(301, "Roshan Saple"),
                 new Student(201, "Rohan Khanna"),
                 new Student(101, "Rakesh Sharma"));
@@ -15,5 +20,38 @@ public class StudentRunner {
         Collections.sort(studentsAl);
         System.out.println(studentsAl);
 
+        //reverse of compareTo order, radix sorted on the extracted ids
+        List<Student> byIdDescending = new ArrayList<>(student);
+        KeyRadixSort.sort(byIdDescending, Student::getId, true);
+        System.out.println(byIdDescending);
+
+        //columnar copy, iterated without creating Student objects
+        StudentStore store = StudentStore.from(studentsAl);
+        StudentStore.Cursor cursor = store.cursor();
+        while (cursor.next()) {
+            System.out.println(cursor.getId() + " " + cursor.getName());
+        }
+
+        //external merge sort: a 64 KB budget spills the 20000 students to sorted temp runs, merged on read
+        ExternalSorter<Student> sorter = new ExternalSorter<>(StudentCodec.INSTANCE, 64 * 1024);
+        Random random = new Random(42);
+        List<Student> many = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            many.add(new Student(random.nextInt(1_000_000), "Student " + i));
+        }
+        try (ExternalSorter.Sorted<Student> sorted = sorter.sort(many.iterator())) {
+            int previous = Integer.MIN_VALUE;
+            int count = 0;
+            while (sorted.hasNext()) {
+                Student next = sorted.next();
+                if (next.getId() < previous) {
+                    throw new AssertionError("out of order at " + count);
+                }
+                previous = next.getId();
+                count++;
+            }
+            System.out.println(count + " students sorted through " + sorted.runCount() + " runs");
+        }
+
     }
 }
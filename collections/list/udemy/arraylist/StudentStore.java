@@ -0,0 +1,120 @@
+package com.collections.list.udemy.arraylist;
+
+import com.collections.list.IntNameColumns;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Columnar store of students: ids in an int[], names packed in a shared char arena.
+ * Iterate with a {@link Cursor}, a single reusable flyweight exposing the same getters as Student,
+ * so existing code can walk millions of students without materialising a Student per record.
+ */
+public class StudentStore {
+
+    private final IntNameColumns columns;
+
+    public StudentStore() {
+        this.columns = new IntNameColumns();
+    }
+
+    public StudentStore(int expectedStudents) {
+        this.columns = new IntNameColumns(expectedStudents, expectedStudents * 16);
+    }
+
+    public static StudentStore from(List<Student> students) {
+        StudentStore store = new StudentStore(students.size());
+        for (Student student : students) {
+            store.add(student.getId(), student.getName());
+        }
+        return store;
+    }
+
+    public int add(int id, CharSequence name) {
+        return columns.add(id, name);
+    }
+
+    public int size() {
+        return columns.size();
+    }
+
+    public int getId(int index) {
+        return columns.value(index);
+    }
+
+    public String getName(int index) {
+        return columns.name(index);
+    }
+
+    public Student toStudent(int index) {
+        return new Student(columns.value(index), columns.name(index));
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /** Calls action once per student with the same cursor positioned on it. */
+    public void forEach(Consumer<Cursor> action) {
+        Cursor cursor = new Cursor();
+        while (cursor.next()) {
+            action.accept(cursor);
+        }
+    }
+
+    public final class Cursor {
+        private int index = -1;
+        private IntNameColumns.NameView nameView;
+
+        public boolean next() {
+            if (index + 1 >= columns.size()) {
+                return false;
+            }
+            index++;
+            return true;
+        }
+
+        public Cursor moveTo(int index) {
+            if (index < 0 || index >= columns.size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + columns.size());
+            }
+            this.index = index;
+            return this;
+        }
+
+        public int index() {
+            return index;
+        }
+
+        public int getId() {
+            return columns.value(index);
+        }
+
+        public void setId(int id) {
+            columns.setValue(index, id);
+        }
+
+        /** Decodes a new String on every call; in loops use nameEquals, nameLength or getNameView instead. */
+        public String getName() {
+            return columns.name(index);
+        }
+
+        /** The name without copying it. The one view is repointed on every call, so read it before moving on. */
+        public CharSequence getNameView() {
+            return nameView == null ? nameView = columns.nameView(index) : nameView.moveTo(index);
+        }
+
+        public int nameLength() {
+            return columns.nameLength(index);
+        }
+
+        public boolean nameEquals(CharSequence name) {
+            return columns.nameEquals(index, name);
+        }
+
+        @Override
+        public String toString() {
+            return columns.appendName(index, new StringBuilder("Student : " + " id : " + getId() + "    Name : ")).toString();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.collections.set;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+
+/**
+ * Bloom filter: a bit array of m bits and k probe positions per element.
+ *
+ * Sized from the expected number of insertions n and the target false positive rate p:
+ * m = -n ln p / (ln 2)^2 bits and k = m / n ln 2 probes, about 9.6 bits per element at 1%.
+ * The k positions come from one 64 bit hash split in two halves, h1 + i * h2 (Kirsch-Mitzenmacher),
+ * so an add or lookup hashes the element once. Removal is not supported, use {@link CuckooFilter}.
+ */
+public class BloomFilter<E> implements MembershipFilter<E> {
+
+    private static final int MAGIC = 0x424C4F4D; // "BLOM"
+
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashFunctions;
+    private final ToLongFunction<? super E> hasher;
+    private long insertions;
+
+    private BloomFilter(long[] bits, int hashFunctions, ToLongFunction<? super E> hasher) {
+        this.bits = bits;
+        this.bitCount = (long) bits.length * Long.SIZE;
+        this.hashFunctions = hashFunctions;
+        this.hasher = hasher;
+    }
+
+    public static <E> BloomFilter<E> create(long expectedInsertions, double fpp) {
+        return create(expectedInsertions, fpp, MembershipFilter::hash);
+    }
+
+    public static <E> BloomFilter<E> create(long expectedInsertions, double fpp, ToLongFunction<? super E> hasher) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions must be positive: " + expectedInsertions);
+        }
+        if (!(fpp > 0 && fpp < 1)) {
+            throw new IllegalArgumentException("fpp must be in (0, 1): " + fpp);
+        }
+        long m = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        long words = Math.max(1, (m + 63) >>> 6);
+        if (words > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Filter too large for " + expectedInsertions + " insertions at " + fpp);
+        }
+        int k = Math.max(1, (int) Math.round((double) m / expectedInsertions * Math.log(2)));
+        return new BloomFilter<>(new long[(int) words], k, Objects.requireNonNull(hasher));
+    }
+
+    public static <E> BloomFilter<E> of(Iterable<? extends E> elements, long expectedInsertions, double fpp) {
+        BloomFilter<E> filter = create(expectedInsertions, fpp);
+        for (E e : elements) {
+            filter.add(e);
+        }
+        return filter;
+    }
+
+    /** Always records the element and returns true; past the expected insertions only the false positive rate grows. */
+    @Override
+    public boolean add(E element) {
+        long h = hasher.applyAsLong(element);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            long index = index(h1 + (long) i * h2);
+            bits[(int) (index >>> 6)] |= 1L << index;
+        }
+        insertions++;
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean mightContain(Object element) {
+        long h = hasher.applyAsLong((E) element);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            long index = index(h1 + (long) i * h2);
+            if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long index(long combined) {
+        // flip negative values instead of Math.abs so Long.MIN_VALUE cannot stay negative
+        return (combined < 0 ? ~combined : combined) % bitCount;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(bits, 0);
+        insertions = 0;
+    }
+
+    @Override
+    public double expectedFpp() {
+        long set = 0;
+        for (long word : bits) {
+            set += Long.bitCount(word);
+        }
+        return Math.pow((double) set / bitCount, hashFunctions);
+    }
+
+    public long bitSize() {
+        return bitCount;
+    }
+
+    public int hashFunctions() {
+        return hashFunctions;
+    }
+
+    public long insertions() {
+        return insertions;
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(hashFunctions);
+        data.writeLong(insertions);
+        data.writeInt(bits.length);
+        writeWords(data, bits);
+        data.flush();
+    }
+
+    // bulk copies through a byte[] instead of one writeLong / readLong call per word
+    static void writeWords(DataOutputStream out, long[] words) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8 * 8192);
+        for (int i = 0; i < words.length; i += 8192) {
+            int n = Math.min(8192, words.length - i);
+            buffer.clear();
+            buffer.asLongBuffer().put(words, i, n);
+            out.write(buffer.array(), 0, 8 * n);
+        }
+    }
+
+    static long[] readWords(DataInputStream in, int count) throws IOException {
+        if (count < 0) {
+            throw new IOException("Corrupt filter, negative length " + count);
+        }
+        long[] words = new long[count];
+        byte[] chunk = new byte[8 * 8192];
+        for (int i = 0; i < count; i += 8192) {
+            int n = Math.min(8192, count - i);
+            in.readFully(chunk, 0, 8 * n);
+            ByteBuffer.wrap(chunk, 0, 8 * n).asLongBuffer().get(words, i, n);
+        }
+        return words;
+    }
+
+    public static <E> BloomFilter<E> readFrom(InputStream in) throws IOException {
+        return readFrom(in, MembershipFilter::hash);
+    }
+
+    /** Reads a filter written by {@link #writeTo}; the hasher must be the one it was built with. */
+    public static <E> BloomFilter<E> readFrom(InputStream in, ToLongFunction<? super E> hasher) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a serialized BloomFilter");
+        }
+        int k = data.readInt();
+        long insertions = data.readLong();
+        long[] bits = readWords(data, data.readInt());
+        BloomFilter<E> filter = new BloomFilter<>(bits, k, Objects.requireNonNull(hasher));
+        filter.insertions = insertions;
+        return filter;
+    }
+}
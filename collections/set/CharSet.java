@@ -0,0 +1,74 @@
+package com.collections.set;
+
+/**
+ * Set of primitive chars, an {@link IntSet} underneath so there is no Character box per entry.
+ */
+public class CharSet {
+
+    private final IntSet set;
+
+    public CharSet() {
+        this(SetOrder.HASH);
+    }
+
+    public CharSet(SetOrder order) {
+        this.set = new IntSet(order);
+    }
+
+    public static CharSet of(SetOrder order, CharSequence chars) {
+        CharSet set = new CharSet(order);
+        for (int i = 0; i < chars.length(); i++) {
+            set.add(chars.charAt(i));
+        }
+        return set;
+    }
+
+    public SetOrder order() {
+        return set.order();
+    }
+
+    public int size() {
+        return set.size();
+    }
+
+    public boolean isEmpty() {
+        return set.isEmpty();
+    }
+
+    public boolean add(char c) {
+        return set.add(c);
+    }
+
+    public boolean contains(char c) {
+        return set.contains(c);
+    }
+
+    public boolean remove(char c) {
+        return set.remove(c);
+    }
+
+    public void clear() {
+        set.clear();
+    }
+
+    public char[] toArray() {
+        int[] values = set.toArray();
+        char[] chars = new char[values.length];
+        for (int i = 0; i < values.length; i++) {
+            chars[i] = (char) values[i];
+        }
+        return chars;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (char c : toArray()) {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(c);
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,281 @@
+package com.collections.set;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+
+/**
+ * Cuckoo filter (Fan et al.): a table of buckets with 4 fingerprint slots each, where every element
+ * has two candidate buckets i1 and i2 = i1 ^ hash(fingerprint). Because i2 can be computed from i1 and
+ * the fingerprint alone, entries can be moved between their two buckets without the original element,
+ * and a fingerprint can be deleted again, which a Bloom filter cannot do.
+ *
+ * Fingerprints are f = ceil(log2(8 / p)) bits, packed into a long[] so no bits are wasted, and the
+ * table is sized for a 95% load. Inserting beyond the expected number of elements eventually makes
+ * add return false: the filter is full and has to be rebuilt bigger.
+ *
+ * Only remove elements that were added, otherwise the fingerprint of a colliding element may be deleted.
+ * Adding an element twice stores two copies (at most 8), which remove deletes one at a time.
+ */
+public class CuckooFilter<E> implements MembershipFilter<E> {
+
+    private static final int MAGIC = 0x434B4F4F; // "CKOO"
+    private static final int SLOTS = 4;
+    private static final int MAX_KICKS = 500;
+    private static final double LOAD = 0.95;
+
+    private final long[] table;
+    private final int fingerprintBits;
+    private final long fingerprintMask;
+    private final int bucketMask;
+    private final ToLongFunction<? super E> hasher;
+    private long size;
+    // fingerprint that could not be placed after MAX_KICKS moves, kept so no element is lost
+    private int victimBucket;
+    private long victimFingerprint;
+    private long kickSeed = 0x2545F4914F6CDD1DL;
+
+    private CuckooFilter(long[] table, int buckets, int fingerprintBits, ToLongFunction<? super E> hasher) {
+        this.table = table;
+        this.fingerprintBits = fingerprintBits;
+        this.fingerprintMask = (1L << fingerprintBits) - 1;
+        this.bucketMask = buckets - 1;
+        this.hasher = hasher;
+    }
+
+    public static <E> CuckooFilter<E> create(long expectedInsertions, double fpp) {
+        return create(expectedInsertions, fpp, MembershipFilter::hash);
+    }
+
+    public static <E> CuckooFilter<E> create(long expectedInsertions, double fpp, ToLongFunction<? super E> hasher) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions must be positive: " + expectedInsertions);
+        }
+        if (!(fpp > 0 && fpp < 1)) {
+            throw new IllegalArgumentException("fpp must be in (0, 1): " + fpp);
+        }
+        // a lookup compares against 2 buckets * 4 slots, each matching with probability 2^-f
+        int f = (int) Math.ceil(Math.log(2.0 * SLOTS / fpp) / Math.log(2));
+        f = Math.max(4, Math.min(32, f));
+        long needed = (long) Math.ceil(expectedInsertions / (SLOTS * LOAD));
+        long buckets = Long.highestOneBit(Math.max(2, needed - 1)) << 1;
+        if (buckets > (1L << 30)) {
+            throw new IllegalArgumentException("Filter too large for " + expectedInsertions + " insertions");
+        }
+        long words = (buckets * SLOTS * f + 63) >>> 6;
+        return new CuckooFilter<>(new long[(int) words], (int) buckets, f, Objects.requireNonNull(hasher));
+    }
+
+    /** Returns false when the filter is full and the element could not be stored. */
+    @Override
+    public boolean add(E element) {
+        if (victimFingerprint != 0) {
+            return false;
+        }
+        long h = hasher.applyAsLong(element);
+        long fp = fingerprint(h);
+        int i1 = (int) h & bucketMask;
+        int i2 = altIndex(i1, fp);
+        if (insert(i1, fp) || insert(i2, fp)) {
+            size++;
+            return true;
+        }
+        // both buckets full: evict a random entry and move it to its other bucket, repeatedly
+        int bucket = nextRandom() % 2 == 0 ? i1 : i2;
+        for (int kick = 0; kick < MAX_KICKS; kick++) {
+            int slot = nextRandom() & (SLOTS - 1);
+            long evicted = read(bucket, slot);
+            write(bucket, slot, fp);
+            fp = evicted;
+            bucket = altIndex(bucket, fp);
+            if (insert(bucket, fp)) {
+                size++;
+                return true;
+            }
+        }
+        victimBucket = bucket;
+        victimFingerprint = fp;
+        size++;
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean mightContain(Object element) {
+        long h = hasher.applyAsLong((E) element);
+        long fp = fingerprint(h);
+        int i1 = (int) h & bucketMask;
+        int i2 = altIndex(i1, fp);
+        return find(i1, fp) >= 0 || find(i2, fp) >= 0
+                || (victimFingerprint == fp && (victimBucket == i1 || victimBucket == i2));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean remove(Object element) {
+        long h = hasher.applyAsLong((E) element);
+        long fp = fingerprint(h);
+        int i1 = (int) h & bucketMask;
+        int i2 = altIndex(i1, fp);
+        if (victimFingerprint == fp && (victimBucket == i1 || victimBucket == i2)) {
+            victimFingerprint = 0;
+            size--;
+            return true;
+        }
+        for (int bucket : new int[]{i1, i2}) {
+            int slot = find(bucket, fp);
+            if (slot >= 0) {
+                write(bucket, slot, 0);
+                size--;
+                reinsertVictim();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean canRemove() {
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(table, 0);
+        victimFingerprint = 0;
+        size = 0;
+    }
+
+    @Override
+    public double expectedFpp() {
+        // each occupied slot in the two probed buckets matches a random fingerprint with probability 2^-f
+        double load = (double) size / ((bucketMask + 1L) * SLOTS);
+        return 1 - Math.pow(1 - 1.0 / (fingerprintMask), 2.0 * SLOTS * load);
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public int fingerprintBits() {
+        return fingerprintBits;
+    }
+
+    public int buckets() {
+        return bucketMask + 1;
+    }
+
+    public boolean isFull() {
+        return victimFingerprint != 0;
+    }
+
+    private void reinsertVictim() {
+        if (victimFingerprint != 0 && insert(victimBucket, victimFingerprint)) {
+            victimFingerprint = 0;
+        }
+    }
+
+    private long fingerprint(long h) {
+        long fp = (h >>> 32) & fingerprintMask;
+        return fp == 0 ? 1 : fp; // 0 marks an empty slot
+    }
+
+    private int altIndex(int bucket, long fp) {
+        return (bucket ^ (int) MembershipFilter.hash(fp)) & bucketMask;
+    }
+
+    private boolean insert(int bucket, long fp) {
+        for (int slot = 0; slot < SLOTS; slot++) {
+            if (read(bucket, slot) == 0) {
+                write(bucket, slot, fp);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int find(int bucket, long fp) {
+        for (int slot = 0; slot < SLOTS; slot++) {
+            if (read(bucket, slot) == fp) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    // slot values are fingerprintBits wide and may straddle two longs
+    private long read(int bucket, int slot) {
+        long bit = ((long) bucket * SLOTS + slot) * fingerprintBits;
+        int word = (int) (bit >>> 6);
+        int offset = (int) (bit & 63);
+        long value = table[word] >>> offset;
+        if (offset + fingerprintBits > 64) {
+            value |= table[word + 1] << (64 - offset);
+        }
+        return value & fingerprintMask;
+    }
+
+    private void write(int bucket, int slot, long fp) {
+        long bit = ((long) bucket * SLOTS + slot) * fingerprintBits;
+        int word = (int) (bit >>> 6);
+        int offset = (int) (bit & 63);
+        table[word] = (table[word] & ~(fingerprintMask << offset)) | (fp << offset);
+        if (offset + fingerprintBits > 64) {
+            int spill = 64 - offset;
+            table[word + 1] = (table[word + 1] & ~(fingerprintMask >>> spill)) | (fp >>> spill);
+        }
+    }
+
+    // xorshift, only used to pick which entry to evict
+    private int nextRandom() {
+        kickSeed ^= kickSeed << 13;
+        kickSeed ^= kickSeed >>> 7;
+        kickSeed ^= kickSeed << 17;
+        return (int) (kickSeed >>> 33);
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(fingerprintBits);
+        data.writeInt(bucketMask + 1);
+        data.writeLong(size);
+        data.writeInt(victimBucket);
+        data.writeLong(victimFingerprint);
+        data.writeInt(table.length);
+        BloomFilter.writeWords(data, table);
+        data.flush();
+    }
+
+    public static <E> CuckooFilter<E> readFrom(InputStream in) throws IOException {
+        return readFrom(in, MembershipFilter::hash);
+    }
+
+    /** Reads a filter written by {@link #writeTo}; the hasher must be the one it was built with. */
+    public static <E> CuckooFilter<E> readFrom(InputStream in, ToLongFunction<? super E> hasher) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a serialized CuckooFilter");
+        }
+        int f = data.readInt();
+        int buckets = data.readInt();
+        long size = data.readLong();
+        int victimBucket = data.readInt();
+        long victimFingerprint = data.readLong();
+        long[] table = BloomFilter.readWords(data, data.readInt());
+        if (f < 4 || f > 32 || Integer.bitCount(buckets) != 1 || table.length != ((long) buckets * SLOTS * f + 63) >>> 6) {
+            throw new IOException("Corrupt CuckooFilter header");
+        }
+        CuckooFilter<E> filter = new CuckooFilter<>(table, buckets, f, Objects.requireNonNull(hasher));
+        filter.size = size;
+        filter.victimBucket = victimBucket;
+        filter.victimFingerprint = victimFingerprint;
+        return filter;
+    }
+}
@@ -0,0 +1,130 @@
+package com.collections.set;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Objects;
+
+/**
+ * Collection view that asks a {@link MembershipFilter} before the wrapped collection's contains.
+ * When most lookups are misses, the filter answers them from a few bits or fingerprints and the
+ * hashing / equals (or linear scan, for a List) of the wrapped collection only runs for hits and
+ * the occasional false positive.
+ *
+ * All changes must go through this view so the filter stays in sync. Removing with a
+ * {@link BloomFilter} leaves the element's bits set: lookups stay correct, but the false positive
+ * rate drifts up until the filter is rebuilt. A {@link CuckooFilter} removes the fingerprint too.
+ *
+ * If the filter rejects an add (a full CuckooFilter, e.g. more than 8 copies of one element in a List),
+ * the view stops consulting it and every lookup goes to the wrapped collection, so contains never gives
+ * a false negative. {@link #isFiltering()} reports this; clear() empties both and resumes filtering.
+ */
+public class FilteredCollection<E> extends AbstractCollection<E> {
+
+    private final Collection<E> delegate;
+    private final MembershipFilter<? super E> filter;
+    private boolean filtering = true;
+    private long lookups;
+    private long filtered;
+
+    /** Wraps delegate and adds its current elements to filter. */
+    public FilteredCollection(Collection<E> delegate, MembershipFilter<? super E> filter) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.filter = Objects.requireNonNull(filter);
+        for (E e : delegate) {
+            record(e);
+        }
+    }
+
+    private void record(E e) {
+        if (filtering && !filter.add(e)) {
+            filtering = false;
+        }
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        lookups++;
+        if (filtering && !filter.mightContain(o)) {
+            filtered++;
+            return false;
+        }
+        return delegate.contains(o);
+    }
+
+    @Override
+    public boolean add(E e) {
+        if (delegate.add(e)) {
+            record(e);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if ((filtering && !filter.mightContain(o)) || !delegate.remove(o)) {
+            return false;
+        }
+        if (filtering && filter.canRemove()) {
+            filter.remove(o);
+        }
+        return true;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        Iterator<E> it = delegate.iterator();
+        return new Iterator<>() {
+            private E last;
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public E next() {
+                return last = it.next();
+            }
+
+            @Override
+            public void remove() {
+                it.remove();
+                if (filtering && filter.canRemove()) {
+                    filter.remove(last);
+                }
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        filter.clear();
+        filtering = true;
+    }
+
+    public MembershipFilter<? super E> filter() {
+        return filter;
+    }
+
+    /** False once the filter rejected an add; lookups then bypass it until clear(). */
+    public boolean isFiltering() {
+        return filtering;
+    }
+
+    /** Number of contains calls answered by the filter alone. */
+    public long filteredLookups() {
+        return filtered;
+    }
+
+    public long lookups() {
+        return lookups;
+    }
+}
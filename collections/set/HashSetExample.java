@@ -12,5 +12,20 @@ public class HashSetExample {
         for(int i = 0; i<hashSet.size(); i++){
 
         }
+
+        //Open addressing set with cached hashes, no HashMap.Node per entry
+        StringSet stringSet = new StringSet();
+        stringSet.add("Apple");
+        stringSet.add("Banana");
+        stringSet.add("Cherry");
+        System.out.println("StringSet : " + stringSet + " contains Banana : " + stringSet.contains("Banana"));
+
+        //Cuckoo filter in front of the set: misses are answered without hashing into the HashSet,
+        //and removals also remove the fingerprint
+        FilteredCollection<String> filtered = new FilteredCollection<>(hashSet, CuckooFilter.create(1_000, 0.01));
+        filtered.remove("Banana");
+        System.out.println("Filtered contains Banana : " + filtered.contains("Banana")
+                + ", Cherry : " + filtered.contains("Cherry")
+                + ", answered by filter : " + filtered.filteredLookups() + "/" + filtered.lookups());
     }
 }
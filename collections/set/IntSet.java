@@ -0,0 +1,267 @@
+package com.collections.set;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+
+/**
+ * Set of primitive ints using open addressing with linear probing.
+ *
+ * Values live in a dense int[] in insertion order; the hash table is an int[] of slots holding
+ * (dense index + 1), 0 meaning empty. That is roughly 12 bytes per value at the default load factor,
+ * against ~48 for a HashSet<Integer> entry plus its box, and a probe walks adjacent ints instead of
+ * chasing node pointers. Removed values leave a hole in the dense array that is compacted away once
+ * holes make up half of it, so insertion order survives removals.
+ *
+ * The {@link SetOrder} only decides the iteration order: HASH and INSERTION both walk the dense array,
+ * SORTED walks a sorted copy that is rebuilt lazily after a modification.
+ */
+public class IntSet {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private final SetOrder order;
+    private int[] slots;
+    private int[] values;
+    private long[] removed;
+    private int used;      // dense entries handed out, including holes
+    private int size;      // live values
+    private int[] sorted;  // cache for SORTED iteration, null when stale
+
+    public IntSet() {
+        this(SetOrder.HASH);
+    }
+
+    public IntSet(SetOrder order) {
+        this(order, MIN_CAPACITY);
+    }
+
+    public IntSet(SetOrder order, int expectedSize) {
+        this.order = order;
+        int capacity = tableSizeFor(Math.max(expectedSize, MIN_CAPACITY / 2));
+        this.slots = new int[capacity];
+        this.values = new int[capacity / 2];
+        this.removed = new long[(capacity / 2 + 63) >>> 6];
+    }
+
+    public static IntSet of(SetOrder order, int... values) {
+        IntSet set = new IntSet(order, values.length);
+        for (int v : values) {
+            set.add(v);
+        }
+        return set;
+    }
+
+    public SetOrder order() {
+        return order;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int value) {
+        return findSlot(value) >= 0;
+    }
+
+    /** Returns false if the value was already present. */
+    public boolean add(int value) {
+        int mask = slots.length - 1;
+        int i = mix(value) & mask;
+        int s;
+        while ((s = slots[i]) != 0) {
+            if (values[s - 1] == value) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        if (used == values.length) {
+            // grow (or just compact) and retry, the slot index found above is no longer valid
+            rehash(size + 1);
+            return add(value);
+        }
+        values[used] = value;
+        slots[i] = ++used;
+        size++;
+        sorted = null;
+        return true;
+    }
+
+    public boolean remove(int value) {
+        int slot = findSlot(value);
+        if (slot < 0) {
+            return false;
+        }
+        int dense = slots[slot] - 1;
+        removed[dense >>> 6] |= 1L << dense;
+        deleteSlot(slot);
+        size--;
+        sorted = null;
+        if (used - size > used / 2 && used > MIN_CAPACITY) {
+            rehash(size);
+        }
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(slots, 0);
+        Arrays.fill(removed, 0);
+        used = 0;
+        size = 0;
+        sorted = null;
+    }
+
+    /** Smallest value, the set does not need to be SORTED. */
+    public int first() {
+        int[] s = sortedValues();
+        if (s.length == 0) {
+            throw new NoSuchElementException();
+        }
+        return s[0];
+    }
+
+    public int last() {
+        int[] s = sortedValues();
+        if (s.length == 0) {
+            throw new NoSuchElementException();
+        }
+        return s[s.length - 1];
+    }
+
+    public void forEach(IntConsumer action) {
+        if (order == SetOrder.SORTED) {
+            for (int v : sortedValues()) {
+                action.accept(v);
+            }
+            return;
+        }
+        for (int i = 0; i < used; i++) {
+            if (!isRemoved(i)) {
+                action.accept(values[i]);
+            }
+        }
+    }
+
+    /** Values in this set's iteration order. */
+    public int[] toArray() {
+        if (order == SetOrder.SORTED) {
+            return sortedValues().clone();
+        }
+        int[] result = new int[size];
+        int n = 0;
+        for (int i = 0; i < used; i++) {
+            if (!isRemoved(i)) {
+                result[n++] = values[i];
+            }
+        }
+        return result;
+    }
+
+    private int[] sortedValues() {
+        if (sorted == null) {
+            int[] copy = new int[size];
+            int n = 0;
+            for (int i = 0; i < used; i++) {
+                if (!isRemoved(i)) {
+                    copy[n++] = values[i];
+                }
+            }
+            Arrays.sort(copy);
+            sorted = copy;
+        }
+        return sorted;
+    }
+
+    private int findSlot(int value) {
+        int mask = slots.length - 1;
+        int i = mix(value) & mask;
+        int s;
+        while ((s = slots[i]) != 0) {
+            if (values[s - 1] == value) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    // Backward shift deletion: pull later entries of the probe run into the gap so lookups never need tombstones.
+    private void deleteSlot(int gap) {
+        int mask = slots.length - 1;
+        int j = gap;
+        while (true) {
+            j = (j + 1) & mask;
+            int s = slots[j];
+            if (s == 0) {
+                break;
+            }
+            int home = mix(values[s - 1]) & mask;
+            // move s into the gap if its home is not cyclically within (gap, j]
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                slots[gap] = s;
+                gap = j;
+            }
+        }
+        slots[gap] = 0;
+    }
+
+    private boolean isRemoved(int dense) {
+        return (removed[dense >>> 6] & (1L << dense)) != 0;
+    }
+
+    // Compacts the dense array (dropping holes, keeping order) and rebuilds the table for at least minSize values.
+    private void rehash(int minSize) {
+        int capacity = tableSizeFor(Math.max(minSize, MIN_CAPACITY / 2));
+        int[] newValues = new int[capacity / 2];
+        int n = 0;
+        for (int i = 0; i < used; i++) {
+            if (!isRemoved(i)) {
+                newValues[n++] = values[i];
+            }
+        }
+        values = newValues;
+        slots = new int[capacity];
+        removed = new long[(capacity / 2 + 63) >>> 6];
+        used = n;
+        int mask = capacity - 1;
+        for (int d = 0; d < n; d++) {
+            int i = mix(values[d]) & mask;
+            while (slots[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            slots[i] = d + 1;
+        }
+    }
+
+    // table is kept at most half full: capacity is the next power of two >= 2 * size
+    private static int tableSizeFor(int size) {
+        int capacity = Integer.highestOneBit(Math.max(1, size * 2 - 1)) << 1;
+        return Math.max(capacity, MIN_CAPACITY);
+    }
+
+    // murmur3 finaliser, spreads sequential ids over the whole table
+    static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        forEach(v -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(v);
+        });
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,53 @@
+package com.collections.set;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Probabilistic set membership: {@link #mightContain} never returns false for an added element,
+ * and returns true for an element that was never added with (about) the configured false positive rate.
+ * Meant as a cheap negative pre-check in front of an expensive contains, see {@link FilteredCollection}.
+ *
+ * Elements are hashed through a 64 bit hash function; the default one mixes hashCode(), so it is
+ * only stable across JVM runs (as needed by {@link #writeTo}) for types with a value based hashCode,
+ * like String, the boxed primitives and records of those.
+ */
+public interface MembershipFilter<E> {
+
+    /**
+     * Records element. Returns false when the filter is full and the element could not be recorded;
+     * mightContain may then answer false for it, so a caller that needs no false negatives has to
+     * rebuild the filter larger or stop consulting it (as {@link FilteredCollection} does).
+     */
+    boolean add(E element);
+
+    boolean mightContain(Object element);
+
+    /** Removes one previously added occurrence. Only filters that answer true to canRemove() support it. */
+    default boolean remove(Object element) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support removal");
+    }
+
+    default boolean canRemove() {
+        return false;
+    }
+
+    void clear();
+
+    /** False positive probability estimated from the current fill of the filter. */
+    double expectedFpp();
+
+    /** Writes the filter state in a compact binary form, read back by the matching readFrom. */
+    void writeTo(OutputStream out) throws IOException;
+
+    /** Default element hash: hashCode() spread over 64 bits with the murmur3 fmix64 finaliser. */
+    static long hash(Object element) {
+        long h = element.hashCode() * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
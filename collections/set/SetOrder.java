@@ -0,0 +1,13 @@
+package com.collections.set;
+
+/**
+ * Iteration order of the primitive sets, matching the three java.util flavours SetRunner shows.
+ */
+public enum SetOrder {
+    /** No particular order, like HashSet. */
+    HASH,
+    /** Order of first insertion, like LinkedHashSet. */
+    INSERTION,
+    /** Ascending order, like TreeSet. */
+    SORTED
+}
@@ -1,9 +1,12 @@
 package com.collections.set;
 
+import com.collections.set.concurrent.LockFreeSkipListSet;
+import com.collections.set.roaring.RoaringBitmap;
+
 import java.util.*;
 
 public class SetRunner {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws InterruptedException {
 
         List<Character> character = List.of('A', 'Z', 'A', 'B', 'F', 'G');
         //Unique - Set
@@ -18,5 +21,41 @@ public class SetRunner {
         System.out.println("TreeSet Ouput :" + treeSet);
         System.out.println("LinkedHashSet Ouput :" + linkedHashSet);
         System.out.println("HashSet Ouput :" + hashSet);
+
+        //Same three flavours without boxing each Character
+        CharSet sortedChars = new CharSet(SetOrder.SORTED);
+        CharSet insertionChars = new CharSet(SetOrder.INSERTION);
+        CharSet hashChars = new CharSet(SetOrder.HASH);
+        for (char c : character) {
+            sortedChars.add(c);
+            insertionChars.add(c);
+            hashChars.add(c);
+        }
+        System.out.println("CharSet SORTED Ouput :" + sortedChars);
+        System.out.println("CharSet INSERTION Ouput :" + insertionChars);
+        System.out.println("CharSet HASH Ouput :" + hashChars);
+
+        //Dense int ids: compressed bitmap, a range of 100M ids is ~1500 runs instead of 100M boxed Integers
+        RoaringBitmap active = RoaringBitmap.range(0, 100_000_000);
+        RoaringBitmap premium = RoaringBitmap.range(40_000_000, 160_000_000);
+        premium.add(7);
+        RoaringBitmap activePremium = RoaringBitmap.and(active, premium);
+        System.out.println("Active premium ids : " + activePremium.getCardinality()
+                + " first " + activePremium.first() + " in " + activePremium.serializedSizeInBytes() + " bytes");
+        System.out.println("Active, not premium : " + RoaringBitmap.andNot(active, premium).getCardinality());
+
+        //Sorted set shared by several writer threads, no lock around it like synchronizedSortedSet needs
+        LockFreeSkipListSet<Character> concurrentChars = new LockFreeSkipListSet<>();
+        Thread[] writers = new Thread[3];
+        for (int t = 0; t < writers.length; t++) {
+            writers[t] = new Thread(() -> character.forEach(concurrentChars::add));
+            writers[t].start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        System.out.println("LockFreeSkipListSet Ouput :" + concurrentChars
+                + " floor('C') : " + concurrentChars.floor('C') + " ceiling('C') : " + concurrentChars.ceiling('C'));
+        System.out.println("headSet('F') : " + concurrentChars.headSet('F') + " descending : " + concurrentChars.descendingSet());
     }
 }
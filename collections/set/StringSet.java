@@ -0,0 +1,237 @@
+package com.collections.set;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Set of Strings using open addressing with linear probing, same layout as {@link IntSet}:
+ * a dense String[] in insertion order, a parallel int[] of precomputed hash codes and an int[] table of slots.
+ * A probe compares the cached int hash first and only calls equals on a hash match,
+ * and there is no HashMap.Node per entry.
+ *
+ * Lookups also accept any CharSequence (e.g. a StringBuilder or a CharBuffer slice) without creating a String.
+ */
+public class StringSet {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private final SetOrder order;
+    private int[] slots;
+    private String[] values;
+    private int[] hashes;
+    private int used;
+    private int size;
+    private String[] sorted;
+
+    public StringSet() {
+        this(SetOrder.HASH);
+    }
+
+    public StringSet(SetOrder order) {
+        this(order, MIN_CAPACITY);
+    }
+
+    public StringSet(SetOrder order, int expectedSize) {
+        this.order = order;
+        int capacity = tableSizeFor(Math.max(expectedSize, MIN_CAPACITY / 2));
+        this.slots = new int[capacity];
+        this.values = new String[capacity / 2];
+        this.hashes = new int[capacity / 2];
+    }
+
+    public SetOrder order() {
+        return order;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(CharSequence value) {
+        return findSlot(value, hash(value)) >= 0;
+    }
+
+    public boolean add(String value) {
+        int h = value.hashCode();
+        int mask = slots.length - 1;
+        int i = IntSet.mix(h) & mask;
+        int s;
+        while ((s = slots[i]) != 0) {
+            if (hashes[s - 1] == h && value.equals(values[s - 1])) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        if (used == values.length) {
+            rehash(size + 1);
+            return add(value);
+        }
+        values[used] = value;
+        hashes[used] = h;
+        slots[i] = ++used;
+        size++;
+        sorted = null;
+        return true;
+    }
+
+    public boolean remove(CharSequence value) {
+        int slot = findSlot(value, hash(value));
+        if (slot < 0) {
+            return false;
+        }
+        // a null in the dense array marks a removed entry
+        values[slots[slot] - 1] = null;
+        deleteSlot(slot);
+        size--;
+        sorted = null;
+        if (used - size > used / 2 && used > MIN_CAPACITY) {
+            rehash(size);
+        }
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(slots, 0);
+        Arrays.fill(values, 0, used, null);
+        used = 0;
+        size = 0;
+        sorted = null;
+    }
+
+    public void forEach(Consumer<String> action) {
+        if (order == SetOrder.SORTED) {
+            for (String v : sortedValues()) {
+                action.accept(v);
+            }
+            return;
+        }
+        for (int i = 0; i < used; i++) {
+            if (values[i] != null) {
+                action.accept(values[i]);
+            }
+        }
+    }
+
+    /** Values in this set's iteration order. */
+    public String[] toArray() {
+        if (order == SetOrder.SORTED) {
+            return sortedValues().clone();
+        }
+        String[] result = new String[size];
+        int n = 0;
+        for (int i = 0; i < used; i++) {
+            if (values[i] != null) {
+                result[n++] = values[i];
+            }
+        }
+        return result;
+    }
+
+    private String[] sortedValues() {
+        if (sorted == null) {
+            String[] copy = new String[size];
+            int n = 0;
+            for (int i = 0; i < used; i++) {
+                if (values[i] != null) {
+                    copy[n++] = values[i];
+                }
+            }
+            Arrays.sort(copy);
+            sorted = copy;
+        }
+        return sorted;
+    }
+
+    private int findSlot(CharSequence value, int h) {
+        int mask = slots.length - 1;
+        int i = IntSet.mix(h) & mask;
+        int s;
+        while ((s = slots[i]) != 0) {
+            if (hashes[s - 1] == h && contentEquals(values[s - 1], value)) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void deleteSlot(int gap) {
+        int mask = slots.length - 1;
+        int j = gap;
+        while (true) {
+            j = (j + 1) & mask;
+            int s = slots[j];
+            if (s == 0) {
+                break;
+            }
+            int home = IntSet.mix(hashes[s - 1]) & mask;
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                slots[gap] = s;
+                gap = j;
+            }
+        }
+        slots[gap] = 0;
+    }
+
+    private void rehash(int minSize) {
+        int capacity = tableSizeFor(Math.max(minSize, MIN_CAPACITY / 2));
+        String[] newValues = new String[capacity / 2];
+        int[] newHashes = new int[capacity / 2];
+        int n = 0;
+        for (int i = 0; i < used; i++) {
+            if (values[i] != null) {
+                newValues[n] = values[i];
+                newHashes[n++] = hashes[i];
+            }
+        }
+        values = newValues;
+        hashes = newHashes;
+        slots = new int[capacity];
+        used = n;
+        int mask = capacity - 1;
+        for (int d = 0; d < n; d++) {
+            int i = IntSet.mix(hashes[d]) & mask;
+            while (slots[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            slots[i] = d + 1;
+        }
+    }
+
+    private static int tableSizeFor(int size) {
+        int capacity = Integer.highestOneBit(Math.max(1, size * 2 - 1)) << 1;
+        return Math.max(capacity, MIN_CAPACITY);
+    }
+
+    // String.hashCode for any CharSequence, so lookups by StringBuilder etc. hit the same slot
+    static int hash(CharSequence cs) {
+        if (cs instanceof String) {
+            return cs.hashCode();
+        }
+        int h = 0;
+        for (int i = 0; i < cs.length(); i++) {
+            h = 31 * h + cs.charAt(i);
+        }
+        return h;
+    }
+
+    private static boolean contentEquals(String s, CharSequence cs) {
+        return cs instanceof String ? s.equals(cs) : s.contentEquals(cs);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        forEach(v -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(v);
+        });
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,454 @@
+package com.collections.set.concurrent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.PrimitiveIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+
+/**
+ * {@link LockFreeSkipListMap} specialised for primitive long keys: the same lock-free skip list,
+ * but keys are compared with a plain {@code <} and never boxed, so a put allocates only the node.
+ *
+ * Long.MIN_VALUE is reserved as {@link #NO_KEY}, the "no such key" result of the floor / ceiling
+ * methods, and cannot be used as a key. Null values are not allowed.
+ */
+public class LockFreeLongSkipListMap<V> {
+
+    static final int MAX_LEVEL = 32;
+
+    /** Returned by the floor / ceiling / first / last methods when there is no such key. */
+    public static final long NO_KEY = Long.MIN_VALUE;
+
+    static class Node<V> {
+        final long key;
+        volatile V value;
+        final Node<V>[] next;
+
+        Node(long key, V value, int levels) {
+            this.key = key;
+            this.value = value;
+            this.next = newNodeArray(levels);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static <V> Node<V>[] newNodeArray(int length) {
+        return (Node<V>[]) new Node[length];
+    }
+
+    // Stands in a next pointer of a deleted node; wraps the successor the pointer had when marked.
+    static final class Marker<V> extends Node<V> {
+        final Node<V> successor;
+
+        Marker(Node<V> successor) {
+            super(NO_KEY, null, 0);
+            this.successor = successor;
+        }
+    }
+
+    private static final VarHandle NEXT = MethodHandles.arrayElementVarHandle(Node[].class);
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(Node.class, "value", Object.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Node<V> head = new Node<>(NO_KEY, null, MAX_LEVEL);
+    private final LongAdder size = new LongAdder();
+    // highest level any node was linked on; searches start there instead of at MAX_LEVEL - 1
+    private final AtomicInteger topLevel = new AtomicInteger();
+
+    private static long checkKey(long key) {
+        if (key == NO_KEY) {
+            throw new IllegalArgumentException("Long.MIN_VALUE is reserved as NO_KEY");
+        }
+        return key;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> Node<V> next(Node<V> node, int level) {
+        return (Node<V>) NEXT.getVolatile(node.next, level);
+    }
+
+    private static <V> boolean casNext(Node<V> node, int level, Node<V> expect, Node<V> update) {
+        return NEXT.compareAndSet(node.next, level, expect, update);
+    }
+
+    // follows markers left behind by a deleted predecessor to the physical successor
+    private static <V> Node<V> skipMarkers(Node<V> node) {
+        while (node instanceof Marker<V> m) {
+            node = m.successor;
+        }
+        return node;
+    }
+
+    private static boolean isAlive(Node<?> node) {
+        return node.value != null && !(next(node, 0) instanceof Marker);
+    }
+
+    private static int randomLevel() {
+        // geometric with p = 1/2: level i+1 has half the nodes of level i
+        return Integer.numberOfTrailingZeros(ThreadLocalRandom.current().nextInt() | (1 << (MAX_LEVEL - 1)));
+    }
+
+    /**
+     * Fills preds / succs with the last node before key and the first node at or after key on every level,
+     * unlinking marked nodes on the way. Returns true when succs[0] holds key.
+     */
+    private boolean find(long key, Node<V>[] preds, Node<V>[] succs) {
+        retry:
+        while (true) {
+            Node<V> pred = head;
+            Node<V> curr = null;
+            for (int level = topLevel.get(); level >= 0; level--) {
+                curr = next(pred, level);
+                if (curr instanceof Marker) {
+                    continue retry; // pred was deleted under us
+                }
+                while (curr != null) {
+                    Node<V> succ = next(curr, level);
+                    while (succ instanceof Marker<V> m) {
+                        if (!casNext(pred, level, curr, m.successor)) {
+                            continue retry;
+                        }
+                        curr = m.successor;
+                        if (curr == null) {
+                            break;
+                        }
+                        succ = next(curr, level);
+                    }
+                    if (curr == null || curr.key >= key) {
+                        break;
+                    }
+                    pred = curr;
+                    curr = succ;
+                }
+                preds[level] = pred;
+                succs[level] = curr;
+            }
+            return curr != null && curr.key == key;
+        }
+    }
+
+    /** First bottom level node with a key at or after key, without unlinking anything. */
+    private Node<V> findGreaterOrEqual(long key) {
+        Node<V> pred = head;
+        Node<V> curr = null;
+        for (int level = topLevel.get(); level >= 0; level--) {
+            curr = skipMarkers(next(pred, level));
+            while (curr != null) {
+                Node<V> succ = next(curr, level);
+                while (succ instanceof Marker<V> m) {
+                    curr = m.successor;
+                    if (curr == null) {
+                        break;
+                    }
+                    succ = next(curr, level);
+                }
+                if (curr == null || curr.key >= key) {
+                    break;
+                }
+                pred = curr;
+                curr = succ;
+            }
+        }
+        return curr;
+    }
+
+    /** Last bottom level node with a key before key, or head. */
+    private Node<V> findLess(long key) {
+        Node<V> pred = head;
+        for (int level = topLevel.get(); level >= 0; level--) {
+            Node<V> curr = skipMarkers(next(pred, level));
+            while (curr != null && curr.key < key) {
+                Node<V> succ = next(curr, level);
+                if (!(succ instanceof Marker)) {
+                    pred = curr;
+                }
+                curr = skipMarkers(succ);
+            }
+        }
+        return pred;
+    }
+
+    public V get(long key) {
+        Node<V> node = findGreaterOrEqual(key);
+        return node != null && node.key == key ? node.value : null;
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /** Maps key to value and returns the previous value, or null. */
+    public V put(long key, V value) {
+        return doPut(key, value, false);
+    }
+
+    public V putIfAbsent(long key, V value) {
+        return doPut(key, value, true);
+    }
+
+    private V doPut(long key, V value, boolean onlyIfAbsent) {
+        checkKey(key);
+        Objects.requireNonNull(value);
+        Node<V>[] preds = newNodeArray(MAX_LEVEL);
+        Node<V>[] succs = newNodeArray(MAX_LEVEL);
+        int top = randomLevel();
+        if (top > topLevel.get()) {
+            topLevel.accumulateAndGet(top, Math::max);
+        }
+        while (true) {
+            if (find(key, preds, succs)) {
+                Node<V> node = succs[0];
+                V old = node.value;
+                if (old == null) {
+                    // a remover won the value CAS; finish its marking instead of waiting for it,
+                    // the next find then unlinks the node
+                    markDeleted(node);
+                    continue;
+                }
+                if (onlyIfAbsent || VALUE.compareAndSet(node, old, value)) {
+                    return old;
+                }
+                continue;
+            }
+            Node<V> node = new Node<>(key, value, top + 1);
+            for (int level = 0; level <= top; level++) {
+                node.next[level] = succs[level];
+            }
+            if (!casNext(preds[0], 0, succs[0], node)) {
+                continue;
+            }
+            size.increment();
+            linkUpperLevels(node, top, preds, succs);
+            return null;
+        }
+    }
+
+    // Marks every next pointer of a node whose value was CASed to null, top level first. Idempotent, so
+    // the remover and any put that finds the node half deleted can both run it.
+    private static <V> void markDeleted(Node<V> node) {
+        for (int level = node.next.length - 1; level >= 0; level--) {
+            while (true) {
+                Node<V> succ = next(node, level);
+                if (succ instanceof Marker || casNext(node, level, succ, new Marker<>(succ))) {
+                    break;
+                }
+            }
+        }
+    }
+
+    // The node is already in the map; the upper levels only speed up searches, so give up if it is removed.
+    private void linkUpperLevels(Node<V> node, int top, Node<V>[] preds, Node<V>[] succs) {
+        for (int level = 1; level <= top; level++) {
+            while (!casNext(preds[level], level, succs[level], node)) {
+                find(node.key, preds, succs);
+                Node<V> current = next(node, level);
+                if (current instanceof Marker || node.value == null || succs[0] != node) {
+                    return;
+                }
+                if (!casNext(node, level, current, succs[level])) {
+                    return; // marked in between
+                }
+            }
+        }
+    }
+
+    /** Removes key and returns its value, or null when it was absent. */
+    public V remove(long key) {
+        long k = key;
+        Node<V>[] preds = newNodeArray(MAX_LEVEL);
+        Node<V>[] succs = newNodeArray(MAX_LEVEL);
+        while (true) {
+            if (!find(k, preds, succs)) {
+                return null;
+            }
+            Node<V> node = succs[0];
+            V old = node.value;
+            if (old == null) {
+                return null; // another remover won
+            }
+            if (!VALUE.compareAndSet(node, old, null)) {
+                continue;
+            }
+            markDeleted(node);
+            size.decrement();
+            find(k, preds, succs); // physically unlinks the marked node
+            return old;
+        }
+    }
+
+    public long size() {
+        return size.sum();
+    }
+
+    public boolean isEmpty() {
+        return firstNode() == null;
+    }
+
+    private Node<V> firstNode() {
+        Node<V> node = skipMarkers(next(head, 0));
+        while (node != null && !isAlive(node)) {
+            node = skipMarkers(next(node, 0));
+        }
+        return node;
+    }
+
+    private Node<V> ceilingNode(long key, boolean inclusive) {
+        Node<V> node = findGreaterOrEqual(key);
+        while (node != null && (!isAlive(node) || (!inclusive && node.key == key))) {
+            node = skipMarkers(next(node, 0));
+        }
+        return node;
+    }
+
+    private Node<V> floorNode(long key, boolean inclusive) {
+        if (inclusive) {
+            Node<V> node = findGreaterOrEqual(key);
+            if (node != null && node.key == key && isAlive(node)) {
+                return node;
+            }
+        }
+        while (true) {
+            Node<V> node = findLess(key);
+            if (node == head) {
+                return null;
+            }
+            if (isAlive(node)) {
+                return node;
+            }
+            key = node.key; // removed meanwhile, look further left
+        }
+    }
+
+    /** Smallest key, or NO_KEY when empty. */
+    public long firstKey() {
+        Node<V> node = firstNode();
+        return node == null ? NO_KEY : node.key;
+    }
+
+    /** Largest key, or NO_KEY when empty. */
+    public long lastKey() {
+        Node<V> pred = head;
+        for (int level = topLevel.get(); level >= 0; level--) {
+            Node<V> curr = skipMarkers(next(pred, level));
+            while (curr != null) {
+                Node<V> succ = next(curr, level);
+                if (!(succ instanceof Marker)) {
+                    pred = curr;
+                }
+                curr = skipMarkers(succ);
+            }
+        }
+        if (pred != head && isAlive(pred)) {
+            return pred.key;
+        }
+        Node<V> node = pred == head ? null : floorNode(pred.key, false);
+        return node == null ? NO_KEY : node.key;
+    }
+
+    /** Greatest key less than or equal to key, or NO_KEY. */
+    public long floorKey(long key) {
+        Node<V> node = floorNode(key, true);
+        return node == null ? NO_KEY : node.key;
+    }
+
+    /** Greatest key strictly less than key, or NO_KEY. */
+    public long lowerKey(long key) {
+        Node<V> node = floorNode(key, false);
+        return node == null ? NO_KEY : node.key;
+    }
+
+    /** Least key greater than or equal to key, or NO_KEY. */
+    public long ceilingKey(long key) {
+        Node<V> node = ceilingNode(key, true);
+        return node == null ? NO_KEY : node.key;
+    }
+
+    /** Least key strictly greater than key, or NO_KEY. */
+    public long higherKey(long key) {
+        Node<V> node = ceilingNode(key, false);
+        return node == null ? NO_KEY : node.key;
+    }
+
+    /** Visits the entries with from <= key < to in key order. Weakly consistent. */
+    public void scan(long from, long to, KeyValueConsumer<? super V> action) {
+        for (Node<V> node = ceilingNode(from, true); node != null && node.key < to;
+             node = skipMarkers(next(node, 0))) {
+            V value = node.value;
+            if (value != null) {
+                action.accept(node.key, value);
+            }
+        }
+    }
+
+    public void forEach(KeyValueConsumer<? super V> action) {
+        for (Node<V> node = skipMarkers(next(head, 0)); node != null; node = skipMarkers(next(node, 0))) {
+            V value = node.value;
+            if (value != null) {
+                action.accept(node.key, value);
+            }
+        }
+    }
+
+    /** Visits the keys in order. Weakly consistent. */
+    public void forEachKey(LongConsumer action) {
+        for (Node<V> node = skipMarkers(next(head, 0)); node != null; node = skipMarkers(next(node, 0))) {
+            if (node.value != null) {
+                action.accept(node.key);
+            }
+        }
+    }
+
+    /** Weakly consistent iterator over the keys in order; remove() removes the last returned key. */
+    public PrimitiveIterator.OfLong keyIterator() {
+        return new PrimitiveIterator.OfLong() {
+            private Node<V> next = firstNode();
+            private long last = NO_KEY;
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public long nextLong() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                last = next.key;
+                Node<V> node = skipMarkers(LockFreeLongSkipListMap.next(next, 0));
+                while (node != null && node.value == null) {
+                    node = skipMarkers(LockFreeLongSkipListMap.next(node, 0));
+                }
+                next = node;
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                if (last == NO_KEY) {
+                    throw new IllegalStateException();
+                }
+                LockFreeLongSkipListMap.this.remove(last);
+                last = NO_KEY;
+            }
+        };
+    }
+
+    /** Receives a primitive key and its value. */
+    @FunctionalInterface
+    public interface KeyValueConsumer<V> {
+        void accept(long key, V value);
+    }
+}
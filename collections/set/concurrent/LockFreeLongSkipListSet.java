@@ -0,0 +1,80 @@
+package com.collections.set.concurrent;
+
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+
+/**
+ * Concurrent sorted set of primitive longs backed by a {@link LockFreeLongSkipListMap}: no boxing on add,
+ * contains or scans. Long.MIN_VALUE is reserved as {@link #NO_KEY}, which the floor / ceiling / first /
+ * last methods return when there is no such element.
+ */
+public class LockFreeLongSkipListSet {
+
+    public static final long NO_KEY = LockFreeLongSkipListMap.NO_KEY;
+
+    private final LockFreeLongSkipListMap<Boolean> map = new LockFreeLongSkipListMap<>();
+
+    public boolean add(long value) {
+        return map.putIfAbsent(value, Boolean.TRUE) == null;
+    }
+
+    public boolean remove(long value) {
+        return map.remove(value) != null;
+    }
+
+    public boolean contains(long value) {
+        return map.containsKey(value);
+    }
+
+    public long size() {
+        return map.size();
+    }
+
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    public long first() {
+        return map.firstKey();
+    }
+
+    public long last() {
+        return map.lastKey();
+    }
+
+    public long floor(long value) {
+        return map.floorKey(value);
+    }
+
+    public long lower(long value) {
+        return map.lowerKey(value);
+    }
+
+    public long ceiling(long value) {
+        return map.ceilingKey(value);
+    }
+
+    public long higher(long value) {
+        return map.higherKey(value);
+    }
+
+    /** Visits the values with from <= v < to in order. */
+    public void scan(long from, long to, LongConsumer action) {
+        map.scan(from, to, (key, present) -> action.accept(key));
+    }
+
+    public void forEach(LongConsumer action) {
+        map.forEachKey(action);
+    }
+
+    public PrimitiveIterator.OfLong iterator() {
+        return map.keyIterator();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        forEach(v -> sb.append(sb.length() > 1 ? ", " : "").append(v));
+        return sb.append(']').toString();
+    }
+}
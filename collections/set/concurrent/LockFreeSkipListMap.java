@@ -0,0 +1,768 @@
+package com.collections.set.concurrent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+/**
+ * Lock-free sorted map on a skip list, after the LockFreeSkipList of Herlihy and Shavit
+ * ("The Art of Multiprocessor Programming", ch. 14).
+ *
+ * Every node is linked into the bottom list and, with probability 2^-i, into list i as well, so a
+ * search skips ahead on the upper lists and does O(log n) steps. All updates are single CAS operations:
+ *   put    - links the new node bottom up; it is in the map once the bottom CAS succeeds
+ *   remove - CASes the value to null (that CAS decides which remover wins), then marks each next
+ *            pointer of the node by replacing it with a Marker that wraps the old successor
+ *   search - unlinks marked nodes it passes; get / floor / ceiling never write
+ * A marked pointer can no longer be CASed by an insert, so nothing is ever linked behind a deleted node.
+ *
+ * No operation blocks, so unlike Collections.synchronizedSortedMap(new TreeMap()) readers and writers on
+ * different parts of the key space do not serialize. Iteration, range scans and the subMap / headMap / tailMap
+ * views are weakly consistent, entries handed out by iterators are immutable snapshots, and size() is a
+ * LongAdder snapshot. Null keys and values are not allowed.
+ */
+public class LockFreeSkipListMap<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V>, SortedMap<K, V> {
+
+    static final int MAX_LEVEL = 32;
+
+    static class Node<K, V> {
+        final K key;
+        volatile V value;
+        final Node<K, V>[] next;
+
+        Node(K key, V value, int levels) {
+            this.key = key;
+            this.value = value;
+            this.next = newNodeArray(levels);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static <K, V> Node<K, V>[] newNodeArray(int length) {
+        return (Node<K, V>[]) new Node[length];
+    }
+
+    // Stands in a next pointer of a deleted node; wraps the successor the pointer had when marked.
+    static final class Marker<K, V> extends Node<K, V> {
+        final Node<K, V> successor;
+
+        Marker(Node<K, V> successor) {
+            super(null, null, 0);
+            this.successor = successor;
+        }
+    }
+
+    private static final VarHandle NEXT = MethodHandles.arrayElementVarHandle(Node[].class);
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(Node.class, "value", Object.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Node<K, V> head = new Node<>(null, null, MAX_LEVEL);
+    private final Comparator<? super K> comparator;
+    private final LongAdder size = new LongAdder();
+    // highest level any node was linked on; searches start there instead of at MAX_LEVEL - 1
+    private final AtomicInteger topLevel = new AtomicInteger();
+
+    /** Map ordered by the keys' natural ordering. */
+    public LockFreeSkipListMap() {
+        this(null);
+    }
+
+    public LockFreeSkipListMap(Comparator<? super K> comparator) {
+        this.comparator = comparator;
+    }
+
+    @SuppressWarnings("unchecked")
+    int compare(K a, K b) {
+        return comparator != null ? comparator.compare(a, b) : ((Comparable<? super K>) a).compareTo(b);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Node<K, V> next(Node<K, V> node, int level) {
+        return (Node<K, V>) NEXT.getVolatile(node.next, level);
+    }
+
+    private static <K, V> boolean casNext(Node<K, V> node, int level, Node<K, V> expect, Node<K, V> update) {
+        return NEXT.compareAndSet(node.next, level, expect, update);
+    }
+
+    // follows markers left behind by a deleted predecessor to the physical successor
+    private static <K, V> Node<K, V> skipMarkers(Node<K, V> node) {
+        while (node instanceof Marker<K, V> m) {
+            node = m.successor;
+        }
+        return node;
+    }
+
+    private static boolean isAlive(Node<?, ?> node) {
+        return node.value != null && !(next(node, 0) instanceof Marker);
+    }
+
+    private static int randomLevel() {
+        // geometric with p = 1/2: level i+1 has half the nodes of level i
+        return Integer.numberOfTrailingZeros(ThreadLocalRandom.current().nextInt() | (1 << (MAX_LEVEL - 1)));
+    }
+
+    /**
+     * Fills preds / succs with the last node before key and the first node at or after key on every level,
+     * unlinking marked nodes on the way. Returns true when succs[0] holds key.
+     */
+    private boolean find(K key, Node<K, V>[] preds, Node<K, V>[] succs) {
+        retry:
+        while (true) {
+            Node<K, V> pred = head;
+            Node<K, V> curr = null;
+            for (int level = topLevel.get(); level >= 0; level--) {
+                curr = next(pred, level);
+                if (curr instanceof Marker) {
+                    continue retry; // pred was deleted under us
+                }
+                while (curr != null) {
+                    Node<K, V> succ = next(curr, level);
+                    while (succ instanceof Marker<K, V> m) {
+                        if (!casNext(pred, level, curr, m.successor)) {
+                            continue retry;
+                        }
+                        curr = m.successor;
+                        if (curr == null) {
+                            break;
+                        }
+                        succ = next(curr, level);
+                    }
+                    if (curr == null || compare(curr.key, key) >= 0) {
+                        break;
+                    }
+                    pred = curr;
+                    curr = succ;
+                }
+                preds[level] = pred;
+                succs[level] = curr;
+            }
+            return curr != null && compare(curr.key, key) == 0;
+        }
+    }
+
+    /** First bottom level node with a key at or after key, without unlinking anything. */
+    private Node<K, V> findGreaterOrEqual(K key) {
+        Node<K, V> pred = head;
+        Node<K, V> curr = null;
+        for (int level = topLevel.get(); level >= 0; level--) {
+            curr = skipMarkers(next(pred, level));
+            while (curr != null) {
+                Node<K, V> succ = next(curr, level);
+                while (succ instanceof Marker<K, V> m) {
+                    curr = m.successor;
+                    if (curr == null) {
+                        break;
+                    }
+                    succ = next(curr, level);
+                }
+                if (curr == null || compare(curr.key, key) >= 0) {
+                    break;
+                }
+                pred = curr;
+                curr = succ;
+            }
+        }
+        return curr;
+    }
+
+    /** Last bottom level node with a key before key, or head. */
+    private Node<K, V> findLess(K key) {
+        Node<K, V> pred = head;
+        for (int level = topLevel.get(); level >= 0; level--) {
+            Node<K, V> curr = skipMarkers(next(pred, level));
+            while (curr != null && compare(curr.key, key) < 0) {
+                Node<K, V> succ = next(curr, level);
+                if (!(succ instanceof Marker)) {
+                    pred = curr;
+                }
+                curr = skipMarkers(succ);
+            }
+        }
+        return pred;
+    }
+
+    @Override
+    public V get(Object key) {
+        Node<K, V> node = findNode(key);
+        return node == null ? null : node.value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    // bottom level node holding key, possibly already removed
+    @SuppressWarnings("unchecked")
+    private Node<K, V> findNode(Object key) {
+        K k = (K) Objects.requireNonNull(key);
+        Node<K, V> node = findGreaterOrEqual(k);
+        return node != null && compare(node.key, k) == 0 ? node : null;
+    }
+
+    /** Maps key to value and returns the previous value, or null. */
+    @Override
+    public V put(K key, V value) {
+        return doPut(key, value, false);
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        return doPut(key, value, true);
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        Objects.requireNonNull(oldValue);
+        Objects.requireNonNull(newValue);
+        Node<K, V> node = findNode(key);
+        while (node != null) {
+            V current = node.value;
+            if (current == null || !current.equals(oldValue)) {
+                return false;
+            }
+            if (VALUE.compareAndSet(node, current, newValue)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        Objects.requireNonNull(value);
+        Node<K, V> node = findNode(key);
+        while (node != null) {
+            V current = node.value;
+            if (current == null || VALUE.compareAndSet(node, current, value)) {
+                return current;
+            }
+        }
+        return null;
+    }
+
+    private V doPut(K key, V value, boolean onlyIfAbsent) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        Node<K, V>[] preds = newNodeArray(MAX_LEVEL);
+        Node<K, V>[] succs = newNodeArray(MAX_LEVEL);
+        int top = randomLevel();
+        if (top > topLevel.get()) {
+            topLevel.accumulateAndGet(top, Math::max);
+        }
+        while (true) {
+            if (find(key, preds, succs)) {
+                Node<K, V> node = succs[0];
+                V old = node.value;
+                if (old == null) {
+                    // a remover won the value CAS; finish its marking instead of waiting for it,
+                    // the next find then unlinks the node
+                    markDeleted(node);
+                    continue;
+                }
+                if (onlyIfAbsent || VALUE.compareAndSet(node, old, value)) {
+                    return old;
+                }
+                continue;
+            }
+            Node<K, V> node = new Node<>(key, value, top + 1);
+            for (int level = 0; level <= top; level++) {
+                node.next[level] = succs[level];
+            }
+            if (!casNext(preds[0], 0, succs[0], node)) {
+                continue;
+            }
+            size.increment();
+            linkUpperLevels(node, top, preds, succs);
+            return null;
+        }
+    }
+
+    // Marks every next pointer of a node whose value was CASed to null, top level first. Idempotent, so
+    // the remover and any put that finds the node half deleted can both run it.
+    private static <K, V> void markDeleted(Node<K, V> node) {
+        for (int level = node.next.length - 1; level >= 0; level--) {
+            while (true) {
+                Node<K, V> succ = next(node, level);
+                if (succ instanceof Marker || casNext(node, level, succ, new Marker<>(succ))) {
+                    break;
+                }
+            }
+        }
+    }
+
+    // The node is already in the map; the upper levels only speed up searches, so give up if it is removed.
+    private void linkUpperLevels(Node<K, V> node, int top, Node<K, V>[] preds, Node<K, V>[] succs) {
+        for (int level = 1; level <= top; level++) {
+            while (!casNext(preds[level], level, succs[level], node)) {
+                find(node.key, preds, succs);
+                Node<K, V> current = next(node, level);
+                if (current instanceof Marker || node.value == null || succs[0] != node) {
+                    return;
+                }
+                if (!casNext(node, level, current, succs[level])) {
+                    return; // marked in between
+                }
+            }
+        }
+    }
+
+    /** Removes key and returns its value, or null when it was absent. */
+    @Override
+    public V remove(Object key) {
+        return doRemove(key, null);
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        return value != null && doRemove(key, value) != null;
+    }
+
+    // removes key when it maps to expected, or to anything when expected is null
+    @SuppressWarnings("unchecked")
+    private V doRemove(Object key, Object expected) {
+        K k = (K) Objects.requireNonNull(key);
+        Node<K, V>[] preds = newNodeArray(MAX_LEVEL);
+        Node<K, V>[] succs = newNodeArray(MAX_LEVEL);
+        while (true) {
+            if (!find(k, preds, succs)) {
+                return null;
+            }
+            Node<K, V> node = succs[0];
+            V old = node.value;
+            if (old == null) {
+                return null; // another remover won
+            }
+            if (expected != null && !expected.equals(old)) {
+                return null;
+            }
+            if (!VALUE.compareAndSet(node, old, null)) {
+                continue;
+            }
+            markDeleted(node);
+            size.decrement();
+            find(k, preds, succs); // physically unlinks the marked node
+            return old;
+        }
+    }
+
+    /** Snapshot of the number of mappings, saturated at Integer.MAX_VALUE; see {@link #mappingCount()}. */
+    @Override
+    public int size() {
+        return (int) Math.min(Integer.MAX_VALUE, mappingCount());
+    }
+
+    public long mappingCount() {
+        return size.sum();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return firstNode() == null;
+    }
+
+    private Node<K, V> firstNode() {
+        Node<K, V> node = skipMarkers(next(head, 0));
+        while (node != null && !isAlive(node)) {
+            node = skipMarkers(next(node, 0));
+        }
+        return node;
+    }
+
+    private Node<K, V> ceilingNode(K key, boolean inclusive) {
+        Node<K, V> node = findGreaterOrEqual(key);
+        while (node != null && (!isAlive(node) || (!inclusive && compare(node.key, key) == 0))) {
+            node = skipMarkers(next(node, 0));
+        }
+        return node;
+    }
+
+    private Node<K, V> floorNode(K key, boolean inclusive) {
+        if (inclusive) {
+            Node<K, V> node = findGreaterOrEqual(key);
+            if (node != null && compare(node.key, key) == 0 && isAlive(node)) {
+                return node;
+            }
+        }
+        while (true) {
+            Node<K, V> node = findLess(key);
+            if (node == head) {
+                return null;
+            }
+            if (isAlive(node)) {
+                return node;
+            }
+            key = node.key; // removed meanwhile, look further left
+        }
+    }
+
+    @Override
+    public Comparator<? super K> comparator() {
+        return comparator;
+    }
+
+    @Override
+    public K firstKey() {
+        return orElseThrow(firstKeyOrNull());
+    }
+
+    @Override
+    public K lastKey() {
+        return orElseThrow(lastKeyOrNull());
+    }
+
+    private static <K> K orElseThrow(K key) {
+        if (key == null) {
+            throw new NoSuchElementException();
+        }
+        return key;
+    }
+
+    K firstKeyOrNull() {
+        Node<K, V> node = firstNode();
+        return node == null ? null : node.key;
+    }
+
+    K lastKeyOrNull() {
+        Node<K, V> pred = head;
+        for (int level = topLevel.get(); level >= 0; level--) {
+            Node<K, V> curr = skipMarkers(next(pred, level));
+            while (curr != null) {
+                Node<K, V> succ = next(curr, level);
+                if (!(succ instanceof Marker)) {
+                    pred = curr;
+                }
+                curr = skipMarkers(succ);
+            }
+        }
+        if (pred != head && isAlive(pred)) {
+            return pred.key;
+        }
+        Node<K, V> node = pred == head ? null : floorNode(pred.key, false);
+        return node == null ? null : node.key;
+    }
+
+    /** Greatest key less than or equal to key, or null. */
+    public K floorKey(K key) {
+        Node<K, V> node = floorNode(Objects.requireNonNull(key), true);
+        return node == null ? null : node.key;
+    }
+
+    /** Greatest key strictly less than key, or null. */
+    public K lowerKey(K key) {
+        Node<K, V> node = floorNode(Objects.requireNonNull(key), false);
+        return node == null ? null : node.key;
+    }
+
+    /** Least key greater than or equal to key, or null. */
+    public K ceilingKey(K key) {
+        Node<K, V> node = ceilingNode(Objects.requireNonNull(key), true);
+        return node == null ? null : node.key;
+    }
+
+    /** Least key strictly greater than key, or null. */
+    public K higherKey(K key) {
+        Node<K, V> node = ceilingNode(Objects.requireNonNull(key), false);
+        return node == null ? null : node.key;
+    }
+
+    /** Visits the entries with from <= key < to in key order. Weakly consistent. */
+    public void scan(K from, K to, BiConsumer<? super K, ? super V> action) {
+        for (Node<K, V> node = ceilingNode(from, true); node != null && compare(node.key, to) < 0;
+             node = skipMarkers(next(node, 0))) {
+            V value = node.value;
+            if (value != null) {
+                action.accept(node.key, value);
+            }
+        }
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (Node<K, V> node = skipMarkers(next(head, 0)); node != null; node = skipMarkers(next(node, 0))) {
+            V value = node.value;
+            if (value != null) {
+                action.accept(node.key, value);
+            }
+        }
+    }
+
+    /** Weakly consistent iterator over the keys in order; remove() removes the last returned key. */
+    public Iterator<K> keyIterator() {
+        return keyIterator(null, false, null, false);
+    }
+
+    /** Keys between from and to in order, a null bound is open. */
+    Iterator<K> keyIterator(K from, boolean fromInclusive, K to, boolean toInclusive) {
+        return new RangeIterator<>(from, fromInclusive, to, toInclusive, (key, value) -> key);
+    }
+
+    private Iterator<Map.Entry<K, V>> entryIterator(K from, K to) {
+        return new RangeIterator<>(from, true, to, false, AbstractMap.SimpleImmutableEntry::new);
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new EntrySet(null, null);
+    }
+
+    @Override
+    public SortedMap<K, V> subMap(K fromKey, K toKey) {
+        Objects.requireNonNull(fromKey);
+        Objects.requireNonNull(toKey);
+        if (compare(fromKey, toKey) > 0) {
+            throw new IllegalArgumentException("fromKey > toKey");
+        }
+        return new SubMap(fromKey, toKey);
+    }
+
+    @Override
+    public SortedMap<K, V> headMap(K toKey) {
+        return new SubMap(null, Objects.requireNonNull(toKey));
+    }
+
+    @Override
+    public SortedMap<K, V> tailMap(K fromKey) {
+        return new SubMap(Objects.requireNonNull(fromKey), null);
+    }
+
+    // Walks the bottom list from the first live node in range, reading each value once so the
+    // view function always sees the value the node had when it was reached.
+    private final class RangeIterator<T> implements Iterator<T> {
+        private final K to;
+        private final boolean toInclusive;
+        private final BiFunction<K, V, T> view;
+        private Node<K, V> next;
+        private V nextValue;
+        private K last;
+
+        RangeIterator(K from, boolean fromInclusive, K to, boolean toInclusive, BiFunction<K, V, T> view) {
+            this.to = to;
+            this.toInclusive = toInclusive;
+            this.view = view;
+            advance(from == null ? firstNode() : ceilingNode(from, fromInclusive));
+        }
+
+        private void advance(Node<K, V> node) {
+            for (; node != null; node = skipMarkers(LockFreeSkipListMap.next(node, 0))) {
+                V value = node.value;
+                if (value == null) {
+                    continue;
+                }
+                if (to != null) {
+                    int c = compare(node.key, to);
+                    if (c > 0 || (c == 0 && !toInclusive)) {
+                        break;
+                    }
+                }
+                next = node;
+                nextValue = value;
+                return;
+            }
+            next = null;
+            nextValue = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            Node<K, V> node = next;
+            if (node == null) {
+                throw new NoSuchElementException();
+            }
+            T result = view.apply(node.key, nextValue);
+            last = node.key;
+            advance(skipMarkers(LockFreeSkipListMap.next(node, 0)));
+            return result;
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            LockFreeSkipListMap.this.remove(last);
+            last = null;
+        }
+    }
+
+    // Entries with from <= key < to, a null bound is open. Both bounds null is the whole map.
+    private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+        private final K from;
+        private final K to;
+
+        EntrySet(K from, K to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            return entryIterator(from, to);
+        }
+
+        @Override
+        public int size() {
+            if (from == null && to == null) {
+                return LockFreeSkipListMap.this.size();
+            }
+            int count = 0;
+            for (Iterator<Map.Entry<K, V>> it = iterator(); it.hasNext(); it.next()) {
+                count++;
+            }
+            return count;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Map.Entry<?, ?> e) || e.getKey() == null || !inRange(e.getKey())) {
+                return false;
+            }
+            V value = get(e.getKey());
+            return value != null && value.equals(e.getValue());
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            return o instanceof Map.Entry<?, ?> e && e.getKey() != null && inRange(e.getKey())
+                    && LockFreeSkipListMap.this.remove(e.getKey(), e.getValue());
+        }
+
+        @SuppressWarnings("unchecked")
+        private boolean inRange(Object key) {
+            K k = (K) key;
+            return (from == null || compare(k, from) >= 0) && (to == null || compare(k, to) < 0);
+        }
+    }
+
+    /**
+     * View of the keys in [lo, hi), a null bound is open. Reads and writes go straight to the backing map;
+     * putting a key outside the range throws IllegalArgumentException.
+     */
+    private final class SubMap extends AbstractMap<K, V> implements SortedMap<K, V> {
+        private final K lo;
+        private final K hi;
+
+        SubMap(K lo, K hi) {
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @SuppressWarnings("unchecked")
+        private boolean inRange(Object key) {
+            K k = (K) Objects.requireNonNull(key);
+            return (lo == null || compare(k, lo) >= 0) && (hi == null || compare(k, hi) < 0);
+        }
+
+        // a bound for a nested view may also equal hi, the exclusive end of this one
+        private K checkBound(K key) {
+            Objects.requireNonNull(key);
+            if ((lo != null && compare(key, lo) < 0) || (hi != null && compare(key, hi) > 0)) {
+                throw new IllegalArgumentException("key out of range");
+            }
+            return key;
+        }
+
+        @Override
+        public V get(Object key) {
+            return inRange(key) ? LockFreeSkipListMap.this.get(key) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public V put(K key, V value) {
+            if (!inRange(key)) {
+                throw new IllegalArgumentException("key out of range");
+            }
+            return LockFreeSkipListMap.this.put(key, value);
+        }
+
+        @Override
+        public V remove(Object key) {
+            return inRange(key) ? LockFreeSkipListMap.this.remove(key) : null;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return lowestKey() == null;
+        }
+
+        @Override
+        public Set<Map.Entry<K, V>> entrySet() {
+            return new EntrySet(lo, hi);
+        }
+
+        @Override
+        public Comparator<? super K> comparator() {
+            return comparator;
+        }
+
+        private K lowestKey() {
+            K key = lo == null ? firstKeyOrNull() : ceilingKey(lo);
+            return key == null || !inRange(key) ? null : key;
+        }
+
+        private K highestKey() {
+            K key = hi == null ? lastKeyOrNull() : lowerKey(hi);
+            return key == null || !inRange(key) ? null : key;
+        }
+
+        @Override
+        public K firstKey() {
+            return orElseThrow(lowestKey());
+        }
+
+        @Override
+        public K lastKey() {
+            return orElseThrow(highestKey());
+        }
+
+        @Override
+        public SortedMap<K, V> subMap(K fromKey, K toKey) {
+            if (compare(checkBound(fromKey), checkBound(toKey)) > 0) {
+                throw new IllegalArgumentException("fromKey > toKey");
+            }
+            return new SubMap(fromKey, toKey);
+        }
+
+        @Override
+        public SortedMap<K, V> headMap(K toKey) {
+            return new SubMap(lo, checkBound(toKey));
+        }
+
+        @Override
+        public SortedMap<K, V> tailMap(K fromKey) {
+            return new SubMap(checkBound(fromKey), hi);
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.collections.set.concurrent;
+
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.function.Consumer;
+
+/**
+ * Concurrent navigable set backed by a {@link LockFreeSkipListMap}, for use where a TreeSet would otherwise be
+ * wrapped in Collections.synchronizedSortedSet. add, remove and contains are lock-free; floor / ceiling,
+ * range scans, iteration and the subSet / headSet / tailSet / descendingSet views are weakly consistent.
+ * size() is O(1) but only a snapshot on the whole set, and counts the elements on a range view.
+ *
+ * A view is the same class with bounds and a direction, all reads and writes go to the one backing map.
+ */
+public class LockFreeSkipListSet<E> extends AbstractSet<E> implements NavigableSet<E> {
+
+    private final LockFreeSkipListMap<E, Boolean> map;
+    // bounds in ascending order, null when open
+    private final E lo;
+    private final boolean loInclusive;
+    private final E hi;
+    private final boolean hiInclusive;
+    private final boolean descending;
+
+    public LockFreeSkipListSet() {
+        this(new LockFreeSkipListMap<>(), null, false, null, false, false);
+    }
+
+    public LockFreeSkipListSet(Comparator<? super E> comparator) {
+        this(new LockFreeSkipListMap<>(comparator), null, false, null, false, false);
+    }
+
+    private LockFreeSkipListSet(LockFreeSkipListMap<E, Boolean> map, E lo, boolean loInclusive,
+                                E hi, boolean hiInclusive, boolean descending) {
+        this.map = map;
+        this.lo = lo;
+        this.loInclusive = loInclusive;
+        this.hi = hi;
+        this.hiInclusive = hiInclusive;
+        this.descending = descending;
+    }
+
+    private boolean isWholeSet() {
+        return lo == null && hi == null;
+    }
+
+    private boolean tooLow(E e) {
+        if (lo == null) {
+            return false;
+        }
+        int c = map.compare(e, lo);
+        return c < 0 || (c == 0 && !loInclusive);
+    }
+
+    private boolean tooHigh(E e) {
+        if (hi == null) {
+            return false;
+        }
+        int c = map.compare(e, hi);
+        return c > 0 || (c == 0 && !hiInclusive);
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean inRange(Object o) {
+        return isWholeSet() || (!tooLow((E) o) && !tooHigh((E) o));
+    }
+
+    @Override
+    public boolean add(E e) {
+        if (!inRange(e)) {
+            throw new IllegalArgumentException("element out of range");
+        }
+        return map.putIfAbsent(e, Boolean.TRUE) == null;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return inRange(o) && map.remove(o) != null;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return inRange(o) && map.containsKey(o);
+    }
+
+    @Override
+    public int size() {
+        if (isWholeSet()) {
+            return map.size();
+        }
+        int count = 0;
+        for (Iterator<E> it = iterator(); it.hasNext(); it.next()) {
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return isWholeSet() ? map.isEmpty() : lowest() == null;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return descending ? new DescendingIterator() : map.keyIterator(lo, loInclusive, hi, hiInclusive);
+    }
+
+    @Override
+    public Iterator<E> descendingIterator() {
+        return descending ? map.keyIterator(lo, loInclusive, hi, hiInclusive) : new DescendingIterator();
+    }
+
+    @Override
+    public Comparator<? super E> comparator() {
+        return descending ? Collections.reverseOrder(map.comparator()) : map.comparator();
+    }
+
+    // ---------------- ascending primitives, clipped to the bounds ----------------
+
+    private E lowest() {
+        E e = lo == null ? map.firstKeyOrNull() : loInclusive ? map.ceilingKey(lo) : map.higherKey(lo);
+        return e == null || tooHigh(e) ? null : e;
+    }
+
+    private E highest() {
+        E e = hi == null ? map.lastKeyOrNull() : hiInclusive ? map.floorKey(hi) : map.lowerKey(hi);
+        return e == null || tooLow(e) ? null : e;
+    }
+
+    private E ascendingCeiling(E e, boolean inclusive) {
+        if (tooLow(e)) {
+            return lowest();
+        }
+        E result = inclusive ? map.ceilingKey(e) : map.higherKey(e);
+        return result == null || tooHigh(result) ? null : result;
+    }
+
+    private E ascendingFloor(E e, boolean inclusive) {
+        if (tooHigh(e)) {
+            return highest();
+        }
+        E result = inclusive ? map.floorKey(e) : map.lowerKey(e);
+        return result == null || tooLow(result) ? null : result;
+    }
+
+    // ---------------- NavigableSet ----------------
+
+    @Override
+    public E first() {
+        E e = descending ? highest() : lowest();
+        if (e == null) {
+            throw new NoSuchElementException();
+        }
+        return e;
+    }
+
+    @Override
+    public E last() {
+        E e = descending ? lowest() : highest();
+        if (e == null) {
+            throw new NoSuchElementException();
+        }
+        return e;
+    }
+
+    /** Greatest element less than or equal to e, or null. */
+    @Override
+    public E floor(E e) {
+        return descending ? ascendingCeiling(e, true) : ascendingFloor(e, true);
+    }
+
+    /** Greatest element strictly less than e, or null. */
+    @Override
+    public E lower(E e) {
+        return descending ? ascendingCeiling(e, false) : ascendingFloor(e, false);
+    }
+
+    /** Least element greater than or equal to e, or null. */
+    @Override
+    public E ceiling(E e) {
+        return descending ? ascendingFloor(e, true) : ascendingCeiling(e, true);
+    }
+
+    /** Least element strictly greater than e, or null. */
+    @Override
+    public E higher(E e) {
+        return descending ? ascendingFloor(e, false) : ascendingCeiling(e, false);
+    }
+
+    @Override
+    public E pollFirst() {
+        return poll(!descending);
+    }
+
+    @Override
+    public E pollLast() {
+        return poll(descending);
+    }
+
+    private E poll(boolean lowEnd) {
+        while (true) {
+            E e = lowEnd ? lowest() : highest();
+            if (e == null) {
+                return null;
+            }
+            if (map.remove(e) != null) {
+                return e;
+            }
+        }
+    }
+
+    /** Visits the elements with from <= e < to in ascending order, skipping any outside this view. */
+    public void scan(E from, E to, Consumer<? super E> action) {
+        map.scan(from, to, (key, present) -> {
+            if (inRange(key)) {
+                action.accept(key);
+            }
+        });
+    }
+
+    @Override
+    public NavigableSet<E> descendingSet() {
+        return new LockFreeSkipListSet<>(map, lo, loInclusive, hi, hiInclusive, !descending);
+    }
+
+    @Override
+    public NavigableSet<E> subSet(E fromElement, boolean fromInclusive, E toElement, boolean toInclusive) {
+        Objects.requireNonNull(fromElement);
+        Objects.requireNonNull(toElement);
+        if ((descending ? map.compare(toElement, fromElement) : map.compare(fromElement, toElement)) > 0) {
+            throw new IllegalArgumentException("fromElement > toElement");
+        }
+        return view(fromElement, fromInclusive, toElement, toInclusive);
+    }
+
+    @Override
+    public NavigableSet<E> headSet(E toElement, boolean inclusive) {
+        return view(null, false, Objects.requireNonNull(toElement), inclusive);
+    }
+
+    @Override
+    public NavigableSet<E> tailSet(E fromElement, boolean inclusive) {
+        return view(Objects.requireNonNull(fromElement), inclusive, null, false);
+    }
+
+    @Override
+    public SortedSet<E> subSet(E fromElement, E toElement) {
+        return subSet(fromElement, true, toElement, false);
+    }
+
+    @Override
+    public SortedSet<E> headSet(E toElement) {
+        return headSet(toElement, false);
+    }
+
+    @Override
+    public SortedSet<E> tailSet(E fromElement) {
+        return tailSet(fromElement, true);
+    }
+
+    // from / to are in this view's order, null keeps the current bound on that side
+    private LockFreeSkipListSet<E> view(E from, boolean fromInclusive, E to, boolean toInclusive) {
+        E newLo = descending ? to : from;
+        boolean newLoInclusive = descending ? toInclusive : fromInclusive;
+        E newHi = descending ? from : to;
+        boolean newHiInclusive = descending ? fromInclusive : toInclusive;
+        if (newLo == null) {
+            newLo = lo;
+            newLoInclusive = loInclusive;
+        } else {
+            checkBound(newLo, newLoInclusive);
+        }
+        if (newHi == null) {
+            newHi = hi;
+            newHiInclusive = hiInclusive;
+        } else {
+            checkBound(newHi, newHiInclusive);
+        }
+        return new LockFreeSkipListSet<>(map, newLo, newLoInclusive, newHi, newHiInclusive, descending);
+    }
+
+    // An inclusive bound must lie in this view; an exclusive one may also sit on this view's own bounds,
+    // as TreeSet allows, since the nested view then still excludes it.
+    private void checkBound(E e, boolean inclusive) {
+        boolean outside = inclusive
+                ? tooLow(e) || tooHigh(e)
+                : (lo != null && map.compare(e, lo) < 0) || (hi != null && map.compare(e, hi) > 0);
+        if (outside) {
+            throw new IllegalArgumentException("element out of range");
+        }
+    }
+
+    // The skip list only links forward, so each step is a lower() search: O(log n) per element.
+    private final class DescendingIterator implements Iterator<E> {
+        private E next = highest();
+        private E last;
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public E next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next = ascendingFloor(last, false);
+            return last;
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            map.remove(last);
+            last = null;
+        }
+    }
+}
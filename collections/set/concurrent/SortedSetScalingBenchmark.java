@@ -0,0 +1,206 @@
+package com.collections.set.concurrent;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.NavigableSet;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Throughput of concurrent sorted sets from 1 to 32 threads: a TreeSet behind
+ * Collections.synchronizedSortedSet, the JDK ConcurrentSkipListSet, LockFreeSkipListSet and the
+ * primitive LockFreeLongSkipListSet. Each thread runs a random mix of contains / ceiling / add / remove
+ * on a shared set pre-filled with half of the key range, and the table shows total operations per second.
+ *
+ * Run with:
+ *   java -Xmx2g com.collections.set.concurrent.SortedSetScalingBenchmark
+ *        [--threads 1,2,4,8,16,32] [--keys 1000000] [--updates 20] [--seconds 2]
+ *
+ * --updates is the percentage of add + remove operations; the rest are split evenly between contains
+ * and ceiling. Throughput can only scale up to the number of hardware threads of the machine.
+ */
+public class SortedSetScalingBenchmark {
+
+    interface Target {
+        boolean contains(long key);
+
+        long ceiling(long key);
+
+        boolean add(long key);
+
+        boolean remove(long key);
+    }
+
+    enum Kind {
+        SYNCHRONIZED_TREE_SET(() -> boxed(new TreeSet<>())),
+        CONCURRENT_SKIP_LIST_SET(() -> boxed(new ConcurrentSkipListSet<>())),
+        LOCK_FREE_SKIP_LIST_SET(() -> {
+            LockFreeSkipListSet<Long> set = new LockFreeSkipListSet<>();
+            return new Target() {
+                public boolean contains(long key) {
+                    return set.contains(key);
+                }
+
+                public long ceiling(long key) {
+                    Long c = set.ceiling(key);
+                    return c == null ? -1 : c;
+                }
+
+                public boolean add(long key) {
+                    return set.add(key);
+                }
+
+                public boolean remove(long key) {
+                    return set.remove(key);
+                }
+            };
+        }),
+        LOCK_FREE_LONG_SKIP_LIST_SET(() -> {
+            LockFreeLongSkipListSet set = new LockFreeLongSkipListSet();
+            return new Target() {
+                public boolean contains(long key) {
+                    return set.contains(key);
+                }
+
+                public long ceiling(long key) {
+                    return set.ceiling(key);
+                }
+
+                public boolean add(long key) {
+                    return set.add(key);
+                }
+
+                public boolean remove(long key) {
+                    return set.remove(key);
+                }
+            };
+        });
+
+        private final Supplier<Target> factory;
+
+        Kind(Supplier<Target> factory) {
+            this.factory = factory;
+        }
+
+        private static Target boxed(NavigableSet<Long> navigable) {
+            // the synchronized wrapper has no ceiling(), so lock the wrapper and call the TreeSet directly
+            SortedSet<Long> set = navigable instanceof TreeSet ? Collections.synchronizedSortedSet(navigable) : navigable;
+            return new Target() {
+                public boolean contains(long key) {
+                    return set.contains(key);
+                }
+
+                public long ceiling(long key) {
+                    if (set == navigable) {
+                        Long c = navigable.ceiling(key);
+                        return c == null ? -1 : c;
+                    }
+                    synchronized (set) {
+                        Long c = navigable.ceiling(key);
+                        return c == null ? -1 : c;
+                    }
+                }
+
+                public boolean add(long key) {
+                    return set.add(key);
+                }
+
+                public boolean remove(long key) {
+                    return set.remove(key);
+                }
+            };
+        }
+    }
+
+    private static volatile long sink;
+
+    public static void main(String[] args) throws InterruptedException {
+        int[] threads = {1, 2, 4, 8, 16, 32};
+        int keys = 1_000_000;
+        int updates = 20;
+        double seconds = 2;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads" -> {
+                    String[] parts = args[++i].split(",");
+                    threads = new int[parts.length];
+                    for (int p = 0; p < parts.length; p++) {
+                        threads[p] = Integer.parseInt(parts[p].trim());
+                    }
+                }
+                case "--keys" -> keys = Integer.parseInt(args[++i]);
+                case "--updates" -> updates = Integer.parseInt(args[++i]);
+                case "--seconds" -> seconds = Double.parseDouble(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown argument " + args[i]);
+            }
+        }
+
+        System.out.println(String.format(Locale.ROOT, "%-30s %8s %16s", "Set", "threads", "Mops/s"));
+        for (Kind kind : Kind.values()) {
+            for (int t : threads) {
+                Target target = kind.factory.get();
+                for (long k = 0; k < keys; k += 2) {
+                    target.add(k);
+                }
+                run(target, t, keys, updates, (long) (seconds * 0.5e9)); // warmup
+                double opsPerSecond = run(target, t, keys, updates, (long) (seconds * 1e9));
+                System.out.println(String.format(Locale.ROOT, "%-30s %8d %16.2f", kind, t, opsPerSecond / 1e6));
+            }
+        }
+    }
+
+    private static double run(Target target, int threadCount, int keys, int updates, long nanos)
+            throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        long[] counts = new long[threadCount];
+        Thread[] workers = new Thread[threadCount];
+        long[] deadline = new long[1];
+        for (int t = 0; t < threadCount; t++) {
+            int id = t;
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long ops = 0;
+                long result = 0;
+                long end = deadline[0];
+                while ((ops & 255) != 0 || System.nanoTime() < end) {
+                    long key = random.nextInt(keys);
+                    int dice = random.nextInt(100);
+                    if (dice < updates / 2) {
+                        result += target.add(key) ? 1 : 0;
+                    } else if (dice < updates) {
+                        result += target.remove(key) ? 1 : 0;
+                    } else if ((dice & 1) == 0) {
+                        result += target.contains(key) ? 1 : 0;
+                    } else {
+                        result += target.ceiling(key);
+                    }
+                    ops++;
+                }
+                counts[id] = ops;
+                sink += result;
+            });
+            workers[t].start();
+        }
+        long begin = System.nanoTime();
+        deadline[0] = begin + nanos;
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - begin;
+        long total = 0;
+        for (long c : counts) {
+            total += c;
+        }
+        return total * 1e9 / elapsed;
+    }
+}
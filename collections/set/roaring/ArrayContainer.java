@@ -0,0 +1,230 @@
+package com.collections.set.roaring;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/** Sorted char[] of at most {@link #ARRAY_MAX} values, 2 bytes per value. */
+final class ArrayContainer extends Container {
+
+    char[] content;
+    int cardinality;
+
+    ArrayContainer() {
+        this(new char[4], 0);
+    }
+
+    ArrayContainer(char[] content, int cardinality) {
+        this.content = content;
+        this.cardinality = cardinality;
+    }
+
+    static ArrayContainer from(Container container) {
+        char[] values = new char[container.cardinality()];
+        int n = container.toChars(values);
+        return new ArrayContainer(values, n);
+    }
+
+    @Override
+    byte type() {
+        return ARRAY;
+    }
+
+    @Override
+    int cardinality() {
+        return cardinality;
+    }
+
+    @Override
+    boolean contains(char value) {
+        return Arrays.binarySearch(content, 0, cardinality, value) >= 0;
+    }
+
+    @Override
+    Container add(char value) {
+        int i = Arrays.binarySearch(content, 0, cardinality, value);
+        if (i >= 0) {
+            return this;
+        }
+        if (cardinality >= ARRAY_MAX) {
+            return toBitmap().add(value);
+        }
+        i = -i - 1;
+        if (cardinality == content.length) {
+            content = Arrays.copyOf(content, Math.min(ARRAY_MAX, Math.max(8, cardinality * 2)));
+        }
+        System.arraycopy(content, i, content, i + 1, cardinality - i);
+        content[i] = value;
+        cardinality++;
+        return this;
+    }
+
+    @Override
+    Container remove(char value) {
+        int i = Arrays.binarySearch(content, 0, cardinality, value);
+        if (i >= 0) {
+            System.arraycopy(content, i + 1, content, i, cardinality - i - 1);
+            cardinality--;
+        }
+        return this;
+    }
+
+    @Override
+    Container and(Container other) {
+        if (other instanceof ArrayContainer o) {
+            char[] out = new char[Math.min(cardinality, o.cardinality)];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality && j < o.cardinality) {
+                char a = content[i];
+                char b = o.content[j];
+                if (a < b) {
+                    i++;
+                } else if (a > b) {
+                    j++;
+                } else {
+                    out[n++] = a;
+                    i++;
+                    j++;
+                }
+            }
+            return new ArrayContainer(out, n);
+        }
+        // bitmap and run containers answer contains in O(1) / O(log runs): filter our values through them
+        char[] out = new char[cardinality];
+        int n = 0;
+        for (int i = 0; i < cardinality; i++) {
+            out[n] = content[i];
+            n += other.contains(content[i]) ? 1 : 0;
+        }
+        return new ArrayContainer(out, n);
+    }
+
+    @Override
+    Container or(Container other) {
+        if (other instanceof ArrayContainer o && cardinality + o.cardinality <= ARRAY_MAX) {
+            char[] out = new char[cardinality + o.cardinality];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality && j < o.cardinality) {
+                char a = content[i];
+                char b = o.content[j];
+                if (a <= b) {
+                    out[n++] = a;
+                    i++;
+                    j += a == b ? 1 : 0;
+                } else {
+                    out[n++] = b;
+                    j++;
+                }
+            }
+            while (i < cardinality) {
+                out[n++] = content[i++];
+            }
+            while (j < o.cardinality) {
+                out[n++] = o.content[j++];
+            }
+            return new ArrayContainer(out, n);
+        }
+        if (other instanceof RunContainer run) {
+            return run.or(this);
+        }
+        BitmapContainer result = other instanceof BitmapContainer b ? b.copy() : other.toBitmap();
+        for (int i = 0; i < cardinality; i++) {
+            result.set(content[i]);
+        }
+        return result.cardinality <= ARRAY_MAX ? ArrayContainer.from(result) : result;
+    }
+
+    @Override
+    Container andNot(Container other) {
+        char[] out = new char[cardinality];
+        int n = 0;
+        if (other instanceof ArrayContainer o) {
+            int j = 0;
+            for (int i = 0; i < cardinality; i++) {
+                char a = content[i];
+                while (j < o.cardinality && o.content[j] < a) {
+                    j++;
+                }
+                if (j == o.cardinality || o.content[j] != a) {
+                    out[n++] = a;
+                }
+            }
+        } else {
+            for (int i = 0; i < cardinality; i++) {
+                out[n] = content[i];
+                n += other.contains(content[i]) ? 0 : 1;
+            }
+        }
+        return new ArrayContainer(out, n);
+    }
+
+    @Override
+    int first() {
+        return content[0];
+    }
+
+    @Override
+    int last() {
+        return content[cardinality - 1];
+    }
+
+    @Override
+    void forEach(int high, IntConsumer action) {
+        for (int i = 0; i < cardinality; i++) {
+            action.accept(high | content[i]);
+        }
+    }
+
+    @Override
+    int toChars(char[] buffer) {
+        System.arraycopy(content, 0, buffer, 0, cardinality);
+        return cardinality;
+    }
+
+    @Override
+    BitmapContainer toBitmap() {
+        BitmapContainer bitmap = new BitmapContainer();
+        for (int i = 0; i < cardinality; i++) {
+            bitmap.set(content[i]);
+        }
+        return bitmap;
+    }
+
+    @Override
+    int numberOfRuns() {
+        if (cardinality == 0) {
+            return 0;
+        }
+        int runs = 1;
+        for (int i = 1; i < cardinality; i++) {
+            runs += content[i] != content[i - 1] + 1 ? 1 : 0;
+        }
+        return runs;
+    }
+
+    @Override
+    int serializedSize() {
+        return 2 * cardinality;
+    }
+
+    @Override
+    void write(ByteBuffer out) {
+        out.asCharBuffer().put(content, 0, cardinality);
+        out.position(out.position() + 2 * cardinality);
+    }
+
+    static ArrayContainer read(ByteBuffer in, int offset, int cardinality) {
+        char[] values = new char[cardinality];
+        in.slice(offset, 2 * cardinality).order(in.order()).asCharBuffer().get(values);
+        return new ArrayContainer(values, cardinality);
+    }
+
+    @Override
+    ArrayContainer copy() {
+        return new ArrayContainer(Arrays.copyOf(content, Math.max(cardinality, 4)), cardinality);
+    }
+}
@@ -0,0 +1,205 @@
+package com.collections.set.roaring;
+
+import java.nio.ByteBuffer;
+import java.util.function.IntConsumer;
+
+/** 65536 bit bitmap (1024 longs, 8 KB), used once a container holds more than {@link #ARRAY_MAX} values. */
+final class BitmapContainer extends Container {
+
+    final long[] words;
+    int cardinality;
+
+    BitmapContainer() {
+        this(new long[1024], 0);
+    }
+
+    BitmapContainer(long[] words, int cardinality) {
+        this.words = words;
+        this.cardinality = cardinality;
+    }
+
+    @Override
+    byte type() {
+        return BITMAP;
+    }
+
+    @Override
+    int cardinality() {
+        return cardinality;
+    }
+
+    @Override
+    boolean contains(char value) {
+        return (words[value >>> 6] & (1L << value)) != 0;
+    }
+
+    void set(char value) {
+        long before = words[value >>> 6];
+        long after = before | (1L << value);
+        words[value >>> 6] = after;
+        cardinality += (int) ((before ^ after) >>> value);
+    }
+
+    // sets bits [start, end), end exclusive, and returns how many were newly set
+    static int setRange(long[] words, int start, int end) {
+        int added = 0;
+        int firstWord = start >>> 6;
+        int lastWord = (end - 1) >>> 6;
+        for (int w = firstWord; w <= lastWord; w++) {
+            long mask = -1L;
+            if (w == firstWord) {
+                mask &= -1L << start;
+            }
+            if (w == lastWord) {
+                mask &= -1L >>> (-end & 63);
+            }
+            added += Long.bitCount(mask & ~words[w]);
+            words[w] |= mask;
+        }
+        return added;
+    }
+
+    @Override
+    Container add(char value) {
+        set(value);
+        return this;
+    }
+
+    @Override
+    Container remove(char value) {
+        long before = words[value >>> 6];
+        long after = before & ~(1L << value);
+        words[value >>> 6] = after;
+        cardinality -= (int) ((before ^ after) >>> value);
+        return cardinality <= ARRAY_MAX ? ArrayContainer.from(this) : this;
+    }
+
+    @Override
+    Container and(Container other) {
+        if (other instanceof BitmapContainer o) {
+            long[] out = new long[1024];
+            int card = 0;
+            for (int i = 0; i < 1024; i++) {
+                out[i] = words[i] & o.words[i];
+                card += Long.bitCount(out[i]);
+            }
+            return shrink(out, card);
+        }
+        return other.and(this);
+    }
+
+    @Override
+    Container or(Container other) {
+        if (other instanceof BitmapContainer o) {
+            long[] out = new long[1024];
+            int card = 0;
+            for (int i = 0; i < 1024; i++) {
+                out[i] = words[i] | o.words[i];
+                card += Long.bitCount(out[i]);
+            }
+            return new BitmapContainer(out, card);
+        }
+        return other.or(this);
+    }
+
+    @Override
+    Container andNot(Container other) {
+        BitmapContainer o = other instanceof BitmapContainer b ? b : other.toBitmap();
+        long[] out = new long[1024];
+        int card = 0;
+        for (int i = 0; i < 1024; i++) {
+            out[i] = words[i] & ~o.words[i];
+            card += Long.bitCount(out[i]);
+        }
+        return shrink(out, card);
+    }
+
+    private static Container shrink(long[] words, int card) {
+        BitmapContainer result = new BitmapContainer(words, card);
+        return card <= ARRAY_MAX ? ArrayContainer.from(result) : result;
+    }
+
+    @Override
+    int first() {
+        for (int i = 0; i < 1024; i++) {
+            if (words[i] != 0) {
+                return i * 64 + Long.numberOfTrailingZeros(words[i]);
+            }
+        }
+        throw new IllegalStateException("empty container");
+    }
+
+    @Override
+    int last() {
+        for (int i = 1023; i >= 0; i--) {
+            if (words[i] != 0) {
+                return i * 64 + 63 - Long.numberOfLeadingZeros(words[i]);
+            }
+        }
+        throw new IllegalStateException("empty container");
+    }
+
+    @Override
+    void forEach(int high, IntConsumer action) {
+        for (int i = 0; i < 1024; i++) {
+            long w = words[i];
+            while (w != 0) {
+                action.accept(high | (i << 6) | Long.numberOfTrailingZeros(w));
+                w &= w - 1;
+            }
+        }
+    }
+
+    @Override
+    int toChars(char[] buffer) {
+        int n = 0;
+        for (int i = 0; i < 1024; i++) {
+            long w = words[i];
+            while (w != 0) {
+                buffer[n++] = (char) ((i << 6) | Long.numberOfTrailingZeros(w));
+                w &= w - 1;
+            }
+        }
+        return n;
+    }
+
+    @Override
+    BitmapContainer toBitmap() {
+        return this;
+    }
+
+    @Override
+    int numberOfRuns() {
+        // a run starts at every set bit whose predecessor is clear
+        int runs = 0;
+        long previousTop = 0;
+        for (int i = 0; i < 1024; i++) {
+            long w = words[i];
+            runs += Long.bitCount(w & ~((w << 1) | previousTop));
+            previousTop = w >>> 63;
+        }
+        return runs;
+    }
+
+    @Override
+    int serializedSize() {
+        return BITMAP_BYTES;
+    }
+
+    @Override
+    void write(ByteBuffer out) {
+        out.asLongBuffer().put(words);
+        out.position(out.position() + BITMAP_BYTES);
+    }
+
+    static BitmapContainer read(ByteBuffer in, int offset, int cardinality) {
+        long[] words = new long[1024];
+        in.slice(offset, BITMAP_BYTES).order(in.order()).asLongBuffer().get(words);
+        return new BitmapContainer(words, cardinality);
+    }
+
+    @Override
+    BitmapContainer copy() {
+        return new BitmapContainer(words.clone(), cardinality);
+    }
+}
@@ -0,0 +1,124 @@
+package com.collections.set.roaring;
+
+import java.nio.ByteBuffer;
+import java.util.function.IntConsumer;
+
+/**
+ * Set of the low 16 bits of the values sharing one high 16 bit key. Three representations:
+ * a sorted char[] (sparse, up to 4096 values), a 65536 bit bitmap (dense) and sorted runs (clustered).
+ *
+ * Mutating operations return the container to use afterwards, which is a different representation
+ * when the cardinality crosses the array / bitmap threshold.
+ */
+abstract class Container {
+
+    static final int ARRAY_MAX = 4096;
+    static final int BITMAP_BYTES = 8192;
+
+    static final byte ARRAY = 1;
+    static final byte BITMAP = 2;
+    static final byte RUN = 3;
+
+    abstract byte type();
+
+    abstract int cardinality();
+
+    abstract boolean contains(char value);
+
+    abstract Container add(char value);
+
+    abstract Container remove(char value);
+
+    abstract Container and(Container other);
+
+    abstract Container or(Container other);
+
+    abstract Container andNot(Container other);
+
+    abstract int first();
+
+    abstract int last();
+
+    abstract void forEach(int high, IntConsumer action);
+
+    /** Writes the values into buffer starting at 0 and returns how many were written. */
+    abstract int toChars(char[] buffer);
+
+    abstract BitmapContainer toBitmap();
+
+    abstract int numberOfRuns();
+
+    abstract int serializedSize();
+
+    abstract void write(ByteBuffer out);
+
+    abstract Container copy();
+
+    /** Smallest of the three representations for the current values. */
+    Container optimize() {
+        int card = cardinality();
+        int runs = numberOfRuns();
+        int runBytes = 4 + 4 * runs;
+        int otherBytes = card <= ARRAY_MAX ? 2 * card : BITMAP_BYTES;
+        if (runBytes < otherBytes) {
+            return type() == RUN ? this : RunContainer.from(this, runs);
+        }
+        if (card <= ARRAY_MAX) {
+            return type() == ARRAY ? this : ArrayContainer.from(this);
+        }
+        return toBitmap();
+    }
+
+    static Container read(ByteBuffer in, int offset, byte type, int cardinality) {
+        return switch (type) {
+            case ARRAY -> ArrayContainer.read(in, offset, cardinality);
+            case BITMAP -> BitmapContainer.read(in, offset, cardinality);
+            case RUN -> RunContainer.read(in, offset);
+            default -> throw new IllegalArgumentException("Unknown container type " + type);
+        };
+    }
+
+    // Membership test straight against a serialized container, without copying it to the heap.
+    static boolean containsSerialized(ByteBuffer in, int offset, byte type, int cardinality, char value) {
+        switch (type) {
+            case ARRAY -> {
+                int lo = 0;
+                int hi = cardinality - 1;
+                while (lo <= hi) {
+                    int mid = (lo + hi) >>> 1;
+                    char v = in.getChar(offset + 2 * mid);
+                    if (v < value) {
+                        lo = mid + 1;
+                    } else if (v > value) {
+                        hi = mid - 1;
+                    } else {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            case BITMAP -> {
+                return (in.getLong(offset + 8 * (value >>> 6)) & (1L << value)) != 0;
+            }
+            case RUN -> {
+                int runs = in.getInt(offset);
+                int lo = 0;
+                int hi = runs - 1;
+                while (lo <= hi) {
+                    int mid = (lo + hi) >>> 1;
+                    int start = in.getChar(offset + 4 + 4 * mid);
+                    if (start <= value) {
+                        if (value <= start + in.getChar(offset + 6 + 4 * mid)) {
+                            return true;
+                        }
+                        lo = mid + 1;
+                    } else {
+                        hi = mid - 1;
+                    }
+                }
+                return false;
+            }
+            default -> throw new IllegalArgumentException("Unknown container type " + type);
+        }
+    }
+}
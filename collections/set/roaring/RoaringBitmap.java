@@ -0,0 +1,464 @@
+package com.collections.set.roaring;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed set of ints in the style of Roaring bitmaps (Chambi, Lemire et al.).
+ *
+ * Values are split on their high 16 bits into chunks of 65536; each non-empty chunk has a container for
+ * the low 16 bits that is a sorted char[] while sparse (at most 4096 values), a 8 KB bitmap when dense,
+ * or a list of runs when clustered. 100M consecutive ids are 1526 single-run containers, a few KB,
+ * where a HashSet<Integer> needs several GB. and / or / andNot walk the sorted chunk keys and combine
+ * containers pairwise: word-wise for bitmaps, merges for arrays, interval algebra for runs.
+ *
+ * Values are ordered as unsigned 32 bit ints, so negative values sort after Integer.MAX_VALUE.
+ *
+ * {@link #serialize} writes a little endian layout with an offset table (see {@link #map}), so a
+ * bitmap saved to a file can be memory mapped and queried in place: contains reads the mapped
+ * bytes directly and set operations copy only the containers whose keys they actually touch.
+ */
+public class RoaringBitmap {
+
+    private static final int COOKIE = 0x524F4152; // "ROAR"
+    private static final int HEADER_BYTES = 8;
+    private static final int ENTRY_BYTES = 12;
+
+    private char[] keys;
+    private Container[] containers;
+    private int size;
+
+    // Set only for mapped bitmaps: containers are null until first use and read from here.
+    private ByteBuffer mapped;
+    private byte[] mappedTypes;
+    private int[] mappedCardinalities;
+    private int[] mappedOffsets;
+
+    public RoaringBitmap() {
+        this(4);
+    }
+
+    private RoaringBitmap(int capacity) {
+        this.keys = new char[capacity];
+        this.containers = new Container[capacity];
+    }
+
+    public static RoaringBitmap of(int... values) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int v : values) {
+            bitmap.add(v);
+        }
+        return bitmap;
+    }
+
+    /** Bitmap of [start, end), end exclusive, as unsigned values in 0..2^32. */
+    public static RoaringBitmap range(long start, long end) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        bitmap.addRange(start, end);
+        return bitmap;
+    }
+
+    private static char high(int value) {
+        return (char) (value >>> 16);
+    }
+
+    private static char low(int value) {
+        return (char) value;
+    }
+
+    private int indexOf(char key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private Container container(int i) {
+        Container c = containers[i];
+        if (c == null) {
+            c = Container.read(mapped, mappedOffsets[i], mappedTypes[i], mappedCardinalities[i]);
+            containers[i] = c;
+        }
+        return c;
+    }
+
+    // Loads every container, after which the bitmap no longer refers to the mapped buffer.
+    private void materialize() {
+        if (mapped != null) {
+            for (int i = 0; i < size; i++) {
+                container(i);
+            }
+            mapped = null;
+            mappedTypes = null;
+            mappedCardinalities = null;
+            mappedOffsets = null;
+        }
+    }
+
+    private void insertContainer(int i, char key, Container c) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, i, keys, i + 1, size - i);
+        System.arraycopy(containers, i, containers, i + 1, size - i);
+        keys[i] = key;
+        containers[i] = c;
+        size++;
+    }
+
+    private void removeContainer(int i) {
+        System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+        System.arraycopy(containers, i + 1, containers, i, size - i - 1);
+        containers[--size] = null;
+    }
+
+    // appends in key order, used by the set operations to build their result
+    private void append(char key, Container c) {
+        if (c.cardinality() == 0) {
+            return;
+        }
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        keys[size] = key;
+        containers[size++] = c;
+    }
+
+    public void add(int value) {
+        materialize();
+        int i = indexOf(high(value));
+        if (i >= 0) {
+            containers[i] = containers[i].add(low(value));
+        } else {
+            ArrayContainer c = new ArrayContainer();
+            c.add(low(value));
+            insertContainer(-i - 1, high(value), c);
+        }
+    }
+
+    /** Adds [start, end), end exclusive, as unsigned values in 0..2^32. Full chunks become single runs. */
+    public void addRange(long start, long end) {
+        if (start < 0 || end > 1L << 32 || start > end) {
+            throw new IllegalArgumentException("Invalid range [" + start + ", " + end + ")");
+        }
+        materialize();
+        for (long chunkStart = start; chunkStart < end; chunkStart = (chunkStart | 0xFFFF) + 1) {
+            char key = (char) (chunkStart >>> 16);
+            int lo = (int) (chunkStart & 0xFFFF);
+            int hi = (int) (Math.min(end, (chunkStart | 0xFFFF) + 1) - (chunkStart & ~0xFFFFL));
+            RunContainer run = RunContainer.range(lo, hi);
+            int i = indexOf(key);
+            if (i >= 0) {
+                containers[i] = containers[i].or(run);
+            } else {
+                insertContainer(-i - 1, key, run);
+            }
+        }
+    }
+
+    public boolean remove(int value) {
+        materialize();
+        int i = indexOf(high(value));
+        if (i < 0 || !containers[i].contains(low(value))) {
+            return false;
+        }
+        Container c = containers[i].remove(low(value));
+        if (c.cardinality() == 0) {
+            removeContainer(i);
+        } else {
+            containers[i] = c;
+        }
+        return true;
+    }
+
+    public boolean contains(int value) {
+        int i = indexOf(high(value));
+        if (i < 0) {
+            return false;
+        }
+        if (containers[i] == null) {
+            return Container.containsSerialized(mapped, mappedOffsets[i], mappedTypes[i], mappedCardinalities[i], low(value));
+        }
+        return containers[i].contains(low(value));
+    }
+
+    public long getCardinality() {
+        long card = 0;
+        for (int i = 0; i < size; i++) {
+            card += containers[i] != null ? containers[i].cardinality() : mappedCardinalities[i];
+        }
+        return card;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Smallest value, in unsigned order. */
+    public int first() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return keys[0] << 16 | container(0).first();
+    }
+
+    /** Largest value, in unsigned order. */
+    public int last() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return keys[size - 1] << 16 | container(size - 1).last();
+    }
+
+    /** Converts every container to whichever of array, bitmap or runs is smallest. */
+    public void runOptimize() {
+        materialize();
+        for (int i = 0; i < size; i++) {
+            containers[i] = containers[i].optimize();
+        }
+    }
+
+    public static RoaringBitmap and(RoaringBitmap a, RoaringBitmap b) {
+        RoaringBitmap result = new RoaringBitmap(Math.max(4, Math.min(a.size, b.size)));
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            char ka = a.keys[i];
+            char kb = b.keys[j];
+            if (ka < kb) {
+                i++;
+            } else if (ka > kb) {
+                j++;
+            } else {
+                result.append(ka, a.container(i++).and(b.container(j++)));
+            }
+        }
+        return result;
+    }
+
+    public static RoaringBitmap or(RoaringBitmap a, RoaringBitmap b) {
+        RoaringBitmap result = new RoaringBitmap(Math.max(4, a.size + b.size));
+        int i = 0;
+        int j = 0;
+        while (i < a.size || j < b.size) {
+            if (j == b.size || (i < a.size && a.keys[i] < b.keys[j])) {
+                result.append(a.keys[i], a.container(i++).copy());
+            } else if (i == a.size || b.keys[j] < a.keys[i]) {
+                result.append(b.keys[j], b.container(j++).copy());
+            } else {
+                result.append(a.keys[i], a.container(i++).or(b.container(j++)));
+            }
+        }
+        return result;
+    }
+
+    /** Values of a that are not in b. */
+    public static RoaringBitmap andNot(RoaringBitmap a, RoaringBitmap b) {
+        RoaringBitmap result = new RoaringBitmap(Math.max(4, a.size));
+        int j = 0;
+        for (int i = 0; i < a.size; i++) {
+            char key = a.keys[i];
+            while (j < b.size && b.keys[j] < key) {
+                j++;
+            }
+            if (j < b.size && b.keys[j] == key) {
+                result.append(key, a.container(i).andNot(b.container(j)));
+            } else {
+                result.append(key, a.container(i).copy());
+            }
+        }
+        return result;
+    }
+
+    /** Cardinality of the intersection, without keeping the intersected containers. */
+    public static long andCardinality(RoaringBitmap a, RoaringBitmap b) {
+        long card = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                card += a.container(i++).and(b.container(j++)).cardinality();
+            }
+        }
+        return card;
+    }
+
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            container(i).forEach(keys[i] << 16, action);
+        }
+    }
+
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private final char[] chunk = new char[65536];
+            private int containerIndex;
+            private int position;
+            private int length;
+            private int high;
+
+            @Override
+            public boolean hasNext() {
+                while (position == length) {
+                    if (containerIndex == size) {
+                        return false;
+                    }
+                    high = keys[containerIndex] << 16;
+                    length = container(containerIndex++).toChars(chunk);
+                    position = 0;
+                }
+                return true;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return high | chunk[position++];
+            }
+        };
+    }
+
+    public int[] toArray() {
+        long card = getCardinality();
+        if (card > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Too many values for an array: " + card);
+        }
+        int[] out = new int[(int) card];
+        int[] n = new int[1];
+        forEach(v -> out[n[0]++] = v);
+        return out;
+    }
+
+    /** Bytes of the serialized form; also roughly the memory held by the containers. */
+    public int serializedSizeInBytes() {
+        long bytes = HEADER_BYTES + (long) ENTRY_BYTES * size;
+        for (int i = 0; i < size; i++) {
+            bytes = align(bytes) + container(i).serializedSize();
+        }
+        return Math.toIntExact(bytes);
+    }
+
+    private static long align(long offset) {
+        return (offset + 7) & ~7L;
+    }
+
+    /**
+     * Writes the bitmap at the buffer's position, little endian:
+     *   int cookie, int container count,
+     *   per container: char key, byte type, byte unused, int cardinality, int offset from the start,
+     *   then the containers, each 8 byte aligned: array = sorted chars, bitmap = 1024 longs,
+     *   run = int run count and (start, length - 1) char pairs.
+     */
+    public void serialize(ByteBuffer out) {
+        ByteBuffer buf = out.slice().order(ByteOrder.LITTLE_ENDIAN);
+        buf.putInt(COOKIE);
+        buf.putInt(size);
+        int offset = HEADER_BYTES + ENTRY_BYTES * size;
+        for (int i = 0; i < size; i++) {
+            Container c = container(i);
+            offset = (int) align(offset);
+            buf.putChar(keys[i]);
+            buf.put(c.type());
+            buf.put((byte) 0);
+            buf.putInt(c.cardinality());
+            buf.putInt(offset);
+            offset += c.serializedSize();
+        }
+        for (int i = 0; i < size; i++) {
+            buf.position((int) align(buf.position()));
+            container(i).write(buf);
+        }
+        out.position(out.position() + buf.position());
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(serializedSizeInBytes());
+        serialize(buf);
+        out.write(buf.array(), 0, buf.position());
+    }
+
+    /**
+     * Bitmap backed by a buffer written by {@link #serialize}; only the small key / offset table is read
+     * up front. The buffer must stay unchanged while the bitmap uses it. The first modification copies
+     * all containers to the heap and detaches the bitmap from the buffer.
+     */
+    public static RoaringBitmap map(ByteBuffer in) {
+        ByteBuffer buf = in.slice().order(ByteOrder.LITTLE_ENDIAN);
+        if (buf.getInt(0) != COOKIE) {
+            throw new IllegalArgumentException("Not a serialized RoaringBitmap");
+        }
+        int n = buf.getInt(4);
+        RoaringBitmap bitmap = new RoaringBitmap(Math.max(4, n));
+        bitmap.mapped = buf;
+        bitmap.mappedTypes = new byte[n];
+        bitmap.mappedCardinalities = new int[n];
+        bitmap.mappedOffsets = new int[n];
+        for (int i = 0; i < n; i++) {
+            int entry = HEADER_BYTES + ENTRY_BYTES * i;
+            bitmap.keys[i] = buf.getChar(entry);
+            bitmap.mappedTypes[i] = buf.get(entry + 2);
+            bitmap.mappedCardinalities[i] = buf.getInt(entry + 4);
+            bitmap.mappedOffsets[i] = buf.getInt(entry + 8);
+        }
+        bitmap.size = n;
+        return bitmap;
+    }
+
+    /** Memory maps a file written with {@link #writeTo} read only, see {@link #map}. */
+    public static RoaringBitmap mapFile(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return map(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RoaringBitmap other) || size != other.size || getCardinality() != other.getCardinality()) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (keys[i] != other.keys[i]) {
+                return false;
+            }
+        }
+        return andCardinality(this, other) == getCardinality();
+    }
+
+    @Override
+    public int hashCode() {
+        int[] h = {1};
+        forEach(v -> h[0] = 31 * h[0] + v);
+        return h[0];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        PrimitiveIterator.OfInt it = iterator();
+        for (int n = 0; it.hasNext(); n++) {
+            if (n == 20) {
+                sb.append(", ... ").append(getCardinality() - 20).append(" more");
+                break;
+            }
+            sb.append(n == 0 ? "" : ", ").append(Integer.toUnsignedString(it.nextInt()));
+        }
+        return sb.append('}').toString();
+    }
+}
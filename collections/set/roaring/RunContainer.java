@@ -0,0 +1,298 @@
+package com.collections.set.roaring;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Sorted, non-adjacent runs stored as (start, length - 1) char pairs, 4 bytes per run. A full range of
+ * 65536 consecutive ids is a single run, which is what makes dense id ranges cost almost nothing.
+ *
+ * Point updates convert to an array or bitmap container; {@link RoaringBitmap#runOptimize()} converts back.
+ */
+final class RunContainer extends Container {
+
+    char[] runs;
+    int count;
+
+    RunContainer(char[] runs, int count) {
+        this.runs = runs;
+        this.count = count;
+    }
+
+    /** Run of [start, end), end exclusive. */
+    static RunContainer range(int start, int end) {
+        return new RunContainer(new char[]{(char) start, (char) (end - start - 1)}, 1);
+    }
+
+    static RunContainer from(Container container, int runCount) {
+        char[] values = new char[container.cardinality()];
+        int n = container.toChars(values);
+        Builder builder = new Builder(runCount);
+        for (int i = 0; i < n; i++) {
+            builder.add(values[i], values[i]);
+        }
+        return builder.build();
+    }
+
+    private int start(int i) {
+        return runs[2 * i];
+    }
+
+    private int end(int i) {
+        return runs[2 * i] + runs[2 * i + 1];
+    }
+
+    boolean isFull() {
+        return count == 1 && runs[0] == 0 && runs[1] == 0xFFFF;
+    }
+
+    @Override
+    byte type() {
+        return RUN;
+    }
+
+    @Override
+    int cardinality() {
+        int card = count;
+        for (int i = 0; i < count; i++) {
+            card += runs[2 * i + 1];
+        }
+        return card;
+    }
+
+    @Override
+    boolean contains(char value) {
+        int lo = 0;
+        int hi = count - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (start(mid) <= value) {
+                if (value <= end(mid)) {
+                    return true;
+                }
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    Container add(char value) {
+        if (contains(value)) {
+            return this;
+        }
+        return toPointContainer().add(value);
+    }
+
+    @Override
+    Container remove(char value) {
+        if (!contains(value)) {
+            return this;
+        }
+        return toPointContainer().remove(value);
+    }
+
+    private Container toPointContainer() {
+        return cardinality() <= ARRAY_MAX ? ArrayContainer.from(this) : toBitmap();
+    }
+
+    @Override
+    Container and(Container other) {
+        if (isFull()) {
+            return other.copy();
+        }
+        if (other instanceof RunContainer o) {
+            if (o.isFull()) {
+                return copy();
+            }
+            Builder out = new Builder(Math.max(count, o.count));
+            int i = 0;
+            int j = 0;
+            while (i < count && j < o.count) {
+                int lo = Math.max(start(i), o.start(j));
+                int hi = Math.min(end(i), o.end(j));
+                if (lo <= hi) {
+                    out.add(lo, hi);
+                }
+                if (end(i) < o.end(j)) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return out.build().optimize();
+        }
+        if (other instanceof ArrayContainer) {
+            return other.and(this);
+        }
+        return toBitmap().and(other);
+    }
+
+    @Override
+    Container or(Container other) {
+        if (isFull()) {
+            return copy();
+        }
+        if (other instanceof BitmapContainer b) {
+            BitmapContainer result = b.copy();
+            for (int i = 0; i < count; i++) {
+                result.cardinality += BitmapContainer.setRange(result.words, start(i), end(i) + 1);
+            }
+            return result;
+        }
+        RunContainer o = other instanceof RunContainer r ? r : from(other, other.numberOfRuns());
+        if (o.isFull()) {
+            return o.copy();
+        }
+        Builder out = new Builder(count + o.count);
+        int i = 0;
+        int j = 0;
+        while (i < count || j < o.count) {
+            if (j == o.count || (i < count && start(i) <= o.start(j))) {
+                out.add(start(i), end(i));
+                i++;
+            } else {
+                out.add(o.start(j), o.end(j));
+                j++;
+            }
+        }
+        return out.build().optimize();
+    }
+
+    @Override
+    Container andNot(Container other) {
+        if (other instanceof BitmapContainer) {
+            return toBitmap().andNot(other);
+        }
+        RunContainer o = other instanceof RunContainer r ? r : from(other, other.numberOfRuns());
+        Builder out = new Builder(count + o.count);
+        int j = 0;
+        for (int i = 0; i < count; i++) {
+            int s = start(i);
+            int e = end(i);
+            while (j < o.count && o.end(j) < s) {
+                j++;
+            }
+            int k = j;
+            while (k < o.count && o.start(k) <= e) {
+                if (o.start(k) > s) {
+                    out.add(s, o.start(k) - 1);
+                }
+                s = Math.max(s, o.end(k) + 1);
+                if (o.end(k) > e) {
+                    break;
+                }
+                k++;
+            }
+            if (s <= e) {
+                out.add(s, e);
+            }
+            j = k;
+        }
+        return out.build().optimize();
+    }
+
+    @Override
+    int first() {
+        return start(0);
+    }
+
+    @Override
+    int last() {
+        return end(count - 1);
+    }
+
+    @Override
+    void forEach(int high, IntConsumer action) {
+        for (int i = 0; i < count; i++) {
+            for (int v = start(i), e = end(i); v <= e; v++) {
+                action.accept(high | v);
+            }
+        }
+    }
+
+    @Override
+    int toChars(char[] buffer) {
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            for (int v = start(i), e = end(i); v <= e; v++) {
+                buffer[n++] = (char) v;
+            }
+        }
+        return n;
+    }
+
+    @Override
+    BitmapContainer toBitmap() {
+        BitmapContainer bitmap = new BitmapContainer();
+        for (int i = 0; i < count; i++) {
+            bitmap.cardinality += BitmapContainer.setRange(bitmap.words, start(i), end(i) + 1);
+        }
+        return bitmap;
+    }
+
+    @Override
+    int numberOfRuns() {
+        return count;
+    }
+
+    @Override
+    int serializedSize() {
+        return 4 + 4 * count;
+    }
+
+    @Override
+    void write(ByteBuffer out) {
+        out.putInt(count);
+        out.asCharBuffer().put(runs, 0, 2 * count);
+        out.position(out.position() + 4 * count);
+    }
+
+    static RunContainer read(ByteBuffer in, int offset) {
+        int count = in.getInt(offset);
+        char[] runs = new char[2 * count];
+        in.slice(offset + 4, 4 * count).order(in.order()).asCharBuffer().get(runs);
+        return new RunContainer(runs, count);
+    }
+
+    @Override
+    RunContainer copy() {
+        return new RunContainer(Arrays.copyOf(runs, 2 * count), count);
+    }
+
+    /** Appends runs in ascending start order, merging overlapping and adjacent ones. */
+    static final class Builder {
+        private char[] runs;
+        private int count;
+        private int lastEnd = -2;
+
+        Builder(int expectedRuns) {
+            runs = new char[2 * Math.max(1, expectedRuns)];
+        }
+
+        // start and end are inclusive
+        void add(int start, int end) {
+            if (count > 0 && start <= lastEnd + 1) {
+                if (end > lastEnd) {
+                    lastEnd = end;
+                    runs[2 * count - 1] = (char) (end - runs[2 * count - 2]);
+                }
+                return;
+            }
+            if (2 * count == runs.length) {
+                runs = Arrays.copyOf(runs, runs.length * 2);
+            }
+            runs[2 * count] = (char) start;
+            runs[2 * count + 1] = (char) (end - start);
+            count++;
+            lastEnd = end;
+        }
+
+        RunContainer build() {
+            return new RunContainer(runs, count);
+        }
+    }
+}
@@ -34,6 +34,23 @@ class Main {
 
         // Any attempt to modify the object will fail as there are no setters
         // student.setName("Jane Doe"); // Compilation error (no setName method)
+
+        // Immutable rosters: "modifying" returns a new version that shares all untouched nodes
+        PersistentVector.Builder<ImmutableStudent> builder = PersistentVector.builder();
+        for (int roll = 1; roll <= 1000; roll++) {
+            builder.add(new ImmutableStudent("Student " + roll, roll));
+        }
+        PersistentVector<ImmutableStudent> roster = builder.build();
+        PersistentVector<ImmutableStudent> updated = roster.with(0, student).append(new ImmutableStudent("Jane Doe", 1001));
+        System.out.println("Old roster: " + roster.size() + " students, first " + roster.get(0).getName());
+        System.out.println("New roster: " + updated.size() + " students, first " + updated.get(0).getName());
+
+        PersistentHashMap<Integer, ImmutableStudent> byRoll = PersistentHashMap.empty();
+        for (ImmutableStudent s : updated) {
+            byRoll = byRoll.with(s.getRollNumber(), s);
+        }
+        PersistentHashMap<Integer, ImmutableStudent> withoutJane = byRoll.without(1001);
+        System.out.println("Roll 1001: " + byRoll.get(1001).getName() + ", after removal: " + withoutJane.get(1001));
     }
 }
 
@@ -0,0 +1,449 @@
+package com.design_pattern.immutable;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable hash map with structural sharing: a hash array mapped trie (HAMT).
+ *
+ * Each level consumes 5 bits of the key hash and stores only the occupied slots, compressed by a
+ * 32 bit bitmap, so with(k, v) and without(k) copy one small array per level, O(log32 n), and
+ * share everything else with the previous version. Keys whose full hashes collide share a
+ * collision node.
+ *
+ * For bulk construction use {@link #builder()}. Like Map.of, null keys and values are rejected.
+ */
+public final class PersistentHashMap<K, V> extends AbstractMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final Object NOT_FOUND = new Object();
+
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(null, 0);
+
+    // Both node kinds keep key/value pairs in array; a null key means the value slot holds a child node.
+    private abstract static class Node {
+        final Object edit;
+        Object[] array;
+
+        Node(Object edit, Object[] array) {
+            this.edit = edit;
+            this.array = array;
+        }
+
+        abstract Node assoc(Object edit, int shift, int hash, Object key, Object value, boolean[] added);
+
+        abstract Node without(Object edit, int shift, int hash, Object key, boolean[] removed);
+
+        abstract Object find(int shift, int hash, Object key);
+
+        boolean editable(Object edit) {
+            return edit != null && this.edit == edit;
+        }
+    }
+
+    private static final class BitmapNode extends Node {
+        int bitmap;
+
+        BitmapNode(Object edit, int bitmap, Object[] array) {
+            super(edit, array);
+            this.bitmap = bitmap;
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return NOT_FOUND;
+            }
+            int i = 2 * Integer.bitCount(bitmap & (bit - 1));
+            Object k = array[i];
+            Object v = array[i + 1];
+            if (k == null) {
+                return ((Node) v).find(shift + BITS, hash, key);
+            }
+            return key.equals(k) ? v : NOT_FOUND;
+        }
+
+        @Override
+        Node assoc(Object edit, int shift, int hash, Object key, Object value, boolean[] added) {
+            int bit = bit(hash, shift);
+            int i = 2 * Integer.bitCount(bitmap & (bit - 1));
+            if ((bitmap & bit) != 0) {
+                Object k = array[i];
+                Object v = array[i + 1];
+                if (k == null) {
+                    Node child = ((Node) v).assoc(edit, shift + BITS, hash, key, value, added);
+                    return child == v ? this : set(edit, i + 1, child);
+                }
+                if (key.equals(k)) {
+                    return v == value ? this : set(edit, i + 1, value);
+                }
+                // two different keys in one slot: push both one level down
+                added[0] = true;
+                Node child = pair(edit, shift + BITS, k, v, hash, key, value);
+                BitmapNode node = (BitmapNode) set(edit, i, null);
+                node.array[i + 1] = child;
+                return node;
+            }
+            added[0] = true;
+            int n = Integer.bitCount(bitmap);
+            if (editable(edit) && array.length >= 2 * (n + 1)) {
+                System.arraycopy(array, i, array, i + 2, 2 * n - i);
+                array[i] = key;
+                array[i + 1] = value;
+                bitmap |= bit;
+                return this;
+            }
+            // a builder over-allocates so a run of inserts into one node does not copy every time
+            Object[] grown = new Object[2 * (n + (edit != null ? 4 : 1))];
+            System.arraycopy(array, 0, grown, 0, i);
+            grown[i] = key;
+            grown[i + 1] = value;
+            System.arraycopy(array, i, grown, i + 2, 2 * n - i);
+            return new BitmapNode(edit, bitmap | bit, grown);
+        }
+
+        @Override
+        Node without(Object edit, int shift, int hash, Object key, boolean[] removed) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int i = 2 * Integer.bitCount(bitmap & (bit - 1));
+            Object k = array[i];
+            Object v = array[i + 1];
+            if (k == null) {
+                Node child = ((Node) v).without(edit, shift + BITS, hash, key, removed);
+                if (child == v) {
+                    return this;
+                }
+                if (child != null) {
+                    return set(edit, i + 1, child);
+                }
+            } else if (!key.equals(k)) {
+                return this;
+            } else {
+                removed[0] = true;
+            }
+            if (bitmap == bit) {
+                return null;
+            }
+            int n = Integer.bitCount(bitmap);
+            if (editable(edit)) {
+                System.arraycopy(array, i + 2, array, i, 2 * n - i - 2);
+                array[2 * n - 2] = null;
+                array[2 * n - 1] = null;
+                bitmap ^= bit;
+                return this;
+            }
+            Object[] shrunk = new Object[2 * (n - 1)];
+            System.arraycopy(array, 0, shrunk, 0, i);
+            System.arraycopy(array, i + 2, shrunk, i, 2 * n - i - 2);
+            return new BitmapNode(edit, bitmap ^ bit, shrunk);
+        }
+
+        private Node set(Object edit, int i, Object value) {
+            BitmapNode node = editable(edit) ? this : new BitmapNode(edit, bitmap, array.clone());
+            node.array[i] = value;
+            return node;
+        }
+    }
+
+    private static final class CollisionNode extends Node {
+        final int hash;
+
+        CollisionNode(Object edit, int hash, Object[] array) {
+            super(edit, array);
+            this.hash = hash;
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            int i = indexOf(key);
+            return i < 0 ? NOT_FOUND : array[i + 1];
+        }
+
+        @Override
+        Node assoc(Object edit, int shift, int hash, Object key, Object value, boolean[] added) {
+            if (hash != this.hash) {
+                // a different hash reached this node: put it under a bitmap node at this level
+                BitmapNode parent = new BitmapNode(edit, bit(this.hash, shift), new Object[]{null, this});
+                return parent.assoc(edit, shift, hash, key, value, added);
+            }
+            int i = indexOf(key);
+            if (i >= 0) {
+                if (array[i + 1] == value) {
+                    return this;
+                }
+                CollisionNode node = editable(edit) ? this : new CollisionNode(edit, hash, array.clone());
+                node.array[i + 1] = value;
+                return node;
+            }
+            added[0] = true;
+            Object[] grown = Arrays.copyOf(array, array.length + 2);
+            grown[array.length] = key;
+            grown[array.length + 1] = value;
+            if (editable(edit)) {
+                array = grown;
+                return this;
+            }
+            return new CollisionNode(edit, hash, grown);
+        }
+
+        @Override
+        Node without(Object edit, int shift, int hash, Object key, boolean[] removed) {
+            int i = indexOf(key);
+            if (i < 0) {
+                return this;
+            }
+            removed[0] = true;
+            if (array.length == 2) {
+                return null;
+            }
+            Object[] shrunk = new Object[array.length - 2];
+            System.arraycopy(array, 0, shrunk, 0, i);
+            System.arraycopy(array, i + 2, shrunk, i, array.length - i - 2);
+            if (editable(edit)) {
+                array = shrunk;
+                return this;
+            }
+            return new CollisionNode(edit, hash, shrunk);
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private final Node root;
+    private final int size;
+
+    private PersistentHashMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    public static <K, V> PersistentHashMap<K, V> copyOf(Map<? extends K, ? extends V> map) {
+        return PersistentHashMap.<K, V>builder().putAll(map).build();
+    }
+
+    public static <K, V> Builder<K, V> builder() {
+        return new Builder<>(PersistentHashMap.empty());
+    }
+
+    /** Builder seeded with this map's contents, sharing its nodes until they are written. */
+    public Builder<K, V> toBuilder() {
+        return new Builder<>(this);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return root != null && key != null && root.find(0, hash(key), key) != NOT_FOUND;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        if (root == null || key == null) {
+            return null;
+        }
+        Object v = root.find(0, hash(key), key);
+        return v == NOT_FOUND ? null : (V) v;
+    }
+
+    /** New map with {@code key} mapped to {@code value}. */
+    public PersistentHashMap<K, V> with(K key, V value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        boolean[] added = new boolean[1];
+        Node start = root != null ? root : new BitmapNode(null, 0, new Object[0]);
+        Node newRoot = start.assoc(null, 0, hash(key), key, value, added);
+        return newRoot == root ? this : new PersistentHashMap<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    /** New map without {@code key}, or this map when the key is absent. */
+    public PersistentHashMap<K, V> without(Object key) {
+        if (root == null || key == null) {
+            return this;
+        }
+        boolean[] removed = new boolean[1];
+        Node newRoot = root.without(null, 0, hash(key), key, removed);
+        if (!removed[0]) {
+            return this;
+        }
+        return newRoot == null ? empty() : new PersistentHashMap<>(newRoot, size - 1);
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new EntryIterator<>(root);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private static Node pair(Object edit, int shift, Object k1, Object v1, int h2, Object k2, Object v2) {
+        int h1 = hash(k1);
+        if (h1 == h2) {
+            return new CollisionNode(edit, h1, new Object[]{k1, v1, k2, v2});
+        }
+        boolean[] added = new boolean[1];
+        return new BitmapNode(edit, 0, new Object[0])
+                .assoc(edit, shift, h1, k1, v1, added)
+                .assoc(edit, shift, h2, k2, v2, added);
+    }
+
+    // Depth first walk over the node arrays, with an explicit stack of at most 8 levels.
+    private static final class EntryIterator<K, V> implements Iterator<Entry<K, V>> {
+        private final Object[][] arrays = new Object[8][];
+        private final int[] positions = new int[8];
+        private int depth = -1;
+        private Entry<K, V> next;
+
+        EntryIterator(Node root) {
+            if (root != null) {
+                arrays[++depth] = root.array;
+            }
+            advance();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            next = null;
+            while (depth >= 0) {
+                Object[] array = arrays[depth];
+                int i = positions[depth];
+                if (i >= array.length) {
+                    positions[depth--] = 0;
+                    continue;
+                }
+                positions[depth] = i + 2;
+                Object k = array[i];
+                Object v = array[i + 1];
+                if (k != null) {
+                    next = new SimpleImmutableEntry<>((K) k, (V) v);
+                    return;
+                }
+                if (v != null) {
+                    arrays[++depth] = ((Node) v).array;
+                    positions[depth] = 0;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Entry<K, V> result = next;
+            advance();
+            return result;
+        }
+    }
+
+    /**
+     * Transient (mutable) version used for bulk construction. Nodes it creates carry its edit token
+     * and are updated in place; nodes shared with published maps are copied on first write.
+     * After build() it takes a fresh token, so it can keep being used without touching the result.
+     * Not thread safe.
+     */
+    public static final class Builder<K, V> {
+        private Object edit = new Object();
+        private Node root;
+        private int size;
+        private final boolean[] flag = new boolean[1];
+
+        private Builder(PersistentHashMap<K, V> from) {
+            this.root = from.root;
+            this.size = from.size;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public Builder<K, V> put(K key, V value) {
+            Objects.requireNonNull(key);
+            Objects.requireNonNull(value);
+            flag[0] = false;
+            Node start = root != null ? root : new BitmapNode(edit, 0, new Object[0]);
+            root = start.assoc(edit, 0, hash(key), key, value, flag);
+            if (flag[0]) {
+                size++;
+            }
+            return this;
+        }
+
+        public Builder<K, V> putAll(Map<? extends K, ? extends V> map) {
+            for (Entry<? extends K, ? extends V> e : map.entrySet()) {
+                put(e.getKey(), e.getValue());
+            }
+            return this;
+        }
+
+        public Builder<K, V> remove(Object key) {
+            if (root == null || key == null) {
+                return this;
+            }
+            flag[0] = false;
+            root = root.without(edit, 0, hash(key), key, flag);
+            if (flag[0]) {
+                size--;
+            }
+            return this;
+        }
+
+        public PersistentHashMap<K, V> build() {
+            if (size == 0) {
+                return empty();
+            }
+            PersistentHashMap<K, V> result = new PersistentHashMap<>(root, size);
+            edit = new Object();
+            return result;
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package com.design_pattern.immutable;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Immutable list with structural sharing: a 32-way trie of leaf arrays plus a separate tail array.
+ *
+ * append, with(i, e) and pop return a new vector in O(log32 n), copying only the path from the root
+ * to the changed leaf (at most 7 arrays of 32). The previous version stays valid and shares every
+ * other node, unlike List.of / List.copyOf which copy the whole list for each "modification".
+ *
+ * For bulk construction use {@link #builder()}: it mutates nodes it owns in place and only copies
+ * nodes still shared with a published vector. Like List.of, null elements are rejected.
+ */
+public final class PersistentVector<E> extends AbstractList<E> implements RandomAccess {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    // edit is the owning builder's token, null for nodes that are only reachable from vectors
+    static final class Node {
+        final Object edit;
+        final Object[] array;
+
+        Node(Object edit, Object[] array) {
+            this.edit = edit;
+            this.array = array;
+        }
+
+        Node(Object edit) {
+            this(edit, new Object[WIDTH]);
+        }
+    }
+
+    private static final Node EMPTY_NODE = new Node(null);
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    private final int size;
+    private final int shift;
+    private final Node root;
+    private final Object[] tail;
+
+    private PersistentVector(int size, int shift, Node root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> empty() {
+        return (PersistentVector<E>) EMPTY;
+    }
+
+    @SafeVarargs
+    public static <E> PersistentVector<E> of(E... elements) {
+        Builder<E> builder = builder();
+        for (E e : elements) {
+            builder.add(e);
+        }
+        return builder.build();
+    }
+
+    public static <E> PersistentVector<E> copyOf(Collection<? extends E> elements) {
+        return PersistentVector.<E>builder().addAll(elements).build();
+    }
+
+    public static <E> Builder<E> builder() {
+        return new Builder<>(PersistentVector.empty());
+    }
+
+    /** Builder seeded with this vector's contents, sharing its nodes until they are written. */
+    public Builder<E> toBuilder() {
+        return new Builder<>(this);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Objects.checkIndex(index, size);
+        return (E) leafFor(index)[index & MASK];
+    }
+
+    /** New vector with {@code e} appended. */
+    public PersistentVector<E> append(E e) {
+        Objects.requireNonNull(e);
+        int inTail = size - tailOffset();
+        if (inTail < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, inTail + 1);
+            newTail[inTail] = e;
+            return new PersistentVector<>(size + 1, shift, root, newTail);
+        }
+        // tail is full: push it into the trie as a leaf and start a new tail
+        Node tailNode = new Node(null, tail);
+        Node newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            newRoot = new Node(null);
+            newRoot.array[0] = root;
+            newRoot.array[1] = newPath(null, shift, tailNode);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(null, size, shift, root, tailNode);
+        }
+        return new PersistentVector<>(size + 1, newShift, newRoot, new Object[]{e});
+    }
+
+    /** New vector with the element at {@code index} replaced, or appended when index == size(). */
+    public PersistentVector<E> with(int index, E e) {
+        Objects.requireNonNull(e);
+        if (index == size) {
+            return append(e);
+        }
+        Objects.checkIndex(index, size);
+        if (index >= tailOffset()) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = e;
+            return new PersistentVector<>(size, shift, root, newTail);
+        }
+        return new PersistentVector<>(size, shift, assoc(null, shift, root, index, e), tail);
+    }
+
+    /** New vector without the last element. */
+    public PersistentVector<E> pop() {
+        if (size == 0) {
+            throw new NoSuchElementException("empty vector");
+        }
+        if (size == 1) {
+            return empty();
+        }
+        if (size - tailOffset() > 1) {
+            return new PersistentVector<>(size - 1, shift, root, Arrays.copyOf(tail, tail.length - 1));
+        }
+        // tail becomes empty: the last leaf of the trie becomes the new tail
+        Object[] newTail = leafFor(size - 2);
+        Node newRoot = popTail(shift, root);
+        int newShift = shift;
+        if (newRoot == null) {
+            newRoot = EMPTY_NODE;
+        }
+        if (shift > BITS && newRoot.array[1] == null) {
+            newRoot = (Node) newRoot.array[0];
+            newShift -= BITS;
+        }
+        return new PersistentVector<>(size - 1, newShift, newRoot, newTail);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            private int index;
+            private Object[] leaf = size > 0 ? leafFor(0) : null;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                if (index > 0 && (index & MASK) == 0) {
+                    leaf = leafFor(index);
+                }
+                return (E) leaf[index++ & MASK];
+            }
+        };
+    }
+
+    private int tailOffset() {
+        return tailOffset(size);
+    }
+
+    private static int tailOffset(int size) {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    private Object[] leafFor(int index) {
+        if (index >= tailOffset()) {
+            return tail;
+        }
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Node) node.array[(index >>> level) & MASK];
+        }
+        return node.array;
+    }
+
+    // Returns node itself when the builder owning edit may write it, otherwise a copy owned by edit.
+    private static Node editable(Object edit, Node node) {
+        if (edit != null && node.edit == edit) {
+            return node;
+        }
+        return new Node(edit, node.array.clone());
+    }
+
+    private static Node newPath(Object edit, int level, Node node) {
+        if (level == 0) {
+            return node;
+        }
+        Node path = new Node(edit);
+        path.array[0] = newPath(edit, level - BITS, node);
+        return path;
+    }
+
+    private static Node pushTail(Object edit, int size, int level, Node parent, Node tailNode) {
+        int sub = ((size - 1) >>> level) & MASK;
+        Node result = editable(edit, parent);
+        Node insert;
+        if (level == BITS) {
+            insert = tailNode;
+        } else {
+            Node child = (Node) parent.array[sub];
+            insert = child != null
+                    ? pushTail(edit, size, level - BITS, child, tailNode)
+                    : newPath(edit, level - BITS, tailNode);
+        }
+        result.array[sub] = insert;
+        return result;
+    }
+
+    private static Node assoc(Object edit, int level, Node node, int index, Object e) {
+        Node result = editable(edit, node);
+        if (level == 0) {
+            result.array[index & MASK] = e;
+        } else {
+            int sub = (index >>> level) & MASK;
+            result.array[sub] = assoc(edit, level - BITS, (Node) node.array[sub], index, e);
+        }
+        return result;
+    }
+
+    private Node popTail(int level, Node node) {
+        int sub = ((size - 2) >>> level) & MASK;
+        if (level > BITS) {
+            Node child = popTail(level - BITS, (Node) node.array[sub]);
+            if (child == null && sub == 0) {
+                return null;
+            }
+            Node result = new Node(null, node.array.clone());
+            result.array[sub] = child;
+            return result;
+        }
+        if (sub == 0) {
+            return null;
+        }
+        Node result = new Node(null, node.array.clone());
+        result.array[sub] = null;
+        return result;
+    }
+
+    /**
+     * Transient (mutable) version used for bulk construction. Nodes it creates carry its edit token
+     * and are written in place; nodes shared with published vectors are copied on first write.
+     * After build() it takes a fresh token, so it can keep being used without touching the result.
+     * Not thread safe.
+     */
+    public static final class Builder<E> {
+        private Object edit = new Object();
+        private int size;
+        private int shift;
+        private Node root;
+        private Object[] tail;
+
+        private Builder(PersistentVector<E> from) {
+            this.size = from.size;
+            this.shift = from.shift;
+            this.root = from.root;
+            this.tail = Arrays.copyOf(from.tail, WIDTH);
+        }
+
+        public int size() {
+            return size;
+        }
+
+        @SuppressWarnings("unchecked")
+        public E get(int index) {
+            Objects.checkIndex(index, size);
+            if (index >= tailOffset(size)) {
+                return (E) tail[index & MASK];
+            }
+            Node node = root;
+            for (int level = shift; level > 0; level -= BITS) {
+                node = (Node) node.array[(index >>> level) & MASK];
+            }
+            return (E) node.array[index & MASK];
+        }
+
+        public Builder<E> add(E e) {
+            Objects.requireNonNull(e);
+            int inTail = size - tailOffset(size);
+            if (inTail < WIDTH) {
+                tail[inTail] = e;
+                size++;
+                return this;
+            }
+            Node tailNode = new Node(edit, tail);
+            tail = new Object[WIDTH];
+            tail[0] = e;
+            if ((size >>> BITS) > (1 << shift)) {
+                Node newRoot = new Node(edit);
+                newRoot.array[0] = root;
+                newRoot.array[1] = newPath(edit, shift, tailNode);
+                root = newRoot;
+                shift += BITS;
+            } else {
+                root = pushTail(edit, size, shift, root, tailNode);
+            }
+            size++;
+            return this;
+        }
+
+        public Builder<E> addAll(Iterable<? extends E> elements) {
+            for (E e : elements) {
+                add(e);
+            }
+            return this;
+        }
+
+        public Builder<E> set(int index, E e) {
+            Objects.requireNonNull(e);
+            Objects.checkIndex(index, size);
+            if (index >= tailOffset(size)) {
+                tail[index & MASK] = e;
+            } else {
+                root = assoc(edit, shift, root, index, e);
+            }
+            return this;
+        }
+
+        public PersistentVector<E> build() {
+            if (size == 0) {
+                return empty();
+            }
+            PersistentVector<E> result = new PersistentVector<>(size, shift, root,
+                    Arrays.copyOf(tail, size - tailOffset(size)));
+            // nodes owned so far now belong to result, further writes must copy them
+            edit = new Object();
+            return result;
+        }
+    }
+}
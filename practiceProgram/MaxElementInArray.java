@@ -1,5 +1,10 @@
 package com.practiceProgram;
 
+import com.array.examples.MinMaxKernel;
+import com.array.examples.Selection;
+
+import java.util.Arrays;
+
 public class MaxElementInArray {
 
     private static int[] getMaxNum() {
@@ -9,14 +14,12 @@ public class MaxElementInArray {
 
     public static void main(String[] args) {
         int[] numbers = getMaxNum();
-        int max = numbers[0];
-
-        for(int num : numbers){
-            if(num > max){
-                max = num;
-            }
-        }
+        int max = MinMaxKernel.max(numbers);
         System.out.println(max);
+
+        // top 3 and median without sorting the whole array
+        System.out.println(Arrays.toString(Selection.topK(numbers, 3)));
+        System.out.println(Selection.median(numbers));
     }
 }
 
@@ -1,17 +1,12 @@
 
 package com.practiceProgram;
 
+import com.array.examples.MinMaxKernel;
+
 public class MinElementInArray {
 
     private static int getMinNum(int[] numbers) {
-
-        int min = numbers[0];
-        for (int number : numbers) {
-            if (number < min) {
-                min = number;
-            }
-        }
-        return min;
+        return MinMaxKernel.min(numbers);
     }
 
     public static void main(String[] args) {
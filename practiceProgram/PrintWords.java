@@ -1,17 +1,19 @@
 package com.practiceProgram;
 
+import com.strings.split.Splitter;
+
 /**
  * input = line = Hello I am learning java
- * String [] lineArray = line.split(" ")
+ * Words are printed straight from the line's offsets, no String[] or substring per word
+ * (line.split(" ") would create both).
  */
 
 public class PrintWords {
 
+    private static final Splitter WORDS = Splitter.on(' ');
+
     private static void printWord(String line) {
-        String[] lineArray = line.split(" ");
-        for (String word : lineArray) {
-            System.out.println(word);
-        }
+        WORDS.split(line, (index, start, end, escaped) -> System.out.append(line, start, end).println());
     }
 
     public static void main(String[] args) {
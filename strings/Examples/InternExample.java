@@ -1,5 +1,9 @@
 package com.strings.Examples;
 
+import com.strings.intern.StringInterner;
+
+import java.nio.charset.StandardCharsets;
+
 public class InternExample {
     public static void main(String[] args) {
 
@@ -31,6 +35,20 @@ public class InternExample {
         // Comparing with == to a literal string (will also be true)
         String str5 = "Hello";
         System.out.println(str3 == str5);  // Output: true
+
+        // Same deduplication through an application-level interner instead of the JVM string table
+        StringInterner interner = StringInterner.unbounded();
+        String str6 = interner.intern(str1);
+        String str7 = interner.intern(str2);
+        System.out.println(str6 == str7);  // Output: true, the first instance interned becomes canonical
+        System.out.println(str6 == str1);  // Output: true
+
+        // Lookups from a buffer or raw bytes find the canonical String without creating a temporary one
+        StringBuilder buffer = new StringBuilder("Say Hello");
+        byte[] utf8 = "Hello World".getBytes(StandardCharsets.UTF_8);
+        System.out.println(interner.intern(buffer, 4, 9) == str6);  // Output: true
+        System.out.println(interner.intern(utf8, 0, 5) == str6);    // Output: true
+        System.out.println(interner.stats());
     }
 }
 
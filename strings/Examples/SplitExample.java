@@ -1,16 +1,18 @@
 package com.strings.Examples;
 
+import com.strings.split.Splitter;
+
 public class SplitExample {
     public static void main(String[] args) {
 
 
         String test = "Apple,Banana,Orange";
 
-        // Splitting the string by comma
-        String[] fruits = test.split(",");
+        // Splitting the string by comma: the cursor steps over the tokens without a String[]
+        Splitter.Cursor fruit = Splitter.on(',').cursor(test);
 
-        // Iterating through the result and printing each element
-        for (String fruit : fruits) {
+        // Iterating through the tokens and printing each one, the cursor is a view of the current token
+        while (fruit.next()) {
             System.out.println(fruit);
         }
 
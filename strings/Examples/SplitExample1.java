@@ -1,11 +1,39 @@
 package com.strings.Examples;
 
+import com.strings.split.Splitter;
+
+import java.nio.charset.StandardCharsets;
+
 public class SplitExample1 {
     public static void main(String[] args) {
         String text = "Apple,Banana,Cherry";
-        String[] fruits = text.split(",");
-        for (String fruit : fruits) {
-            System.out.println(fruit);
+        Splitter comma = Splitter.on(',');
+        comma.split(text, (index, start, end, escaped) -> System.out.append(text, start, end).println());
+
+        // CSV row with a quoted field: the comma inside quotes does not split, "" is an escaped quote,
+        // and the quantity is parsed from the offsets without a substring
+        String row = "42,\"Cherry, \"\"Bing\"\"\",3";
+        Splitter csv = comma.quoted('"');
+        Splitter.Cursor field = csv.cursor(row);
+        while (field.next()) {
+            if (field.index() == 2) {
+                System.out.println("quantity : " + Integer.parseInt(row, field.start(), field.end(), 10));
+            } else {
+                System.out.println(field.value());
+            }
+        }
+
+        // A stray quote without a closing one is kept as text and does not merge the following fields
+        Splitter.Cursor broken = csv.cursor("\"Cherry,Bing,3");
+        while (broken.next()) {
+            System.out.println(broken.index() + " : " + broken.value());
+        }
+
+        // Same on raw UTF-8 bytes, e.g. a line read from a file, with a limit of two tokens
+        byte[] line = "Apple::Banana::Cherry".getBytes(StandardCharsets.UTF_8);
+        Splitter.ByteCursor token = Splitter.on("::").limit(2).cursor(line, 0, line.length);
+        while (token.next()) {
+            System.out.println(token.index() + " -> " + token.value());
         }
     }
 }
@@ -1,5 +1,7 @@
 package com.strings.Examples;
 
+import com.strings.intern.StringInterner;
+
 public class StringPoolExample {
     public static void main(String[] args) {
         String s1 = "Hello";
@@ -22,5 +24,25 @@ public class StringPoolExample {
         System.out.println(s6);
         System.out.println(s5.equals(s1));
         System.out.println(s4==s5);
+
+        // Repeated city names deduplicated in a bounded interner: rarely seen names get evicted,
+        // frequent ones stay canonical, and the stats show how well the pool fits the data
+        String[] cities = {"Pune", "Mumbai", "Delhi", "Chennai", "Kolkata", "Bengaluru"};
+        StringInterner pool = StringInterner.bounded(1_000);
+        String first = pool.intern(new String("Pune"));
+        for (int i = 0; i < 100_000; i++) {
+            pool.intern(new String(cities[i % cities.length]));
+            pool.intern("Village-" + i); // seen once each
+        }
+        System.out.println(pool.intern(new String("Pune")) == first); // Output: true
+        System.out.println(pool.stats());
+
+        // The smallest pool holds a single String: each new name evicts the previous one
+        StringInterner single = StringInterner.bounded(1);
+        String pune = single.intern(new String("Pune"));
+        System.out.println(single.intern(new String("Pune")) == pune); // Output: true
+        single.intern("Delhi");
+        System.out.println(single.intern(new String("Pune")) == pune); // Output: false
+        System.out.println(single.stats());
     }
 }
\ No newline at end of file
@@ -0,0 +1,529 @@
+package com.strings.intern;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Application-level replacement for String.intern(): a striped hash table that returns one canonical
+ * String per content, sized and evicted by the application instead of living in the JVM string table.
+ *
+ * Three modes:
+ * - {@link #unbounded()} keeps every String for the life of the interner.
+ * - {@link #weak()} holds Strings weakly; an entry disappears once nothing else references its String.
+ * - {@link #bounded(int)} keeps at most maxSize Strings and evicts with CLOCK (second-chance LRU).
+ *
+ * Hits are lock-free: the table is read through acquire loads and a hit only sets a "referenced" bit.
+ * Misses lock one of the stripes, re-check and insert. Lookups by CharSequence, char[] range or UTF-8
+ * byte range hash and compare the source in place and only create a String when it is not present yet.
+ * Keys use String.hashCode, so interning a String reuses its cached hash.
+ *
+ * Canonical instances are guaranteed only while a String stays interned: after a bounded eviction or a
+ * weak clear the next lookup creates a new canonical String. Null is not allowed.
+ */
+public final class StringInterner {
+
+    private static final int CHARS = 0;
+    private static final int CHAR_ARRAY = 1;
+    private static final int UTF8 = 2;
+
+    private static final int INITIAL_BUCKETS = 16;
+    private static final VarHandle BUCKETS = MethodHandles.arrayElementVarHandle(Entry[].class);
+
+    private final Segment[] segments;
+    private final int segmentShift;
+    private final boolean weak;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private StringInterner(boolean weak, int maxSize) {
+        int stripes = Integer.highestOneBit(Math.max(16, Runtime.getRuntime().availableProcessors() * 4));
+        if (maxSize > 0) {
+            stripes = Math.min(stripes, Integer.highestOneBit(maxSize));
+        }
+        this.weak = weak;
+        this.segments = new Segment[stripes];
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(stripes);
+        for (int i = 0; i < stripes; i++) {
+            // split maxSize exactly, the first maxSize % stripes segments take one more
+            segments[i] = new Segment(maxSize > 0 ? maxSize / stripes + (i < maxSize % stripes ? 1 : 0) : 0);
+        }
+    }
+
+    /** Keeps every interned String. */
+    public static StringInterner unbounded() {
+        return new StringInterner(false, 0);
+    }
+
+    /** Drops a String once the rest of the application no longer references it. */
+    public static StringInterner weak() {
+        return new StringInterner(true, 0);
+    }
+
+    /** Keeps at most maxSize Strings, evicting the least recently used ones (CLOCK approximation). */
+    public static StringInterner bounded(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        return new StringInterner(false, maxSize);
+    }
+
+    /** Returns the canonical String equal to s, which is s itself when it was not interned yet. */
+    public String intern(String s) {
+        return lookup(s, CHARS, 0, s.length(), s.hashCode());
+    }
+
+    /** Returns the canonical String with the content of cs, creating it only on a miss. */
+    public String intern(CharSequence cs) {
+        if (cs instanceof String s) {
+            return intern(s);
+        }
+        return intern(cs, 0, cs.length());
+    }
+
+    /** Returns the canonical String with the content of cs[start, end). */
+    public String intern(CharSequence cs, int start, int end) {
+        Objects.checkFromToIndex(start, end, cs.length());
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + cs.charAt(i);
+        }
+        return lookup(cs, CHARS, start, end, h);
+    }
+
+    /** Returns the canonical String with the content of chars[offset, offset + length). */
+    public String intern(char[] chars, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, chars.length);
+        int h = 0;
+        for (int i = offset; i < offset + length; i++) {
+            h = 31 * h + chars[i];
+        }
+        return lookup(chars, CHAR_ARRAY, offset, offset + length, h);
+    }
+
+    /** Returns the canonical String decoded from the UTF-8 bytes[offset, offset + length). */
+    public String intern(byte[] utf8, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, utf8.length);
+        int end = offset + length;
+        int h = 0;
+        int i = offset;
+        while (i < end && utf8[i] >= 0) {
+            h = 31 * h + utf8[i++];
+        }
+        if (i < end) {
+            if (!isWellFormed(utf8, i, end)) {
+                // let the JDK decoder apply its replacement rules; rare enough to allocate for
+                return intern(new String(utf8, offset, length, StandardCharsets.UTF_8));
+            }
+            while (i < end) {
+                int cp = codePoint(utf8, i);
+                i += width(utf8[i]);
+                if (cp < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                    h = 31 * h + cp;
+                } else {
+                    h = 31 * (31 * h + Character.highSurrogate(cp)) + Character.lowSurrogate(cp);
+                }
+            }
+        }
+        return lookup(utf8, UTF8, offset, end, h);
+    }
+
+    /** Number of interned Strings; in weak mode it may still count Strings collected since the last insert. */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.count;
+        }
+        return size;
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), size());
+    }
+
+    /** Removes every String; canonical instances handed out before are no longer tracked. */
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.clear();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    private String lookup(Object source, int kind, int start, int end, int hash) {
+        int spread = hash ^ (hash >>> 16);
+        // a single stripe (bounded(1)) has no index bits, and a shift by 32 would be a shift by 0
+        Segment segment = segments.length == 1 ? segments[0] : segments[(spread * 0x9E3779B9) >>> segmentShift];
+        String found = segment.find(source, kind, start, end, hash, spread);
+        if (found != null) {
+            hits.increment();
+            return found;
+        }
+        segment.lock.lock();
+        try {
+            segment.expungeCleared();
+            found = segment.find(source, kind, start, end, hash, spread);
+            if (found != null) {
+                hits.increment();
+                return found;
+            }
+            misses.increment();
+            String created = materialize(source, kind, start, end);
+            segment.insert(created, hash, spread);
+            return created;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    private static String materialize(Object source, int kind, int start, int end) {
+        switch (kind) {
+            case CHAR_ARRAY:
+                return new String((char[]) source, start, end - start);
+            case UTF8:
+                return new String((byte[]) source, start, end - start, StandardCharsets.UTF_8);
+            default:
+                CharSequence cs = (CharSequence) source;
+                if (cs instanceof String s && start == 0 && end == s.length()) {
+                    return s;
+                }
+                return cs.subSequence(start, end).toString();
+        }
+    }
+
+    private static boolean matches(String candidate, Object source, int kind, int start, int end) {
+        switch (kind) {
+            case CHAR_ARRAY: {
+                char[] chars = (char[]) source;
+                if (candidate.length() != end - start) {
+                    return false;
+                }
+                for (int i = start; i < end; i++) {
+                    if (candidate.charAt(i - start) != chars[i]) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            case UTF8: {
+                byte[] bytes = (byte[]) source;
+                int j = 0;
+                int n = candidate.length();
+                for (int i = start; i < end; ) {
+                    int cp = codePoint(bytes, i);
+                    i += width(bytes[i]);
+                    if (cp < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                        if (j >= n || candidate.charAt(j++) != cp) {
+                            return false;
+                        }
+                    } else if (j + 1 >= n || candidate.charAt(j++) != Character.highSurrogate(cp)
+                            || candidate.charAt(j++) != Character.lowSurrogate(cp)) {
+                        return false;
+                    }
+                }
+                return j == n;
+            }
+            default: {
+                if (source instanceof String s && start == 0 && end == s.length()) {
+                    return s.equals(candidate);
+                }
+                CharSequence cs = (CharSequence) source;
+                if (candidate.length() != end - start) {
+                    return false;
+                }
+                for (int i = start; i < end; i++) {
+                    if (candidate.charAt(i - start) != cs.charAt(i)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+    }
+
+    // number of bytes in the UTF-8 sequence starting with lead, input already validated
+    private static int width(byte lead) {
+        if (lead >= 0) {
+            return 1;
+        }
+        return (lead & 0xE0) == 0xC0 ? 2 : (lead & 0xF0) == 0xE0 ? 3 : 4;
+    }
+
+    private static int codePoint(byte[] b, int i) {
+        int lead = b[i];
+        if (lead >= 0) {
+            return lead;
+        }
+        if ((lead & 0xE0) == 0xC0) {
+            return ((lead & 0x1F) << 6) | (b[i + 1] & 0x3F);
+        }
+        if ((lead & 0xF0) == 0xE0) {
+            return ((lead & 0x0F) << 12) | ((b[i + 1] & 0x3F) << 6) | (b[i + 2] & 0x3F);
+        }
+        return ((lead & 0x07) << 18) | ((b[i + 1] & 0x3F) << 12) | ((b[i + 2] & 0x3F) << 6) | (b[i + 3] & 0x3F);
+    }
+
+    // Same acceptance as the JDK decoder: no overlong forms, surrogates or code points above U+10FFFF.
+    private static boolean isWellFormed(byte[] b, int i, int end) {
+        while (i < end) {
+            int lead = b[i] & 0xFF;
+            if (lead < 0x80) {
+                i++;
+                continue;
+            }
+            int n;
+            int min;
+            int max = 0xBF;
+            if (lead >= 0xC2 && lead <= 0xDF) {
+                n = 1;
+                min = 0x80;
+            } else if (lead >= 0xE0 && lead <= 0xEF) {
+                n = 2;
+                min = lead == 0xE0 ? 0xA0 : 0x80;
+                max = lead == 0xED ? 0x9F : 0xBF;
+            } else if (lead >= 0xF0 && lead <= 0xF4) {
+                n = 3;
+                min = lead == 0xF0 ? 0x90 : 0x80;
+                max = lead == 0xF4 ? 0x8F : 0xBF;
+            } else {
+                return false;
+            }
+            if (i + n >= end) {
+                return false;
+            }
+            int second = b[i + 1] & 0xFF;
+            if (second < min || second > max) {
+                return false;
+            }
+            for (int k = 2; k <= n; k++) {
+                if ((b[i + k] & 0xC0) != 0x80) {
+                    return false;
+                }
+            }
+            i += n + 1;
+        }
+        return true;
+    }
+
+    private static final class Entry {
+        final int hash;
+        final Object value; // the String, or a WeakValue in weak mode
+        volatile Entry next;
+        boolean referenced; // CLOCK bit; racy writes only delay an eviction
+
+        Entry(int hash, Object value, Entry next) {
+            this.hash = hash;
+            this.value = value;
+            this.next = next;
+        }
+
+        @SuppressWarnings("unchecked")
+        String get() {
+            return value instanceof String s ? s : ((Reference<String>) value).get();
+        }
+    }
+
+    private static final class WeakValue extends WeakReference<String> {
+        Entry entry;
+
+        WeakValue(String value, ReferenceQueue<String> queue) {
+            super(value, queue);
+        }
+    }
+
+    // One stripe: chained table read without locking, written under the lock.
+    private final class Segment {
+        final ReentrantLock lock = new ReentrantLock();
+        private final int capacity;
+        private final ReferenceQueue<String> queue = weak ? new ReferenceQueue<>() : null;
+        private volatile Entry[] table = new Entry[INITIAL_BUCKETS];
+        private volatile int count;
+        // CLOCK ring for bounded mode
+        private Entry[] ring;
+        private int hand;
+
+        Segment(int capacity) {
+            this.capacity = capacity;
+            this.ring = capacity > 0 ? new Entry[Math.min(capacity, INITIAL_BUCKETS)] : null;
+        }
+
+        String find(Object source, int kind, int start, int end, int hash, int spread) {
+            Entry[] tab = table;
+            Entry e = (Entry) BUCKETS.getAcquire(tab, spread & (tab.length - 1));
+            for (; e != null; e = e.next) {
+                if (e.hash == hash) {
+                    String s = e.get();
+                    if (s != null && matches(s, source, kind, start, end)) {
+                        if (ring != null && !e.referenced) {
+                            e.referenced = true;
+                        }
+                        return s;
+                    }
+                }
+            }
+            return null;
+        }
+
+        void insert(String s, int hash, int spread) {
+            int slot = -1;
+            if (ring != null) {
+                slot = count == capacity ? evict() : count;
+            }
+            Entry[] tab = table;
+            if (count >= tab.length - (tab.length >>> 2)) {
+                tab = resize(tab);
+            }
+            int index = spread & (tab.length - 1);
+            Object value = s;
+            WeakValue ref = null;
+            if (weak) {
+                value = ref = new WeakValue(s, queue);
+            }
+            Entry e = new Entry(hash, value, (Entry) BUCKETS.getAcquire(tab, index));
+            if (ref != null) {
+                ref.entry = e;
+            }
+            BUCKETS.setRelease(tab, index, e);
+            if (ring != null) {
+                if (slot == ring.length) {
+                    ring = Arrays.copyOf(ring, Math.min(capacity, ring.length * 2));
+                }
+                ring[slot] = e;
+            }
+            count++;
+        }
+
+        // second chance: skip (and clear) referenced entries, evict the first unreferenced one
+        // and return its ring slot for the new entry
+        private int evict() {
+            while (ring[hand].referenced) {
+                ring[hand].referenced = false;
+                hand = (hand + 1) % capacity;
+            }
+            int slot = hand;
+            unlink(ring[slot]);
+            ring[slot] = null;
+            hand = (hand + 1) % capacity;
+            count--;
+            evictions.increment();
+            return slot;
+        }
+
+        void expungeCleared() {
+            if (queue == null) {
+                return;
+            }
+            Reference<? extends String> ref;
+            while ((ref = queue.poll()) != null) {
+                Entry e = ((WeakValue) ref).entry;
+                if (e != null && unlink(e)) {
+                    count--;
+                    evictions.increment();
+                }
+            }
+        }
+
+        private boolean unlink(Entry target) {
+            Entry[] tab = table;
+            int index = (target.hash ^ (target.hash >>> 16)) & (tab.length - 1);
+            Entry prev = null;
+            for (Entry e = (Entry) BUCKETS.getAcquire(tab, index); e != null; prev = e, e = e.next) {
+                if (e == target) {
+                    if (prev == null) {
+                        BUCKETS.setRelease(tab, index, e.next);
+                    } else {
+                        prev.next = e.next;
+                    }
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // Relinks entries into a table twice as large. A reader still walking an old chain may miss and
+        // fall back to the locked path, it never loops since the new chains only hold moved entries.
+        private Entry[] resize(Entry[] old) {
+            Entry[] tab = new Entry[old.length * 2];
+            int mask = tab.length - 1;
+            for (Entry head : old) {
+                Entry e = head;
+                while (e != null) {
+                    Entry next = e.next;
+                    int index = (e.hash ^ (e.hash >>> 16)) & mask;
+                    e.next = tab[index];
+                    tab[index] = e;
+                    e = next;
+                }
+            }
+            table = tab;
+            return tab;
+        }
+
+        void clear() {
+            table = new Entry[INITIAL_BUCKETS];
+            if (ring != null) {
+                ring = new Entry[Math.min(capacity, INITIAL_BUCKETS)];
+                hand = 0;
+            }
+            if (queue != null) {
+                while (queue.poll() != null) {
+                    // drop stale references of the old table
+                }
+            }
+            count = 0;
+        }
+    }
+
+    /** Snapshot of the interner counters. Evictions include weak entries dropped after a GC. */
+    public static final class Stats {
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+        private final int size;
+
+        Stats(long hitCount, long missCount, long evictionCount, int size) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+            this.size = size;
+        }
+
+        public long hitCount() {
+            return hitCount;
+        }
+
+        public long missCount() {
+            return missCount;
+        }
+
+        public long evictionCount() {
+            return evictionCount;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public double hitRate() {
+            long requests = hitCount + missCount;
+            return requests == 0 ? 1.0 : (double) hitCount / requests;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("size=%d hits=%d misses=%d hitRate=%.4f evictions=%d",
+                    size, hitCount, missCount, hitRate(), evictionCount);
+        }
+    }
+}
@@ -0,0 +1,438 @@
+package com.strings.split;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Splits text on a literal delimiter without regular expressions and without allocating per token,
+ * a replacement for String.split in hot loops such as CSV ingest.
+ *
+ * Tokens are reported as [start, end) offsets into the input, either through a {@link TokenHandler}
+ * callback or by stepping a {@link Cursor} (which is also a CharSequence view of the current token).
+ * Inputs can be any CharSequence (String, CharBuffer, StringBuilder) or a UTF-8 / ASCII byte[] range.
+ * For a CharBuffer offsets are relative to its position, for a byte[] they index the array.
+ *
+ * A Splitter is immutable; on, limit, quoted and omitEmptyTokens return configured copies.
+ * - The delimiter is a literal of one or more chars; "," and ", " are both plain text, not a regex.
+ * - limit(n) reports at most n tokens, the last one holding the unsplit rest, as String.split(regex, n).
+ * - Unlike String.split, trailing empty tokens are kept (String.split(regex, -1)); use omitEmptyTokens
+ *   to drop every empty token instead.
+ * - quoted(q) treats a token starting with q as a quoted field: delimiters inside are ignored, a doubled
+ *   q stands for one q, and the reported span excludes the quotes. A field with text after its closing
+ *   quote, or without a closing quote, is reported raw up to the next delimiter.
+ */
+public final class Splitter {
+
+    private static final char NO_QUOTE = '\uffff';
+
+    private final String delimiter;
+    private final int limit;
+    private final char quote;
+    private final boolean omitEmpty;
+
+    private Splitter(String delimiter, int limit, char quote, boolean omitEmpty) {
+        this.delimiter = delimiter;
+        this.limit = limit;
+        this.quote = quote;
+        this.omitEmpty = omitEmpty;
+    }
+
+    public static Splitter on(char delimiter) {
+        return on(String.valueOf(delimiter));
+    }
+
+    public static Splitter on(String delimiter) {
+        if (delimiter.isEmpty()) {
+            throw new IllegalArgumentException("Delimiter must not be empty");
+        }
+        return new Splitter(delimiter, 0, NO_QUOTE, false);
+    }
+
+    /** At most limit tokens, the last one holding the rest of the input; 0 means no limit. */
+    public Splitter limit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative: " + limit);
+        }
+        return new Splitter(delimiter, limit, quote, omitEmpty);
+    }
+
+    public Splitter quoted(char quote) {
+        if (quote == NO_QUOTE || delimiter.indexOf(quote) >= 0) {
+            throw new IllegalArgumentException("Invalid quote character: " + quote);
+        }
+        return new Splitter(delimiter, limit, quote, omitEmpty);
+    }
+
+    public Splitter omitEmptyTokens() {
+        return new Splitter(delimiter, limit, quote, true);
+    }
+
+    /** Receives each token of a split; escaped means the span holds doubled quotes, see {@link #appendUnescaped}. */
+    @FunctionalInterface
+    public interface TokenHandler {
+        void token(int index, int start, int end, boolean escaped);
+    }
+
+    /** Calls handler for every token of input and returns the number of tokens. */
+    public int split(CharSequence input, TokenHandler handler) {
+        Cursor cursor = new Cursor(input);
+        while (cursor.next()) {
+            handler.token(cursor.index, cursor.start, cursor.end, cursor.escaped);
+        }
+        return cursor.index + 1;
+    }
+
+    /** Calls handler for every token of bytes[offset, offset + length) and returns the number of tokens. */
+    public int split(byte[] bytes, int offset, int length, TokenHandler handler) {
+        ByteCursor cursor = new ByteCursor(bytes, offset, length);
+        while (cursor.next()) {
+            handler.token(cursor.index, cursor.start, cursor.end, cursor.escaped);
+        }
+        return cursor.index + 1;
+    }
+
+    public Cursor cursor(CharSequence input) {
+        return new Cursor(input);
+    }
+
+    public ByteCursor cursor(byte[] bytes, int offset, int length) {
+        return new ByteCursor(bytes, offset, length);
+    }
+
+    /** Appends input[start, end) to out with doubled quotes collapsed. */
+    public StringBuilder appendUnescaped(CharSequence input, int start, int end, StringBuilder out) {
+        for (int i = start; i < end; i++) {
+            char c = input.charAt(i);
+            out.append(c);
+            if (c == quote && i + 1 < end && input.charAt(i + 1) == quote) {
+                i++;
+            }
+        }
+        return out;
+    }
+
+    private boolean delimiterAt(CharSequence input, int i) {
+        int n = delimiter.length();
+        if (i + n > input.length()) {
+            return false;
+        }
+        for (int k = 0; k < n; k++) {
+            if (input.charAt(i + k) != delimiter.charAt(k)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int indexOfDelimiter(CharSequence input, int from) {
+        if (input instanceof String s) {
+            return delimiter.length() == 1 ? s.indexOf(delimiter.charAt(0), from) : s.indexOf(delimiter, from);
+        }
+        char first = delimiter.charAt(0);
+        for (int i = from, last = input.length() - delimiter.length(); i <= last; i++) {
+            if (input.charAt(i) == first && delimiterAt(input, i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOf(CharSequence input, char c, int from) {
+        if (input instanceof String s) {
+            return s.indexOf(c, from);
+        }
+        for (int i = from, n = input.length(); i < n; i++) {
+            if (input.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Steps through the tokens of a CharSequence. Between calls to next() the cursor is a CharSequence
+     * view of the current raw token span, so it can be compared, parsed (Integer.parseInt(cursor, 0,
+     * cursor.length(), 10)) or interned without creating a String. Reusable through reset.
+     */
+    public final class Cursor implements CharSequence {
+        private CharSequence input;
+        private int pos;
+        private boolean done;
+        private int index;
+        private int start;
+        private int end;
+        private boolean quoted;
+        private boolean escaped;
+
+        private Cursor(CharSequence input) {
+            reset(input);
+        }
+
+        public Cursor reset(CharSequence input) {
+            this.input = Objects.requireNonNull(input);
+            pos = 0;
+            done = false;
+            index = -1;
+            start = end = 0;
+            quoted = escaped = false;
+            return this;
+        }
+
+        public boolean next() {
+            while (!done) {
+                int n = input.length();
+                int after;
+                quoted = escaped = false;
+                if (limit > 0 && index == limit - 2) {
+                    start = pos;
+                    end = after = n;
+                } else if (quote != NO_QUOTE && pos < n && input.charAt(pos) == quote) {
+                    int close = closingQuote(pos + 1);
+                    if (close >= 0 && (close + 1 == n || delimiterAt(input, close + 1))) {
+                        start = pos + 1;
+                        end = close;
+                        after = close + 1;
+                        quoted = true;
+                    } else {
+                        // an unterminated quote is plain text, so one stray quote cannot swallow the rest of the row
+                        int d = indexOfDelimiter(input, close < 0 ? pos + 1 : close + 1);
+                        start = pos;
+                        end = after = d < 0 ? n : d;
+                        escaped = false;
+                    }
+                } else {
+                    int d = indexOfDelimiter(input, pos);
+                    start = pos;
+                    end = after = d < 0 ? n : d;
+                }
+                if (after == n) {
+                    done = true;
+                } else {
+                    pos = after + delimiter.length();
+                }
+                if (!omitEmpty || start < end) {
+                    index++;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // index of the quote closing a field that opened before from, -1 if unterminated
+        private int closingQuote(int from) {
+            int n = input.length();
+            while (true) {
+                int q = indexOf(input, quote, from);
+                if (q < 0) {
+                    return -1;
+                }
+                if (q + 1 < n && input.charAt(q + 1) == quote) {
+                    escaped = true;
+                    from = q + 2;
+                } else {
+                    return q;
+                }
+            }
+        }
+
+        /** Zero-based number of the current token. */
+        public int index() {
+            return index;
+        }
+
+        public int start() {
+            return start;
+        }
+
+        public int end() {
+            return end;
+        }
+
+        public boolean isQuoted() {
+            return quoted;
+        }
+
+        /** True when the current token holds doubled quotes, so value() differs from the raw span. */
+        public boolean hasEscapes() {
+            return escaped;
+        }
+
+        /** The token as a new String, doubled quotes collapsed. */
+        public String value() {
+            if (!escaped) {
+                return input.subSequence(start, end).toString();
+            }
+            return appendUnescaped(input, start, end, new StringBuilder(end - start)).toString();
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int i) {
+            Objects.checkIndex(i, end - start);
+            return input.charAt(start + i);
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            Objects.checkFromToIndex(from, to, end - start);
+            return input.subSequence(start + from, start + to);
+        }
+
+        /** The raw token span as a String. */
+        @Override
+        public String toString() {
+            return input.subSequence(start, end).toString();
+        }
+    }
+
+    /**
+     * Steps through the tokens of a byte range. The delimiter and quote must be ASCII, so they can never
+     * match inside a multi-byte UTF-8 sequence; offsets index the array.
+     */
+    public final class ByteCursor {
+        private final byte[] separator;
+        private byte[] bytes;
+        private int pos;
+        private int limitPos;
+        private boolean done;
+        private int index;
+        private int start;
+        private int end;
+        private boolean quoted;
+        private boolean escaped;
+
+        private ByteCursor(byte[] bytes, int offset, int length) {
+            for (int i = 0; i < delimiter.length(); i++) {
+                if (delimiter.charAt(i) >= 0x80) {
+                    throw new IllegalArgumentException("Byte splitting needs an ASCII delimiter: " + delimiter);
+                }
+            }
+            if (quote != NO_QUOTE && quote >= 0x80) {
+                throw new IllegalArgumentException("Byte splitting needs an ASCII quote: " + quote);
+            }
+            separator = delimiter.getBytes(StandardCharsets.US_ASCII);
+            reset(bytes, offset, length);
+        }
+
+        public ByteCursor reset(byte[] bytes, int offset, int length) {
+            Objects.checkFromIndexSize(offset, length, bytes.length);
+            this.bytes = bytes;
+            pos = offset;
+            limitPos = offset + length;
+            done = false;
+            index = -1;
+            start = end = offset;
+            quoted = escaped = false;
+            return this;
+        }
+
+        public boolean next() {
+            while (!done) {
+                int n = limitPos;
+                int after;
+                quoted = escaped = false;
+                if (limit > 0 && index == limit - 2) {
+                    start = pos;
+                    end = after = n;
+                } else if (quote != NO_QUOTE && pos < n && bytes[pos] == quote) {
+                    int close = closingQuote(pos + 1);
+                    if (close >= 0 && (close + 1 == n || separatorAt(close + 1))) {
+                        start = pos + 1;
+                        end = close;
+                        after = close + 1;
+                        quoted = true;
+                    } else {
+                        int d = indexOfSeparator(close < 0 ? pos + 1 : close + 1);
+                        start = pos;
+                        end = after = d < 0 ? n : d;
+                        escaped = false;
+                    }
+                } else {
+                    int d = indexOfSeparator(pos);
+                    start = pos;
+                    end = after = d < 0 ? n : d;
+                }
+                if (after == n) {
+                    done = true;
+                } else {
+                    pos = after + separator.length;
+                }
+                if (!omitEmpty || start < end) {
+                    index++;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean separatorAt(int i) {
+            if (i + separator.length > limitPos) {
+                return false;
+            }
+            for (int k = 0; k < separator.length; k++) {
+                if (bytes[i + k] != separator[k]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int indexOfSeparator(int from) {
+            byte first = separator[0];
+            for (int i = from, last = limitPos - separator.length; i <= last; i++) {
+                if (bytes[i] == first && (separator.length == 1 || separatorAt(i))) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private int closingQuote(int from) {
+            byte q = (byte) quote;
+            for (int i = from; i < limitPos; i++) {
+                if (bytes[i] == q) {
+                    if (i + 1 < limitPos && bytes[i + 1] == q) {
+                        escaped = true;
+                        i++;
+                    } else {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        public int index() {
+            return index;
+        }
+
+        public int start() {
+            return start;
+        }
+
+        public int end() {
+            return end;
+        }
+
+        public boolean isQuoted() {
+            return quoted;
+        }
+
+        public boolean hasEscapes() {
+            return escaped;
+        }
+
+        /** The token decoded as UTF-8, doubled quotes collapsed. */
+        public String value() {
+            String raw = new String(bytes, start, end - start, StandardCharsets.UTF_8);
+            if (!escaped) {
+                return raw;
+            }
+            return appendUnescaped(raw, 0, raw.length(), new StringBuilder(raw.length())).toString();
+        }
+    }
+}